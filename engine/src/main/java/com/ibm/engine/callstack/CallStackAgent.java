@@ -21,12 +21,13 @@ package com.ibm.engine.callstack;
 
 import com.ibm.common.IObserver;
 import com.ibm.engine.detection.MatchContext;
-import com.ibm.engine.detection.MethodMatcher;
 import com.ibm.engine.hooks.IHook;
 import com.ibm.engine.hooks.IHookDetectionObserver;
+import com.ibm.engine.hooks.IMethodInvocationHook;
 import com.ibm.engine.language.ILanguageSupport;
 import com.ibm.engine.language.IScanContext;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
@@ -38,8 +39,9 @@ import javax.annotation.Nonnull;
 public class CallStackAgent<R, T, S, P>
         implements INotifyWhenNewCallWasAddedOntoTheCallStack<R, T>,
                 INewHookSubscription<R, T, S, P> {
+    // calls by invoked method (or enum class) name, see #getKeyFormT
     @Nonnull
-    private final ConcurrentMap<Integer, List<CallContext<R, T>>> invokedCallStack =
+    private final ConcurrentMap<String, List<CallContext<R, T>>> invokedCallStack =
             new ConcurrentHashMap<>();
 
     @Nonnull private final Set<T> visitedTreeObjects = ConcurrentHashMap.newKeySet();
@@ -51,12 +53,12 @@ public class CallStackAgent<R, T, S, P>
     }
 
     public void addCall(@Nonnull T tree, @Nonnull IScanContext<R, T> scanContext) {
-        Optional<Integer> keyOptional = getKeyFormT(tree);
+        Optional<String> keyOptional = getKeyFormT(tree);
         if (keyOptional.isEmpty()) {
             return;
         }
 
-        int key = keyOptional.get();
+        final String key = keyOptional.get();
         final CallContext<R, T> callContext = new CallContext<>(tree, scanContext);
         if (addedToCallContext(key, callContext)) {
             this.notify(callContext);
@@ -91,21 +93,27 @@ public class CallStackAgent<R, T, S, P>
     public void onNewHookSubscription(
             @Nonnull IHook<R, T, S, P> hook,
             @Nonnull IHookDetectionObserver<R, T, S, P> hookDetectionObserver) {
-        final MethodMatcher<T> methodMatcher =
-                languageSupport.createMethodMatcherBasedOn(hook.hookValue());
-        if (methodMatcher == null) {
+        if (!(hook instanceof IMethodInvocationHook<R, T, S, P> methodInvocationHook)) {
             return;
         }
 
+        final String methodName = methodInvocationHook.methodName();
+        final Collection<List<CallContext<R, T>>> candidates;
+        if (methodName == null) {
+            candidates = invokedCallStack.values();
+        } else {
+            final List<CallContext<R, T>> callsOfMethod = invokedCallStack.get(methodName);
+            candidates = callsOfMethod == null ? List.of() : List.of(callsOfMethod);
+        }
+
         final List<CallContext<R, T>> stackCalls = new ArrayList<>();
-        final Iterator<List<CallContext<R, T>>> iterator = invokedCallStack.values().iterator();
+        final Iterator<List<CallContext<R, T>>> iterator = candidates.iterator();
         while (iterator.hasNext()) {
             final List<CallContext<R, T>> callContexts = iterator.next();
             final Iterator<CallContext<R, T>> callContextIterator = callContexts.iterator();
             while (callContextIterator.hasNext()) {
                 final CallContext<R, T> callContext = callContextIterator.next();
-                if (methodMatcher.match(
-                        callContext.tree(), languageSupport.translation(), hook.matchContext())) {
+                if (hook.isInvocationOn(callContext, languageSupport)) {
                     stackCalls.add(callContext);
                 }
             }
@@ -120,7 +128,8 @@ public class CallStackAgent<R, T, S, P>
         }
     }
 
-    private boolean addedToCallContext(int key, @Nonnull CallContext<R, T> callContext) {
+    private boolean addedToCallContext(
+            @Nonnull String key, @Nonnull CallContext<R, T> callContext) {
         if (visitedTreeObjects.contains(callContext.tree())) {
             return false;
         }
@@ -141,7 +150,7 @@ public class CallStackAgent<R, T, S, P>
     }
 
     @Nonnull
-    private Optional<Integer> getKeyFormT(@Nonnull T tree) {
+    private Optional<String> getKeyFormT(@Nonnull T tree) {
         final String identifierString =
                 languageSupport
                         .translation()
@@ -152,10 +161,6 @@ public class CallStackAgent<R, T, S, P>
                                         .getEnumClassName(MatchContext.createForHookContext(), tree)
                                         .orElse(null));
 
-        if (identifierString == null) {
-            return Optional.empty();
-        }
-        int key = identifierString.hashCode();
-        return Optional.of(key);
+        return Optional.ofNullable(identifierString);
     }
 }
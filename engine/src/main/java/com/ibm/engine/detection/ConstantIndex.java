@@ -0,0 +1,96 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.detection;
+
+import com.ibm.engine.language.IScanContext;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Constants resolved so far, by the symbol declaring them. Once a constant (for example a {@code
+ * static final} field with a literal initializer) has been resolved, later references to it are
+ * answered by a lookup instead of walking its declaration and usages again.
+ *
+ * <p>The frontends only give access to the declarations of the file under analysis, and their
+ * symbols keep the whole syntax tree of that file alive. The index is therefore scoped to one file
+ * at a time: it is emptied as soon as it is used for another file, so it never retains the trees of
+ * files that were already analysed.
+ *
+ * @param <S> the language symbol type
+ * @param <T> the language tree type
+ */
+public final class ConstantIndex<S, T> {
+    private record Constant<T>(@Nonnull Object value, @Nonnull T origin) {}
+
+    @Nonnull private final Map<S, Constant<T>> constants = new HashMap<>();
+    @Nullable private IScanContext<?, T> file;
+
+    /**
+     * Records the value of a constant declared in the file. Only symbols whose value cannot change
+     * after their declaration should be recorded.
+     *
+     * @param file the scan context of the file under analysis
+     * @param symbol the symbol declaring the constant
+     * @param value the resolved value
+     * @param origin the tree the value was resolved from, reported as its location
+     */
+    public synchronized void put(
+            @Nonnull IScanContext<?, T> file,
+            @Nonnull S symbol,
+            @Nonnull Object value,
+            @Nonnull T origin) {
+        enter(file);
+        constants.putIfAbsent(symbol, new Constant<>(value, origin));
+    }
+
+    /**
+     * Returns the value recorded for the symbol if it is of the expected type.
+     *
+     * @param file the scan context of the file under analysis
+     * @param clazz the expected type of the value
+     * @param symbol the symbol declaring the constant
+     * @return the value with its origin, or empty if the symbol is unknown or its value has another
+     *     type
+     */
+    @Nonnull
+    public synchronized <O> Optional<ResolvedValue<O, T>> get(
+            @Nonnull IScanContext<?, T> file, @Nonnull Class<O> clazz, @Nonnull S symbol) {
+        enter(file);
+        final Constant<T> constant = constants.get(symbol);
+        if (constant == null || !clazz.isInstance(constant.value())) {
+            return Optional.empty();
+        }
+        return Optional.of(new ResolvedValue<>(clazz.cast(constant.value()), constant.origin()));
+    }
+
+    public synchronized int size() {
+        return constants.size();
+    }
+
+    private void enter(@Nonnull IScanContext<?, T> file) {
+        if (!file.equals(this.file)) {
+            this.file = file;
+            constants.clear();
+        }
+    }
+}
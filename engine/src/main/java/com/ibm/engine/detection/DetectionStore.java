@@ -62,6 +62,18 @@ public class DetectionStore<R, T, S, P> implements IHookDetectionObserver<R, T,
     @Nonnull final Handler<R, T, S, P> handler;
     @Nonnull final IStatusReporting<R, T, S, P> statusReporting;
     @Nonnull private final UUID storeId = UUID.randomUUID();
+    /*
+     * the store of the depending rule this store was visited for, null for the root store of a
+     * detection or of a hook invocation, which report to the status reporting once settled
+     */
+    @Nullable private DetectionStore<R, T, S, P> parent;
+    /*
+     * the visit of this store's rule, plus the announced visits of its depending rules whose
+     * subtrees have not settled yet; the subtree of this store is complete once it drops to zero
+     */
+    private int pendingVisits = 1;
+    // the topmost stores of the subtree holding a value, computed once the subtree settled
+    @Nullable private List<DetectionStore<R, T, S, P>> rootStoresWithValue;
     /*
      * action related to the detected method
      */
@@ -129,6 +141,43 @@ public class DetectionStore<R, T, S, P> implements IHookDetectionObserver<R, T,
         return Collections.unmodifiableList(allValues);
     }
 
+    /** Returns whether the store holds an action value or at least one detection value. */
+    public boolean hasValue() {
+        if (actionValue != null) {
+            return true;
+        }
+        for (List<IValue<T>> values : detectionValues.values()) {
+            if (!values.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the topmost stores of this subtree that hold a value, in depth-first order: each of
+     * them is the root of a finding. The subtree below a store with a value belongs to its finding.
+     * The result is computed from the results of the child stores when the subtree settles, so that
+     * reporting the findings of a detection does not walk its store tree again.
+     */
+    @Nonnull
+    public List<DetectionStore<R, T, S, P>> getRootStoresWithValue() {
+        if (rootStoresWithValue == null) {
+            if (hasValue()) {
+                rootStoresWithValue = List.of(this);
+            } else {
+                final List<DetectionStore<R, T, S, P>> stores = new ArrayList<>();
+                for (List<DetectionStore<R, T, S, P>> childStores : children.values()) {
+                    for (DetectionStore<R, T, S, P> child : childStores) {
+                        stores.addAll(child.getRootStoresWithValue());
+                    }
+                }
+                rootStoresWithValue = stores;
+            }
+        }
+        return rootStoresWithValue;
+    }
+
     /**
      * A method that iterates through all detection values and applies a given {@link BiConsumer} to
      * each key-value pair. If the value is null, it provides an empty list. The {@code
@@ -203,6 +252,7 @@ public class DetectionStore<R, T, S, P> implements IHookDetectionObserver<R, T,
     }
 
     public void attach(int index, @Nonnull final DetectionStore<R, T, S, P> detectionStore) {
+        invalidateRootStoresWithValue();
         this.children.compute(
                 index,
                 (i, list) -> {
@@ -225,6 +275,7 @@ public class DetectionStore<R, T, S, P> implements IHookDetectionObserver<R, T,
             @Nonnull DetectionStore<R, T, S, P> detectionStore,
             int index,
             @Nonnull final IValue<T> iValue) {
+        detectionStore.invalidateRootStoresWithValue();
         detectionStore.detectionValues.compute(
                 index,
                 (i, list) -> {
@@ -246,8 +297,8 @@ public class DetectionStore<R, T, S, P> implements IHookDetectionObserver<R, T,
     /**
      * Analyzes the given tree using the detection engine associated with this instance. The
      * detection engine will apply rules to the tree to identify matches. After analysis is
-     * complete, the number of visited rules is incremented and a finding (if applicable) is
-     * emitted.
+     * complete, the visit of the rule is counted down and, if the subtree of the store settled, its
+     * findings are emitted.
      *
      * @param tree The tree to be analyzed. This parameter must not be null.
      */
@@ -255,8 +306,51 @@ public class DetectionStore<R, T, S, P> implements IHookDetectionObserver<R, T,
         final IDetectionEngine<T, S> detectionEngine =
                 handler.getLanguageSupport().createDetectionEngineInstance(this);
         detectionEngine.run(tree);
-        this.statusReporting.incrementVisitedRules();
-        this.statusReporting.emitFinding();
+        this.countDownVisit();
+    }
+
+    /**
+     * Announces visits of depending rules of this store. The subtree of the store does not settle
+     * before the store of each of them was attached with {@link #attachVisited(int,
+     * DetectionStore)} and its own subtree settled.
+     */
+    void expectVisits(int number) {
+        this.pendingVisits += number;
+    }
+
+    /**
+     * Attaches the store of an announced depending rule, which reports to this store once its
+     * subtree settled.
+     */
+    void attachVisited(int index, @Nonnull final DetectionStore<R, T, S, P> detectionStore) {
+        this.attach(index, detectionStore);
+        detectionStore.parent = this;
+    }
+
+    /**
+     * Counts down a visit: the visit of this store's rule, or an announced visit whose subtree
+     * settled. When the subtree of the store settles, it notifies its parent store, or emits its
+     * findings if the store has no parent.
+     */
+    void countDownVisit() {
+        this.pendingVisits -= 1;
+        if (this.pendingVisits != 0) {
+            return;
+        }
+        getRootStoresWithValue();
+        if (this.parent != null) {
+            this.parent.countDownVisit();
+        } else {
+            this.statusReporting.emitFinding(this);
+        }
+    }
+
+    private void invalidateRootStoresWithValue() {
+        DetectionStore<R, T, S, P> store = this;
+        while (store != null && store.rootStoresWithValue != null) {
+            store.rootStoresWithValue = null;
+            store = store.parent;
+        }
     }
 
     @SuppressWarnings("java:S3776")
@@ -283,7 +377,7 @@ public class DetectionStore<R, T, S, P> implements IHookDetectionObserver<R, T,
             final List<IDetectionRule<T>> nextDetectionRulesFinal = nextDetectionRules;
             final TraceSymbol<S> traceSymbol = getAssignedTraceSymbol(methodDetection.expression());
 
-            this.statusReporting.addAdditionalExpectedRuleVisits(nextDetectionRulesFinal.size());
+            this.expectVisits(nextDetectionRulesFinal.size());
             handler.getLanguageSupport()
                     .getEnclosingMethod(detection.expression())
                     .ifPresent(
@@ -328,8 +422,7 @@ public class DetectionStore<R, T, S, P> implements IHookDetectionObserver<R, T,
                     getParameterTraceSymbol(valueDetection.expression(), detectableParameter);
             final List<IDetectionRule<T>> nextDetectionRulesForParameter =
                     valueDetection.detectableParameter().getDetectionRules();
-            this.statusReporting.addAdditionalExpectedRuleVisits(
-                    nextDetectionRulesForParameter.size());
+            this.expectVisits(nextDetectionRulesForParameter.size());
             handler.getLanguageSupport()
                     .getEnclosingMethod(detection.expression())
                     .ifPresent(
@@ -350,7 +443,7 @@ public class DetectionStore<R, T, S, P> implements IHookDetectionObserver<R, T,
             } else {
                 nextDetectionRules = detectionRule.nextDetectionRules();
             }
-            this.statusReporting.addAdditionalExpectedRuleVisits(nextDetectionRules.size());
+            this.expectVisits(nextDetectionRules.size());
             handler.getLanguageSupport()
                     .getEnclosingMethod(detection.expression())
                     .ifPresent(
@@ -367,8 +460,7 @@ public class DetectionStore<R, T, S, P> implements IHookDetectionObserver<R, T,
             case EXPRESSION -> {
                 final List<IDetectionRule<T>> parameterDetectionRules =
                         parameter.getDetectionRules();
-                this.statusReporting.addAdditionalExpectedRuleVisits(
-                        parameterDetectionRules.size());
+                this.expectVisits(parameterDetectionRules.size());
                 followNextRulesWithExpression(
                         parameter.getIndex(), expression, parameterDetectionRules);
             }
@@ -376,8 +468,7 @@ public class DetectionStore<R, T, S, P> implements IHookDetectionObserver<R, T,
                 final TraceSymbol<S> traceSymbol = getParameterTraceSymbol(expression, parameter);
                 final List<IDetectionRule<T>> parameterDetectionRules =
                         parameter.getDetectionRules();
-                this.statusReporting.addAdditionalExpectedRuleVisits(
-                        parameterDetectionRules.size());
+                this.expectVisits(parameterDetectionRules.size());
                 handler.getLanguageSupport()
                         .getEnclosingMethod(expression)
                         .ifPresent(
@@ -392,6 +483,10 @@ public class DetectionStore<R, T, S, P> implements IHookDetectionObserver<R, T,
     }
 
     public void onNewHookRegistration(@Nonnull IHook<R, T, S, P> hook) {
+        subscribeToHook(hook);
+    }
+
+    void subscribeToHook(@Nonnull IHook<R, T, S, P> hook) {
         handler.subscribeToHookDetectionObservable(hook, this);
     }
 
@@ -457,8 +552,7 @@ public class DetectionStore<R, T, S, P> implements IHookDetectionObserver<R, T,
                                         statusReporting))
                 .forEach(
                         newDetectionStore -> {
-                            this.attach(index, newDetectionStore);
-                            this.statusReporting.incrementVisitedRules();
+                            this.attachVisited(index, newDetectionStore);
                             handler.getLanguageSupport()
                                     .getBaseMethodVisitorFactory()
                                     .create(
@@ -467,6 +561,7 @@ public class DetectionStore<R, T, S, P> implements IHookDetectionObserver<R, T,
                                                     .createDetectionEngineInstance(
                                                             newDetectionStore))
                                     .visitMethodDefinition(enclosedMethodDefinition);
+                            newDetectionStore.countDownVisit();
                         });
     }
 
@@ -485,12 +580,12 @@ public class DetectionStore<R, T, S, P> implements IHookDetectionObserver<R, T,
                                         statusReporting))
                 .forEach(
                         newDetectionStore -> {
-                            this.attach(index, newDetectionStore);
-                            this.statusReporting.incrementVisitedRules();
+                            this.attachVisited(index, newDetectionStore);
                             final IDetectionEngine<T, S> detectionEngine =
                                     handler.getLanguageSupport()
                                             .createDetectionEngineInstance(newDetectionStore);
                             detectionEngine.run(TraceSymbol.createStart(), expression);
+                            newDetectionStore.countDownVisit();
                         });
     }
 
@@ -73,7 +73,7 @@ public final class DetectionStoreWithHook<R, T, S, P> extends DetectionStore<R,
                  * Subscribes to the hook detection observable for the given hook value and attaches the new
                  * Detection Store to it, so that it can receive detection events.
                  */
-                handler.subscribeToHookDetectionObservable(hook, hookRootDetectionStore);
+                hookRootDetectionStore.subscribeToHook(hook);
             }
         } else {
             onHookInvocation(invocationTree, hook, true);
@@ -188,6 +188,7 @@ public final class DetectionStoreWithHook<R, T, S, P> extends DetectionStore<R,
         final TraceSymbol<S> traceSymbol =
                 Objects.requireNonNullElseGet(traceSymbolForParameter, TraceSymbol::createStart);
 
+        expectVisits(hook.getParameter().getDetectionRules().size());
         hook.getParameter().getDetectionRules().stream()
                 .map(
                         iDetectionRule ->
@@ -198,7 +199,7 @@ public final class DetectionStoreWithHook<R, T, S, P> extends DetectionStore<R,
                                         hookRootDetectionStore))
                 .forEach(
                         newDetectionStore -> {
-                            attach(hook.getParameter().getIndex(), newDetectionStore);
+                            attachVisited(hook.getParameter().getIndex(), newDetectionStore);
                             handler.getLanguageSupport()
                                     .getBaseMethodVisitorFactory()
                                     .create(
@@ -207,10 +208,11 @@ public final class DetectionStoreWithHook<R, T, S, P> extends DetectionStore<R,
                                                     .createDetectionEngineInstance(
                                                             newDetectionStore))
                                     .visitMethodDefinition(hook.methodDefinition());
+                            newDetectionStore.countDownVisit();
                         });
 
         // add additional expected rule visits based on the size of the next detection rules
-        statusReporting.addAdditionalExpectedRuleVisits(detectionRule.nextDetectionRules().size());
+        expectVisits(detectionRule.nextDetectionRules().size());
 
         detectionRule.nextDetectionRules().stream()
                 .map(
@@ -222,8 +224,7 @@ public final class DetectionStoreWithHook<R, T, S, P> extends DetectionStore<R,
                                         hookRootDetectionStore))
                 .forEach(
                         newDetectionStore -> {
-                            attach(newDetectionStore);
-                            statusReporting.incrementVisitedRules();
+                            attachVisited(-1, newDetectionStore);
                             handler.getLanguageSupport()
                                     .getBaseMethodVisitorFactory()
                                     .create(
@@ -232,11 +233,13 @@ public final class DetectionStoreWithHook<R, T, S, P> extends DetectionStore<R,
                                                     .createDetectionEngineInstance(
                                                             newDetectionStore))
                                     .visitMethodDefinition(hook.methodDefinition());
+                            newDetectionStore.countDownVisit();
                         });
 
-        // emit a finding to the status report if the root detection store contains any findings
+        // the hook invocation is handled: the findings of the hook root detection store are
+        // emitted once its subtree settled
         if (!isSuccessive) {
-            statusReporting.emitFinding(hookRootDetectionStore);
+            hookRootDetectionStore.countDownVisit();
         }
     }
 
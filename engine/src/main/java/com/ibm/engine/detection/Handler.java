@@ -28,6 +28,7 @@ import com.ibm.engine.hooks.IHook;
 import com.ibm.engine.hooks.IHookDetectionObserver;
 import com.ibm.engine.language.ILanguageSupport;
 import com.ibm.engine.language.IScanContext;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nonnull;
 
 public class Handler<R, T, S, P> {
@@ -35,6 +36,8 @@ public class Handler<R, T, S, P> {
     @Nonnull private final CallStackAgent<R, T, S, P> callStackAgent;
     @Nonnull private final HookRepository<R, T, S, P> hookRepository;
     @Nonnull private final HookDetectionObservable<R, T, S, P> hookDetectionObservable;
+    @Nonnull private final ConstantIndex<S, T> constantIndex = new ConstantIndex<>();
+    @Nonnull private final AtomicLong hookActivity = new AtomicLong();
 
     public Handler(@Nonnull ILanguageSupport<R, T, S, P> languageSupport) {
         this.languageSupport = languageSupport;
@@ -48,6 +51,12 @@ public class Handler<R, T, S, P> {
         return languageSupport;
     }
 
+    /** Constants resolved so far by the detection engines of this language support. */
+    @Nonnull
+    public ConstantIndex<S, T> getConstantIndex() {
+        return constantIndex;
+    }
+
     public void addCallToCallStack(@Nonnull T tree, @Nonnull IScanContext<R, T> scanContext) {
         this.callStackAgent.addCall(tree, scanContext);
     }
@@ -59,7 +68,11 @@ public class Handler<R, T, S, P> {
     }
 
     public boolean addHookToHookRepository(@Nonnull IHook<R, T, S, P> hook) {
-        return this.hookRepository.add(hook);
+        final boolean added = this.hookRepository.add(hook);
+        if (added) {
+            hookActivity.incrementAndGet();
+        }
+        return added;
     }
 
     public boolean deleteHookToHookRepository(@Nonnull IHook<R, T, S, P> hook) {
@@ -80,9 +93,23 @@ public class Handler<R, T, S, P> {
             @Nonnull T invocationTree,
             @Nonnull IHook<R, T, S, P> hook,
             @Nonnull IScanContext<R, T> scanContext) {
+        hookActivity.incrementAndGet();
         this.hookDetectionObservable.notify(invocationTree, hook, scanContext);
     }
 
+    /**
+     * Number of hooks added to the repository and of hook detections notified so far. Comparing the
+     * value before and after the analysis of a file tells whether the findings of the file may
+     * depend on other files (or other files on it).
+     */
+    public long getHookActivity() {
+        return hookActivity.get();
+    }
+
+    public int getNumberOfHooks() {
+        return this.hookRepository.size();
+    }
+
     public void subscribeToCallStackAgent(@Nonnull IObserver<CallContext<R, T>> listener) {
         this.callStackAgent.subscribe(listener);
     }
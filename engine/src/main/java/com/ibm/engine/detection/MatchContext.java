@@ -19,32 +19,119 @@
  */
 package com.ibm.engine.detection;
 
-import com.ibm.engine.rule.DetectionRule;
 import com.ibm.engine.rule.IDetectionRule;
 import com.ibm.engine.rule.Parameter;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import javax.annotation.Nonnull;
 
-public record MatchContext(
-        boolean isHookContext,
-        boolean objectShouldMatchExactTypes,
-        @Nonnull List<Boolean> parametersShouldMatchExactTypes) {
+/**
+ * Context of a match attempt. The exactness of the rule parameters is kept as a bitmap with one
+ * entry per parameter, which is private to the context: it is only read through {@link
+ * #parameterShouldMatchExactType(int, int)}.
+ */
+public final class MatchContext {
+    private static final boolean[] NO_PARAMETERS = new boolean[0];
+
+    private final boolean isHookContext;
+    private final boolean objectShouldMatchExactTypes;
+    @Nonnull private final boolean[] parametersShouldMatchExactTypes;
+
+    public MatchContext(boolean isHookContext, boolean objectShouldMatchExactTypes) {
+        this(isHookContext, objectShouldMatchExactTypes, NO_PARAMETERS);
+    }
+
+    MatchContext(
+            boolean isHookContext,
+            boolean objectShouldMatchExactTypes,
+            @Nonnull boolean[] parametersShouldMatchExactTypes) {
+        this.isHookContext = isHookContext;
+        this.objectShouldMatchExactTypes = objectShouldMatchExactTypes;
+        this.parametersShouldMatchExactTypes =
+                parametersShouldMatchExactTypes.length == 0
+                        ? NO_PARAMETERS
+                        : parametersShouldMatchExactTypes.clone();
+    }
 
     public static @Nonnull MatchContext createForHookContext() {
-        return new MatchContext(true, false, List.of());
+        return new MatchContext(true, false);
     }
 
+    /**
+     * Returns the context precomputed by the detection rule, see {@link
+     * IDetectionRule#detectionMatchContext()} and {@link IDetectionRule#hookMatchContext()}.
+     */
     @Nonnull
     public static <T> MatchContext build(
             boolean isHookContext, @Nonnull IDetectionRule<T> iDetectionRule) {
-        List<Boolean> parameters = new ArrayList<>();
-        if (iDetectionRule instanceof DetectionRule<T> detectionRule) {
-            parameters =
-                    detectionRule.parameters().stream()
-                            .map(Parameter::shouldMatchExactTypes)
-                            .toList();
+        return isHookContext
+                ? iDetectionRule.hookMatchContext()
+                : iDetectionRule.detectionMatchContext();
+    }
+
+    @Nonnull
+    public static <T> MatchContext build(
+            boolean isHookContext,
+            boolean objectShouldMatchExactTypes,
+            @Nonnull List<Parameter<T>> parameters) {
+        if (parameters.isEmpty()) {
+            return new MatchContext(isHookContext, objectShouldMatchExactTypes);
         }
-        return new MatchContext(isHookContext, iDetectionRule.shouldMatchExactTypes(), parameters);
+        final boolean[] parametersShouldMatchExactTypes = new boolean[parameters.size()];
+        for (int i = 0; i < parametersShouldMatchExactTypes.length; i++) {
+            parametersShouldMatchExactTypes[i] = parameters.get(i).shouldMatchExactTypes();
+        }
+        return new MatchContext(
+                isHookContext, objectShouldMatchExactTypes, parametersShouldMatchExactTypes);
+    }
+
+    public boolean isHookContext() {
+        return isHookContext;
+    }
+
+    public boolean objectShouldMatchExactTypes() {
+        return objectShouldMatchExactTypes;
+    }
+
+    /**
+     * Returns whether the argument at {@code index} of an invocation with {@code numberOfArguments}
+     * arguments should match its type exactly. The bitmap only applies if it covers exactly these
+     * arguments, otherwise no argument has to match exactly.
+     */
+    public boolean parameterShouldMatchExactType(int index, int numberOfArguments) {
+        return parametersShouldMatchExactTypes.length == numberOfArguments
+                && parametersShouldMatchExactTypes[index];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MatchContext that)) {
+            return false;
+        }
+        return isHookContext == that.isHookContext
+                && objectShouldMatchExactTypes == that.objectShouldMatchExactTypes
+                && Arrays.equals(
+                        parametersShouldMatchExactTypes, that.parametersShouldMatchExactTypes);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hash(isHookContext, objectShouldMatchExactTypes)
+                + Arrays.hashCode(parametersShouldMatchExactTypes);
+    }
+
+    @Override
+    public String toString() {
+        return "MatchContext[isHookContext="
+                + isHookContext
+                + ", objectShouldMatchExactTypes="
+                + objectShouldMatchExactTypes
+                + ", parametersShouldMatchExactTypes="
+                + Arrays.toString(parametersShouldMatchExactTypes)
+                + "]";
     }
 }
@@ -27,18 +27,22 @@ import com.ibm.engine.detection.Handler;
 import com.ibm.engine.language.IScanContext;
 import com.ibm.engine.rule.IDetectionRule;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public class DetectionExecutive<R, T, S, P>
         implements IStatusReporting<R, T, S, P>, IDomainEvent<Finding<R, T, S, P>> {
     @Nonnull private final List<IObserver<Finding<R, T, S, P>>> listeners = new ArrayList<>();
 
-    @Nonnull private final DetectionStore<R, T, S, P> rootDetectionStore;
-    @Nonnull private final T tree;
-    private int expectedRuleVisits;
-    private int visitedRules = 0;
+    /*
+     * released once the analysis started by #start() is over: stores subscribed to hooks keep
+     * this executive for the rest of the scan, and must not keep the whole store tree with it
+     */
+    @Nullable private DetectionStore<R, T, S, P> rootDetectionStore;
+    @Nullable private T tree;
+    // whether the subtree of the root store settled and its findings were emitted
+    private boolean rootSettled;
 
     public DetectionExecutive(
             @Nonnull final T tree,
@@ -46,54 +50,30 @@ public class DetectionExecutive<R, T, S, P>
             @Nonnull final IScanContext<R, T> scanContext,
             @Nonnull final Handler<R, T, S, P> handler) {
         this.tree = tree;
-        this.expectedRuleVisits = 1;
         this.rootDetectionStore =
                 new DetectionStore<>(0, detectionRule, scanContext, handler, this);
     }
 
     public void start() {
+        if (this.rootDetectionStore == null || this.tree == null) {
+            return;
+        }
         this.rootDetectionStore.analyse(tree);
-    }
-
-    @Override
-    public void emitFinding() {
-        emitFinding(this.rootDetectionStore);
+        this.rootDetectionStore = null;
+        this.tree = null;
     }
 
     @Override
     public void emitFinding(@Nonnull final DetectionStore<R, T, S, P> rootDetectionStore) {
-        if (this.expectedRuleVisits != this.visitedRules) {
+        if (rootDetectionStore == this.rootDetectionStore) {
+            this.rootSettled = true;
+        } else if (!this.rootSettled) {
+            // a hook invoked during the analysis: its stores are part of the root's findings
             return;
         }
-        getRootStoresWithValue(rootDetectionStore)
-                .forEach(
-                        store -> {
-                            final Finding<R, T, S, P> finding = new Finding<>(store);
-                            this.notify(finding);
-                        });
-    }
-
-    @Override
-    public void incrementVisitedRules() {
-        this.visitedRules += 1;
-    }
-
-    @Override
-    public void addAdditionalExpectedRuleVisits(int number) {
-        this.expectedRuleVisits += number;
-    }
-
-    @Nonnull
-    private List<DetectionStore<R, T, S, P>> getRootStoresWithValue(
-            @Nonnull DetectionStore<R, T, S, P> detectionStore) {
-        if (!detectionStore.getDetectionValues().isEmpty()
-                || detectionStore.getActionValue().isPresent()) {
-            return List.of(detectionStore);
+        for (DetectionStore<R, T, S, P> store : rootDetectionStore.getRootStoresWithValue()) {
+            this.notify(new Finding<>(store));
         }
-        return detectionStore.getChildren().stream()
-                .map(this::getRootStoresWithValue)
-                .flatMap(Collection::stream)
-                .toList();
     }
 
     @Override
@@ -23,11 +23,10 @@ import com.ibm.engine.detection.DetectionStore;
 import javax.annotation.Nonnull;
 
 public interface IStatusReporting<R, T, S, P> {
-    void emitFinding();
-
+    /**
+     * Called once the subtree of a store without parent store settled: the root store of the
+     * detection, or the root store of a hook invocation. All the announced rule visits of the
+     * subtree were made, so its findings are complete.
+     */
     void emitFinding(@Nonnull DetectionStore<R, T, S, P> rootDetectionStore);
-
-    void incrementVisitedRules();
-
-    void addAdditionalExpectedRuleVisits(int number);
 }
@@ -0,0 +1,88 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.hooks;
+
+import com.ibm.engine.detection.MatchContext;
+import com.ibm.engine.detection.MethodMatcher;
+import com.ibm.engine.language.ILanguageSupport;
+import com.ibm.engine.language.ILanguageTranslation;
+import java.util.List;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The {@link MethodMatcher} of a method hook, compiled once from the hooked method definition.
+ * Besides the matcher it keeps the expected method name and arity, so that calls to other methods
+ * are rejected from the syntax tree before any type has to be resolved.
+ */
+final class HookMethodMatcher<T> {
+    private static final int ANY_ARITY = -1;
+
+    @Nullable private final MethodMatcher<T> methodMatcher;
+    @Nullable private final String methodName;
+    private final int arity;
+
+    HookMethodMatcher(
+            @Nonnull T methodDefinition, @Nonnull ILanguageSupport<?, T, ?, ?> languageSupport) {
+        this.methodMatcher = languageSupport.createMethodMatcherBasedOn(methodDefinition);
+        if (methodMatcher == null) {
+            this.methodName = null;
+            this.arity = ANY_ARITY;
+            return;
+        }
+        final List<String> names = methodMatcher.getMethodNamesSerializable();
+        this.methodName =
+                names.size() == 1 && !MethodMatcher.ANY.equals(names.get(0)) ? names.get(0) : null;
+        this.arity = methodMatcher.getParameterTypesSerializable().size();
+    }
+
+    /**
+     * Returns the name the hooked method is called by, or {@code null} if the matcher accepts any
+     * name or could not be compiled.
+     */
+    @Nullable
+    String methodName() {
+        return methodName;
+    }
+
+    boolean match(
+            @Nonnull T invocationTree,
+            @Nonnull ILanguageTranslation<T> translation,
+            @Nonnull MatchContext matchContext) {
+        if (methodMatcher == null) {
+            return false;
+        }
+        if (!translation.supportsSubsetParameterMatching()) {
+            final int argumentCount = translation.getMethodArgumentCount(invocationTree);
+            if (argumentCount != ANY_ARITY && argumentCount != arity) {
+                return false;
+            }
+        }
+        if (methodName != null) {
+            final Optional<String> invokedMethodName =
+                    translation.getMethodName(matchContext, invocationTree);
+            if (invokedMethodName.isEmpty() || !methodName.equals(invokedMethodName.get())) {
+                return false;
+            }
+        }
+        return methodMatcher.match(invocationTree, translation, matchContext);
+    }
+}
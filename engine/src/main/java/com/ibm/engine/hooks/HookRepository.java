@@ -24,19 +24,29 @@ import com.ibm.common.IObservers;
 import com.ibm.engine.callstack.CallContext;
 import com.ibm.engine.callstack.IGetNotifiedWhenNewCallWasAddedToCallStack;
 import com.ibm.engine.detection.Handler;
+import com.ibm.engine.detection.MatchContext;
+import com.ibm.engine.language.ILanguageSupport;
 import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public class HookRepository<R, T, S, P>
         implements IGetNotifiedWhenNewCallWasAddedToCallStack<R, T>,
                 IDomainEvents<HookRepository.Event, IHook<R, T, S, P>> {
     @Nonnull private final Set<IHook<R, T, S, P>> hookSet = ConcurrentHashMap.newKeySet();
 
+    // method hooks by the name of the hooked method; all other hooks are checked on every call
+    @Nonnull
+    private final Map<String, Set<IHook<R, T, S, P>>> hooksByMethodName = new ConcurrentHashMap<>();
+
+    @Nonnull private final Set<IHook<R, T, S, P>> unindexedHooks = ConcurrentHashMap.newKeySet();
+
     @Nonnull
     private final Map<Event, List<IObservers<Event, IHook<R, T, S, P>>>> listeners =
             new EnumMap<>(Event.class);
@@ -60,6 +70,14 @@ public class HookRepository<R, T, S, P>
     public boolean add(@Nonnull IHook<R, T, S, P> hook) {
         boolean res = hookSet.add(hook);
         if (res) {
+            final String methodName = methodNameOf(hook);
+            if (methodName == null) {
+                unindexedHooks.add(hook);
+            } else {
+                hooksByMethodName
+                        .computeIfAbsent(methodName, k -> ConcurrentHashMap.newKeySet())
+                        .add(hook);
+            }
             this.notify(Event.HOOK_ADDED, hook);
         }
         return res;
@@ -68,11 +86,24 @@ public class HookRepository<R, T, S, P>
     public boolean delete(@Nonnull IHook<R, T, S, P> hook) {
         boolean res = hookSet.remove(hook);
         if (res) {
+            final String methodName = methodNameOf(hook);
+            if (methodName == null) {
+                unindexedHooks.remove(hook);
+            } else {
+                final Set<IHook<R, T, S, P>> hooks = hooksByMethodName.get(methodName);
+                if (hooks != null) {
+                    hooks.remove(hook);
+                }
+            }
             this.notify(Event.HOOK_REMOVED, hook);
         }
         return res;
     }
 
+    public int size() {
+        return hookSet.size();
+    }
+
     @Override
     public void subscribe(
             @Nonnull Event event, @Nonnull IObservers<Event, IHook<R, T, S, P>> listener) {
@@ -113,11 +144,37 @@ public class HookRepository<R, T, S, P>
      */
     @Override
     public void update(@Nonnull final CallContext<R, T> callContext) {
-        hookSet.stream()
-                .filter(hook -> hook.isInvocationOn(callContext, handler.getLanguageSupport()))
-                .forEach(
-                        hook ->
-                                handler.notifyAllHookDetectionObservers(
-                                        callContext.tree(), hook, callContext.publisher()));
+        final ILanguageSupport<R, T, S, P> languageSupport = handler.getLanguageSupport();
+        final Optional<String> methodName =
+                languageSupport
+                        .translation()
+                        .getMethodName(MatchContext.createForHookContext(), callContext.tree());
+        if (methodName.isPresent()) {
+            final Set<IHook<R, T, S, P>> hooks = hooksByMethodName.get(methodName.get());
+            if (hooks != null) {
+                notifyInvokedHooks(hooks, callContext, languageSupport);
+            }
+        }
+        notifyInvokedHooks(unindexedHooks, callContext, languageSupport);
+    }
+
+    private void notifyInvokedHooks(
+            @Nonnull Set<IHook<R, T, S, P>> hooks,
+            @Nonnull CallContext<R, T> callContext,
+            @Nonnull ILanguageSupport<R, T, S, P> languageSupport) {
+        for (IHook<R, T, S, P> hook : hooks) {
+            if (hook.isInvocationOn(callContext, languageSupport)) {
+                handler.notifyAllHookDetectionObservers(
+                        callContext.tree(), hook, callContext.publisher());
+            }
+        }
+    }
+
+    @Nullable
+    private static String methodNameOf(@Nonnull IHook<?, ?, ?, ?> hook) {
+        if (hook instanceof IMethodInvocationHook<?, ?, ?, ?> methodInvocationHook) {
+            return methodInvocationHook.methodName();
+        }
+        return null;
     }
 }
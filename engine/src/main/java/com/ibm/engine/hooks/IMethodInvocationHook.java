@@ -21,6 +21,7 @@ package com.ibm.engine.hooks;
 
 import com.ibm.engine.rule.Parameter;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public sealed interface IMethodInvocationHook<R, T, S, P> extends IHook<R, T, S, P>
         permits MethodInvocationHookWithParameterResolvement,
@@ -33,4 +34,14 @@ public sealed interface IMethodInvocationHook<R, T, S, P> extends IHook<R, T, S,
 
     @Nonnull
     Parameter<T> getParameter();
+
+    /**
+     * Returns the name of the hooked method as it appears at its call sites. Calls and hooks are
+     * indexed by this name, so that a new hook only has to be checked against the calls to that
+     * method and a new call only against the hooks on it.
+     *
+     * @return the method name, or {@code null} if the hook has to be checked against every call
+     */
+    @Nullable
+    String methodName();
 }
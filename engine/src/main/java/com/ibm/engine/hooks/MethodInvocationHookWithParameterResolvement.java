@@ -21,17 +21,59 @@ package com.ibm.engine.hooks;
 
 import com.ibm.engine.callstack.CallContext;
 import com.ibm.engine.detection.MatchContext;
-import com.ibm.engine.detection.MethodMatcher;
 import com.ibm.engine.language.ILanguageSupport;
 import com.ibm.engine.rule.Parameter;
+import java.util.Objects;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
-public record MethodInvocationHookWithParameterResolvement<R, T, S, P>(
-        @Nonnull T methodDefinition,
-        @Nonnull T methodParameter,
-        @Nonnull Parameter<T> parameter,
-        @Nonnull MatchContext matchContext)
+/**
+ * Hook on the invocations of a method, resolving the value passed for one of its parameters. The
+ * matcher for the hooked method is compiled when the hook is created; it is not part of the hook
+ * identity.
+ */
+public final class MethodInvocationHookWithParameterResolvement<R, T, S, P>
         implements IMethodInvocationHook<R, T, S, P> {
+    @Nonnull private final T methodDefinition;
+    @Nonnull private final T methodParameter;
+    @Nonnull private final Parameter<T> parameter;
+    @Nonnull private final MatchContext matchContext;
+    @Nonnull private final HookMethodMatcher<T> hookMethodMatcher;
+
+    public MethodInvocationHookWithParameterResolvement(
+            @Nonnull T methodDefinition,
+            @Nonnull T methodParameter,
+            @Nonnull Parameter<T> parameter,
+            @Nonnull MatchContext matchContext,
+            @Nonnull ILanguageSupport<R, T, S, P> languageSupport) {
+        this.methodDefinition = methodDefinition;
+        this.methodParameter = methodParameter;
+        this.parameter = parameter;
+        this.matchContext = matchContext;
+        this.hookMethodMatcher = new HookMethodMatcher<>(methodDefinition, languageSupport);
+    }
+
+    @Nonnull
+    @Override
+    public T methodDefinition() {
+        return methodDefinition;
+    }
+
+    @Nonnull
+    public T methodParameter() {
+        return methodParameter;
+    }
+
+    @Nonnull
+    public Parameter<T> parameter() {
+        return parameter;
+    }
+
+    @Nonnull
+    @Override
+    public MatchContext matchContext() {
+        return matchContext;
+    }
 
     @Nonnull
     @Override
@@ -45,6 +87,12 @@ public record MethodInvocationHookWithParameterResolvement<R, T, S, P>(
         return this.parameter;
     }
 
+    @Nullable
+    @Override
+    public String methodName() {
+        return hookMethodMatcher.methodName();
+    }
+
     @Override
     public boolean isInvocationOn(
             @Nonnull CallContext<R, T> callContext,
@@ -55,11 +103,25 @@ public record MethodInvocationHookWithParameterResolvement<R, T, S, P>(
     @Override
     public boolean isInvocationOn(
             @Nonnull T invocationTree, @Nonnull ILanguageSupport<R, T, S, P> languageSupport) {
-        MethodMatcher<T> methodMatcher =
-                languageSupport.createMethodMatcherBasedOn(methodDefinition);
-        if (methodMatcher == null) {
+        return hookMethodMatcher.match(invocationTree, languageSupport.translation(), matchContext);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MethodInvocationHookWithParameterResolvement<?, ?, ?, ?> that)) {
             return false;
         }
-        return methodMatcher.match(invocationTree, languageSupport.translation(), matchContext);
+        return methodDefinition.equals(that.methodDefinition)
+                && methodParameter.equals(that.methodParameter)
+                && parameter.equals(that.parameter)
+                && matchContext.equals(that.matchContext);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(methodDefinition, methodParameter, parameter, matchContext);
     }
 }
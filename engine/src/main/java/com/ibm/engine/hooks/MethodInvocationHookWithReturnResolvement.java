@@ -21,16 +21,51 @@ package com.ibm.engine.hooks;
 
 import com.ibm.engine.callstack.CallContext;
 import com.ibm.engine.detection.MatchContext;
-import com.ibm.engine.detection.MethodMatcher;
 import com.ibm.engine.language.ILanguageSupport;
 import com.ibm.engine.rule.Parameter;
+import java.util.Objects;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
-public record MethodInvocationHookWithReturnResolvement<R, T, S, P>(
-        @Nonnull T methodDefinition,
-        @Nonnull Parameter<T> parameter,
-        @Nonnull MatchContext matchContext)
+/**
+ * Hook on the invocations of a method, resolving the value it returns. The matcher for the hooked
+ * method is compiled when the hook is created; it is not part of the hook identity.
+ */
+public final class MethodInvocationHookWithReturnResolvement<R, T, S, P>
         implements IMethodInvocationHook<R, T, S, P> {
+    @Nonnull private final T methodDefinition;
+    @Nonnull private final Parameter<T> parameter;
+    @Nonnull private final MatchContext matchContext;
+    @Nonnull private final HookMethodMatcher<T> hookMethodMatcher;
+
+    public MethodInvocationHookWithReturnResolvement(
+            @Nonnull T methodDefinition,
+            @Nonnull Parameter<T> parameter,
+            @Nonnull MatchContext matchContext,
+            @Nonnull ILanguageSupport<R, T, S, P> languageSupport) {
+        this.methodDefinition = methodDefinition;
+        this.parameter = parameter;
+        this.matchContext = matchContext;
+        this.hookMethodMatcher = new HookMethodMatcher<>(methodDefinition, languageSupport);
+    }
+
+    @Nonnull
+    @Override
+    public T methodDefinition() {
+        return methodDefinition;
+    }
+
+    @Nonnull
+    public Parameter<T> parameter() {
+        return parameter;
+    }
+
+    @Nonnull
+    @Override
+    public MatchContext matchContext() {
+        return matchContext;
+    }
+
     @Nonnull
     @Override
     public T hookValue() {
@@ -43,6 +78,12 @@ public record MethodInvocationHookWithReturnResolvement<R, T, S, P>(
         return this.parameter;
     }
 
+    @Nullable
+    @Override
+    public String methodName() {
+        return hookMethodMatcher.methodName();
+    }
+
     @Override
     public boolean isInvocationOn(
             @Nonnull CallContext<R, T> callContext,
@@ -53,11 +94,24 @@ public record MethodInvocationHookWithReturnResolvement<R, T, S, P>(
     @Override
     public boolean isInvocationOn(
             @Nonnull T invocationTree, @Nonnull ILanguageSupport<R, T, S, P> languageSupport) {
-        MethodMatcher<T> methodMatcher =
-                languageSupport.createMethodMatcherBasedOn(methodDefinition);
-        if (methodMatcher == null) {
+        return hookMethodMatcher.match(invocationTree, languageSupport.translation(), matchContext);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MethodInvocationHookWithReturnResolvement<?, ?, ?, ?> that)) {
             return false;
         }
-        return methodMatcher.match(invocationTree, languageSupport.translation(), matchContext);
+        return methodDefinition.equals(that.methodDefinition)
+                && parameter.equals(that.parameter)
+                && matchContext.equals(that.matchContext);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(methodDefinition, parameter, matchContext);
     }
 }
@@ -21,6 +21,7 @@ package com.ibm.engine.language;
 
 import com.ibm.engine.detection.DetectionStore;
 import com.ibm.engine.detection.EnumMatcher;
+import com.ibm.engine.detection.Handler;
 import com.ibm.engine.detection.IBaseMethodVisitorFactory;
 import com.ibm.engine.detection.IDetectionEngine;
 import com.ibm.engine.detection.MatchContext;
@@ -35,7 +36,9 @@ import javax.annotation.Nullable;
 public interface ILanguageSupport<R, T, S, P> {
     /**
      * Returns an object that can perform translation from language-specific objects to a language
-     * agnostic representation.
+     * agnostic representation. The translation is created once per language support and shared by
+     * all matches; it holds no state, anything specific to a match or file is passed in through the
+     * {@link com.ibm.engine.detection.MatchContext}.
      *
      * @return an object that can perform translation from one language to a language agnostic
      *     representation.
@@ -43,6 +46,15 @@ public interface ILanguageSupport<R, T, S, P> {
     @Nonnull
     ILanguageTranslation<T> translation();
 
+    /**
+     * Returns the handler shared by the detection executives and engines of this language support
+     * (call stack and hooks).
+     *
+     * @return the handler of this language support
+     */
+    @Nonnull
+    Handler<R, T, S, P> getHandler();
+
     /**
      * Creates a new {@link DetectionExecutive} instance for the specified tree and detection rule.
      *
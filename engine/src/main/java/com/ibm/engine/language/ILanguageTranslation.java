@@ -25,6 +25,10 @@ import java.util.List;
 import java.util.Optional;
 import javax.annotation.Nonnull;
 
+/**
+ * Translates language-specific trees to the language agnostic representation used by the matchers.
+ * Implementations are stateless and shared, see {@link ILanguageSupport#translation()}.
+ */
 public interface ILanguageTranslation<T> {
     /**
      * Resolves the name of the method from the provided method invocation/caller.
@@ -82,6 +86,19 @@ public interface ILanguageTranslation<T> {
     List<IType> getMethodParameterTypes(
             @Nonnull MatchContext matchContext, @Nonnull T methodInvocation);
 
+    /**
+     * Returns the number of arguments of the provided method invocation, read from the syntax tree
+     * without resolving any type. It has to agree with the size of {@link
+     * #getMethodParameterTypes(MatchContext, Object)}, since it is used to reject invocations
+     * before their parameter types are computed.
+     *
+     * @param methodInvocation a method invocation
+     * @return number of arguments, or -1 if it cannot be determined cheaply
+     */
+    default int getMethodArgumentCount(@Nonnull T methodInvocation) {
+        return -1;
+    }
+
     /**
      * Resolves the name of the provided Identifier.
      *
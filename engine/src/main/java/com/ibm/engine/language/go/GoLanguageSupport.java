@@ -67,6 +67,12 @@ public final class GoLanguageSupport
         return translation;
     }
 
+    @Nonnull
+    @Override
+    public Handler<GoCheck, Tree, Symbol, GoScanContext> getHandler() {
+        return handler;
+    }
+
     @Nonnull
     @Override
     public DetectionExecutive<GoCheck, Tree, Symbol, GoScanContext> createDetectionExecutive(
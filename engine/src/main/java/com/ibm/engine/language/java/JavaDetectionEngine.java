@@ -189,8 +189,30 @@ public final class JavaDetectionEngine implements IDetectionEngine<Tree, Symbol>
             IdentifierTree identifierTree = (IdentifierTree) tree;
             if (identifierTree.symbol().isVariableSymbol()) {
                 // variable
-                VariableTree variableTree = (VariableTree) identifierTree.symbol().declaration();
+                final Symbol symbol = identifierTree.symbol();
+                final Optional<ResolvedValue<O, Tree>> indexedConstant =
+                        handler.getConstantIndex()
+                                .get(detectionStore.getScanContext(), clazz, symbol);
+                if (indexedConstant.isPresent()) {
+                    return List.of(indexedConstant.get());
+                }
+                VariableTree variableTree = (VariableTree) symbol.declaration();
                 if (variableTree != null) {
+                    ExpressionTree initializer = variableTree.initializer();
+                    if (initializer != null && isConstantField(symbol)) {
+                        // a final field with an initializer is never assigned again
+                        Optional<O> value = resolveConstant(clazz, initializer);
+                        if (value.isPresent()) {
+                            handler.getConstantIndex()
+                                    .put(
+                                            detectionStore.getScanContext(),
+                                            symbol,
+                                            value.get(),
+                                            initializer);
+                            return List.of(new ResolvedValue<>(value.get(), initializer));
+                        }
+                    }
+
                     LinkedList<ResolvedValue<O, Tree>> result = new LinkedList<>();
 
                     List<IdentifierTree> usages = new ArrayList<>(variableTree.symbol().usages());
@@ -214,7 +236,6 @@ public final class JavaDetectionEngine implements IDetectionEngine<Tree, Symbol>
                         }
                     }
 
-                    ExpressionTree initializer = variableTree.initializer();
                     if (initializer != null) {
                         Optional<O> value = resolveConstant(clazz, initializer);
                         if (value.isPresent()) {
@@ -317,7 +338,7 @@ public final class JavaDetectionEngine implements IDetectionEngine<Tree, Symbol>
             @Nonnull MethodInvocationTree methodInvocationTree,
             @Nullable IValueFactory<Tree> valueFactory,
             @Nonnull LinkedList<Tree> selections) {
-        final MatchContext matchContext = new MatchContext(false, false, List.of());
+        final MatchContext matchContext = new MatchContext(false, false);
         final MethodMatcher<Tree> javaPropertyWithDefaultValueMatcher =
                 new MethodMatcher<>(
                         "java.util.Properties",
@@ -457,7 +478,10 @@ public final class JavaDetectionEngine implements IDetectionEngine<Tree, Symbol>
                             JavaCheck, Tree, Symbol, JavaFileScannerContext>
                     methodInvocationHookWithReturnResolvement =
                             new MethodInvocationHookWithReturnResolvement<>(
-                                    methodTree, parameter, matchContext);
+                                    methodTree,
+                                    parameter,
+                                    matchContext,
+                                    handler.getLanguageSupport());
             if (this.detectionStore
                     instanceof
                     final DetectionStoreWithHook<JavaCheck, Tree, Symbol, JavaFileScannerContext>
@@ -475,7 +499,11 @@ public final class JavaDetectionEngine implements IDetectionEngine<Tree, Symbol>
                         JavaCheck, Tree, Symbol, JavaFileScannerContext>
                 methodInvocationHookWithParameterResolvement =
                         new MethodInvocationHookWithParameterResolvement<>(
-                                methodTree, methodParameter, parameter, matchContext);
+                                methodTree,
+                                methodParameter,
+                                parameter,
+                                matchContext,
+                                handler.getLanguageSupport());
         if (this.detectionStore
                 instanceof
                 final DetectionStoreWithHook<JavaCheck, Tree, Symbol, JavaFileScannerContext>
@@ -935,6 +963,11 @@ public final class JavaDetectionEngine implements IDetectionEngine<Tree, Symbol>
         return identifierTree;
     }
 
+    private static boolean isConstantField(@Nonnull Symbol symbol) {
+        final Symbol owner = symbol.owner();
+        return symbol.isFinal() && owner != null && owner.isTypeSymbol();
+    }
+
     /**
      * Returns the constant value of a given expression tree.
      *
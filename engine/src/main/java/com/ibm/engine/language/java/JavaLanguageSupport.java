@@ -52,15 +52,23 @@ public final class JavaLanguageSupport
         implements ILanguageSupport<JavaCheck, Tree, Symbol, JavaFileScannerContext> {
     private static final Logger LOGGER = LoggerFactory.getLogger(JavaLanguageSupport.class);
     @Nonnull private final Handler<JavaCheck, Tree, Symbol, JavaFileScannerContext> handler;
+    @Nonnull private final JavaLanguageTranslation translation;
 
     public JavaLanguageSupport() {
         this.handler = new Handler<>(this);
+        this.translation = new JavaLanguageTranslation();
     }
 
     @Nonnull
     @Override
     public ILanguageTranslation<Tree> translation() {
-        return new JavaLanguageTranslation();
+        return translation;
+    }
+
+    @Nonnull
+    @Override
+    public Handler<JavaCheck, Tree, Symbol, JavaFileScannerContext> getHandler() {
+        return handler;
     }
 
     @Nonnull
@@ -23,7 +23,6 @@ import com.ibm.engine.detection.IType;
 import com.ibm.engine.detection.MatchContext;
 import com.ibm.engine.language.ILanguageTranslation;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -40,7 +39,7 @@ import org.sonar.plugins.java.api.tree.MethodInvocationTree;
 import org.sonar.plugins.java.api.tree.NewClassTree;
 import org.sonar.plugins.java.api.tree.Tree;
 
-public class JavaLanguageTranslation implements ILanguageTranslation<Tree> {
+public final class JavaLanguageTranslation implements ILanguageTranslation<Tree> {
     @Nonnull
     private static final Logger LOGGER = LoggerFactory.getLogger(JavaLanguageTranslation.class);
 
@@ -154,6 +153,16 @@ public class JavaLanguageTranslation implements ILanguageTranslation<Tree> {
         return Optional.empty();
     }
 
+    @Override
+    public int getMethodArgumentCount(@Nonnull Tree methodInvocation) {
+        if (methodInvocation instanceof MethodInvocationTree methodInvocationTree) {
+            return methodInvocationTree.arguments().size();
+        } else if (methodInvocation instanceof NewClassTree newClassTree) {
+            return newClassTree.arguments().size();
+        }
+        return 0;
+    }
+
     @Nonnull
     @Override
     public List<IType> getMethodParameterTypes(
@@ -171,27 +180,17 @@ public class JavaLanguageTranslation implements ILanguageTranslation<Tree> {
             return Collections.emptyList();
         }
 
-        final List<Boolean> parameterMatchExactTypes =
-                matchContext.parametersShouldMatchExactTypes();
-        List<Boolean> matchMatrix = parameterMatchExactTypes;
-        if (parameterMatchExactTypes.size() != arguments.size()) {
-            final Boolean[] defaults = new Boolean[arguments.size()];
-            Arrays.fill(defaults, false);
-            matchMatrix = Arrays.asList(defaults);
-        }
-
-        final List<IType> types = new ArrayList<>();
-        for (int i = 0; i < arguments.size(); i++) {
+        final int numberOfArguments = arguments.size();
+        final List<IType> types = new ArrayList<>(numberOfArguments);
+        for (int i = 0; i < numberOfArguments; i++) {
             final ExpressionTree argument = arguments.get(i);
-            final boolean exactMatch = matchMatrix.get(i);
+            final boolean exactMatch =
+                    matchContext.parameterShouldMatchExactType(i, numberOfArguments);
 
             if (argument instanceof MethodInvocationTree methodInvocationTree) {
                 Optional<IType> returnType =
                         getMethodReturnTypeString(
-                                new MatchContext(
-                                        matchContext.isHookContext(),
-                                        exactMatch,
-                                        Collections.emptyList()),
+                                new MatchContext(matchContext.isHookContext(), exactMatch),
                                 methodInvocationTree);
                 if (returnType.isPresent()) {
                     types.add(returnType.get());
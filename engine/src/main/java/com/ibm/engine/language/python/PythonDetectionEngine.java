@@ -66,6 +66,12 @@ public class PythonDetectionEngine implements IDetectionEngine<Tree, Symbol> {
         }
     }
 
+    /** The match context the arguments of a method call are resolved with. */
+    @Nonnull
+    MatchContext matchContext() {
+        return MatchContext.build(false, this.detectionStore.getDetectionRule());
+    }
+
     // @SuppressWarnings("java:S3776")
     @Nullable @Override
     public Tree extractArgumentFromMethodCaller(
@@ -92,12 +98,10 @@ public class PythonDetectionEngine implements IDetectionEngine<Tree, Symbol> {
             }
 
             // Check that the parameter identifier has a name
-            final MatchContext matchContext =
-                    MatchContext.build(false, this.detectionStore.getDetectionRule());
             Optional<String> targetVarIdOptional =
                     handler.getLanguageSupport()
                             .translation()
-                            .resolveIdentifierAsString(matchContext, nameTree);
+                            .resolveIdentifierAsString(matchContext(), nameTree);
             if (targetVarIdOptional.isEmpty()) {
                 return null;
             }
@@ -189,7 +193,10 @@ public class PythonDetectionEngine implements IDetectionEngine<Tree, Symbol> {
                             PythonCheck, Tree, Symbol, PythonVisitorContext>
                     methodInvocationHookWithReturnResolvement =
                             new MethodInvocationHookWithReturnResolvement<>(
-                                    methodTree, detectableParameter, matchContext);
+                                    methodTree,
+                                    detectableParameter,
+                                    matchContext,
+                                    handler.getLanguageSupport());
             if (this.detectionStore
                     instanceof
                     final DetectionStoreWithHook<PythonCheck, Tree, Symbol, PythonVisitorContext>
@@ -206,7 +213,11 @@ public class PythonDetectionEngine implements IDetectionEngine<Tree, Symbol> {
                         PythonCheck, Tree, Symbol, PythonVisitorContext>
                 methodInvocationHookWithParameterResolvement =
                         new MethodInvocationHookWithParameterResolvement<>(
-                                methodTree, methodParameter, detectableParameter, matchContext);
+                                methodTree,
+                                methodParameter,
+                                detectableParameter,
+                                matchContext,
+                                handler.getLanguageSupport());
         if (this.detectionStore
                 instanceof
                 final DetectionStoreWithHook<PythonCheck, Tree, Symbol, PythonVisitorContext>
@@ -49,15 +49,23 @@ import org.sonar.plugins.python.api.tree.Tree;
 public class PythonLanguageSupport
         implements ILanguageSupport<PythonCheck, Tree, Symbol, PythonVisitorContext> {
     @Nonnull private final Handler<PythonCheck, Tree, Symbol, PythonVisitorContext> handler;
+    @Nonnull private final PythonLanguageTranslation translation;
 
     public PythonLanguageSupport() {
         this.handler = new Handler<>(this);
+        this.translation = new PythonLanguageTranslation();
     }
 
     @Nonnull
     @Override
     public ILanguageTranslation<Tree> translation() {
-        return new PythonLanguageTranslation();
+        return translation;
+    }
+
+    @Nonnull
+    @Override
+    public Handler<PythonCheck, Tree, Symbol, PythonVisitorContext> getHandler() {
+        return handler;
     }
 
     @Override
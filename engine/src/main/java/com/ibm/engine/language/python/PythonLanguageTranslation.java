@@ -34,7 +34,7 @@ import org.sonar.plugins.python.api.tree.QualifiedExpression;
 import org.sonar.plugins.python.api.tree.RegularArgument;
 import org.sonar.plugins.python.api.tree.Tree;
 
-public class PythonLanguageTranslation implements ILanguageTranslation<Tree> {
+public final class PythonLanguageTranslation implements ILanguageTranslation<Tree> {
 
     @Nonnull
     @Override
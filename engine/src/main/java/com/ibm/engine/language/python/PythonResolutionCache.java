@@ -0,0 +1,170 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.language.python;
+
+import com.ibm.engine.detection.MatchContext;
+import com.ibm.engine.detection.ResolvedValue;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.sonar.plugins.python.api.symbols.Symbol;
+import org.sonar.plugins.python.api.tree.Argument;
+import org.sonar.plugins.python.api.tree.FunctionDef;
+import org.sonar.plugins.python.api.tree.Tree;
+
+/**
+ * Per-file memoization of {@link PythonSemantic} resolutions. Every detection rule resolves the
+ * same arguments and call types of a file again and again; this cache keeps the results of the
+ * top-level {@code resolveValues} calls and of the method definition lookups until the analysis
+ * moves on to another file (identified by its {@code FileInput} root), or until {@link #release()}
+ * is called at the end of the file.
+ *
+ * <p>Only top-level resolutions are memoized, because the results of the inner recursive calls
+ * depend on the trees already visited along the current path. Re-entrant resolutions of a key that
+ * is still being computed are cut (returning no result) and the partial results depending on such a
+ * cut are not stored.
+ *
+ * <p>A resolution run with a detection engine maps the arguments of the method calls it goes
+ * through with the match context of the engine's detection rule, so the key holds that context
+ * rather than the engine itself.
+ */
+public final class PythonResolutionCache {
+    private static final int MAX_RESOLVED_VALUES = 4096;
+    private static final int MAX_METHOD_DEFINITIONS = 1024;
+
+    private static final ThreadLocal<PythonResolutionCache> CURRENT =
+            ThreadLocal.withInitial(PythonResolutionCache::new);
+
+    record Key(
+            @Nonnull Class<?> clazz,
+            @Nonnull Tree tree,
+            @Nonnull List<Map<org.sonar.plugins.python.api.tree.Parameter, Argument>> argsMapping,
+            @Nullable Object subscriptionIndex,
+            boolean returnEnclosingParam,
+            boolean isResolvingType,
+            @Nullable MatchContext matchContext) {}
+
+    @Nullable private Tree fileInput;
+    @Nonnull private final Map<Key, List<ResolvedValue<Object, Tree>>> resolvedValues;
+    @Nonnull private final Map<Symbol, Optional<FunctionDef>> methodDefinitions;
+    @Nonnull private final Set<Key> inProgress = new HashSet<>();
+    private boolean cycleCut = false;
+
+    private PythonResolutionCache() {
+        this(MAX_RESOLVED_VALUES, MAX_METHOD_DEFINITIONS);
+    }
+
+    PythonResolutionCache(final int maxResolvedValues, final int maxMethodDefinitions) {
+        this.resolvedValues = boundedMap(maxResolvedValues);
+        this.methodDefinitions = boundedMap(maxMethodDefinitions);
+    }
+
+    /**
+     * Returns the cache of the current thread, scoped to the file containing {@code tree}. The
+     * cached content is dropped when {@code tree} belongs to another file than the previous call.
+     */
+    @Nonnull
+    static PythonResolutionCache forTree(@Nonnull Tree tree) {
+        final PythonResolutionCache cache = CURRENT.get();
+        final Tree root = root(tree);
+        if (root != cache.fileInput) {
+            cache.clear();
+            cache.fileInput = root;
+        }
+        return cache;
+    }
+
+    /**
+     * Drops the cache of the current thread. Called once the analysis of a file is over, so that
+     * the cache does not keep the syntax tree of the file reachable from the scanner thread.
+     */
+    public static void release() {
+        CURRENT.remove();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    <O> List<ResolvedValue<O, Tree>> resolveValues(
+            @Nonnull Key key, @Nonnull Supplier<List<ResolvedValue<O, Tree>>> resolver) {
+        final List<ResolvedValue<Object, Tree>> cached = resolvedValues.get(key);
+        if (cached != null) {
+            return List.copyOf((List<ResolvedValue<O, Tree>>) (List<?>) cached);
+        }
+        if (!inProgress.add(key)) {
+            // the same resolution is already running higher in the call stack
+            cycleCut = true;
+            return List.of();
+        }
+        final boolean outerCycleCut = cycleCut;
+        cycleCut = false;
+        try {
+            final List<ResolvedValue<O, Tree>> result = List.copyOf(resolver.get());
+            if (!cycleCut) {
+                resolvedValues.put(key, (List<ResolvedValue<Object, Tree>>) (List<?>) result);
+            }
+            return result;
+        } finally {
+            inProgress.remove(key);
+            cycleCut = outerCycleCut || cycleCut;
+        }
+    }
+
+    @Nullable
+    FunctionDef methodDefinition(@Nonnull Symbol symbol, @Nonnull Supplier<FunctionDef> lookup) {
+        Optional<FunctionDef> functionDef = methodDefinitions.get(symbol);
+        if (functionDef == null) {
+            functionDef = Optional.ofNullable(lookup.get());
+            methodDefinitions.put(symbol, functionDef);
+        }
+        return functionDef.orElse(null);
+    }
+
+    private void clear() {
+        resolvedValues.clear();
+        methodDefinitions.clear();
+        inProgress.clear();
+        cycleCut = false;
+    }
+
+    @Nonnull
+    private static Tree root(@Nonnull Tree tree) {
+        Tree current = tree;
+        while (current.parent() != null) {
+            current = current.parent();
+        }
+        return current;
+    }
+
+    @Nonnull
+    private static <K, V> Map<K, V> boundedMap(final int maxEntries) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+}
@@ -24,11 +24,13 @@ import com.ibm.engine.detection.ResolvedValue;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.apache.commons.lang3.tuple.Pair;
@@ -77,15 +79,54 @@ public final class PythonSemantic {
             Object subscriptionIndex,
             boolean returnEnclosingParam,
             PythonDetectionEngine detectionEngine) {
-        return resolveValues(
+        return memoizedResolveValues(
                 clazz,
                 tree,
-                new LinkedList<>(argsMappingList),
+                argsMappingList,
                 subscriptionIndex,
                 returnEnclosingParam,
                 false,
-                detectionEngine,
-                new LinkedList<>());
+                detectionEngine);
+    }
+
+    /**
+     * Top-level entry of the value resolution, memoized per file in the {@link
+     * PythonResolutionCache}: the same trees are resolved by every detection rule (and for type
+     * resolution during each match), always with the same result.
+     */
+    @Nonnull
+    private static <O> List<ResolvedValue<O, Tree>> memoizedResolveValues(
+            @Nonnull Class<O> clazz,
+            @Nonnull Tree tree,
+            @Nonnull
+                    List<Map<org.sonar.plugins.python.api.tree.Parameter, Argument>>
+                            argsMappingList,
+            Object subscriptionIndex,
+            boolean returnEnclosingParam,
+            boolean isResolvingType,
+            @Nullable PythonDetectionEngine detectionEngine) {
+        final PythonResolutionCache.Key key =
+                new PythonResolutionCache.Key(
+                        clazz,
+                        tree,
+                        List.copyOf(argsMappingList),
+                        subscriptionIndex,
+                        returnEnclosingParam,
+                        isResolvingType,
+                        detectionEngine == null ? null : detectionEngine.matchContext());
+        return PythonResolutionCache.forTree(tree)
+                .resolveValues(
+                        key,
+                        () ->
+                                resolveValues(
+                                        clazz,
+                                        tree,
+                                        new LinkedList<>(argsMappingList),
+                                        subscriptionIndex,
+                                        returnEnclosingParam,
+                                        isResolvingType,
+                                        detectionEngine,
+                                        new HashSet<>()));
     }
 
     /**
@@ -104,15 +145,7 @@ public final class PythonSemantic {
     @Nonnull
     public static Optional<IType> resolveTreeType(@Nonnull Tree tree) {
         final List<ResolvedValue<Object, Tree>> values =
-                resolveValues(
-                        Object.class,
-                        tree,
-                        new LinkedList<>(),
-                        null,
-                        false,
-                        true,
-                        null,
-                        new LinkedList<>());
+                memoizedResolveValues(Object.class, tree, List.of(), null, false, true, null);
         // call would enhance the results
         final List<Tree> results = new LinkedList<>();
         for (ResolvedValue<Object, Tree> value : values) {
@@ -310,9 +343,9 @@ public final class PythonSemantic {
      *     declaration Name trees in addition to the usual results)
      * @param detectionEngine - instance of the current PythonDetectionEngine (it can be set to null
      *     {@code null} but this will limit the depth of the resolution)
-     * @param alreadyResolvedTrees - list storing all recursively vsisited trees to resolve, along
+     * @param alreadyResolvedTrees - set storing all recursively vsisited trees to resolve, along
      *     with the last arguments mapping, in order to check if a tree has already been resolved to
-     *     avoid infinite loops (it should be an empty list in the initial function call)
+     *     avoid infinite loops (it should be an empty set in the initial function call)
      * @return A list of resolved values, composed of the actual resolved values as an Object and
      *     the associated Tree
      */
@@ -328,7 +361,7 @@ public final class PythonSemantic {
             boolean returnEnclosingParam,
             boolean isResolvingType,
             PythonDetectionEngine detectionEngine,
-            List<Pair<Tree, Map<org.sonar.plugins.python.api.tree.Parameter, Argument>>>
+            Set<Pair<Tree, Map<org.sonar.plugins.python.api.tree.Parameter, Argument>>>
                     alreadyResolvedTrees) {
         // Checks is the tree to resolve has been previously resolved (and with the same set of
         // arguments)
@@ -339,10 +372,9 @@ public final class PythonSemantic {
         }
         Pair<Tree, Map<org.sonar.plugins.python.api.tree.Parameter, Argument>> pair =
                 Pair.of(tree, map);
-        if (alreadyResolvedTrees.contains(pair)) {
+        if (!alreadyResolvedTrees.add(pair)) {
             return new LinkedList<>();
         }
-        alreadyResolvedTrees.add(pair);
 
         // Case disjunction depending on the type of Tree
         if (tree.is(Tree.Kind.NAME)) {
@@ -1010,19 +1042,12 @@ public final class PythonSemantic {
      *     QualifiedExpression} representing a function call
      * @return A {@code FunctionDef} tree representing the method definition of the function call
      */
+    @Nullable
     private static FunctionDef getMethodDefinition(@Nonnull final Tree tree) {
         if (tree instanceof Name nameTree && nameTree.symbol() != null) {
-            List<Usage> usages =
-                    Optional.of(nameTree)
-                            .map(Name::symbol)
-                            .map(Symbol::usages)
-                            .orElse(Collections.emptyList());
-            for (Usage usage : usages) {
-                if (usage.kind() == Usage.Kind.FUNC_DECLARATION
-                        && usage.tree().parent() instanceof FunctionDef functionDefTree) {
-                    return functionDefTree;
-                }
-            }
+            final Symbol symbol = Objects.requireNonNull(nameTree.symbol());
+            return PythonResolutionCache.forTree(nameTree)
+                    .methodDefinition(symbol, () -> getMethodDefinition(symbol));
         } else if (tree instanceof CallExpression callExpressionTree) {
             return getMethodDefinition(callExpressionTree.callee());
         } else if (tree instanceof QualifiedExpression qualifiedExpressionTree) {
@@ -1030,4 +1055,15 @@ public final class PythonSemantic {
         }
         return null;
     }
+
+    @Nullable
+    private static FunctionDef getMethodDefinition(@Nonnull final Symbol symbol) {
+        for (Usage usage : symbol.usages()) {
+            if (usage.kind() == Usage.Kind.FUNC_DECLARATION
+                    && usage.tree().parent() instanceof FunctionDef functionDefTree) {
+                return functionDefTree;
+            }
+        }
+        return null;
+    }
 }
@@ -35,8 +35,41 @@ public record DetectionRule<T>(
         @Nullable IActionFactory<T> actionFactory,
         @Nonnull IDetectionContext detectionValueContext,
         @Nonnull IBundle bundle,
-        @Nonnull List<IDetectionRule<T>> nextDetectionRules)
+        @Nonnull List<IDetectionRule<T>> nextDetectionRules,
+        @Nonnull MatchContext detectionMatchContext,
+        @Nonnull MatchContext hookMatchContext)
         implements IDetectionRule<T> {
+
+    /**
+     * The match contexts are derived from {@code shouldMatchExactTypes} and {@code parameters}, the
+     * values given for them are ignored, so that they can never disagree with the rule.
+     */
+    public DetectionRule {
+        detectionMatchContext = MatchContext.build(false, shouldMatchExactTypes, parameters);
+        hookMatchContext = MatchContext.build(true, shouldMatchExactTypes, parameters);
+    }
+
+    public DetectionRule(
+            @Nonnull MethodMatcher<T> matchers,
+            boolean shouldMatchExactTypes,
+            @Nonnull List<Parameter<T>> parameters,
+            @Nullable IActionFactory<T> actionFactory,
+            @Nonnull IDetectionContext detectionValueContext,
+            @Nonnull IBundle bundle,
+            @Nonnull List<IDetectionRule<T>> nextDetectionRules) {
+        // the match contexts are derived by the compact constructor
+        this(
+                matchers,
+                shouldMatchExactTypes,
+                parameters,
+                actionFactory,
+                detectionValueContext,
+                bundle,
+                nextDetectionRules,
+                null,
+                null);
+    }
+
     @Override
     public boolean is(@Nonnull Class<? extends IDetectionRule> kind) {
         return kind.equals(DetectionRule.class);
@@ -44,6 +77,6 @@ public record DetectionRule<T>(
 
     @Override
     public boolean match(@Nonnull T expression, @Nonnull ILanguageTranslation<T> translation) {
-        return this.matchers.match(expression, translation, MatchContext.build(false, this));
+        return this.matchers.match(expression, translation, detectionMatchContext);
     }
 }
@@ -0,0 +1,129 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.rule;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import javax.annotation.Nonnull;
+
+/**
+ * Frozen view of a set of entry detection rules and of all the rules reachable from them (depending
+ * rules of the invoked object and of the parameters). Every distinct rule instance of the graph
+ * gets a stable integer id, assigned to the entry rules first and then to the depending rules in
+ * depth-first order, so that indexes built on top of the rules can key on an int instead of the
+ * (deep) rule record.
+ *
+ * <p>Rules are compared by identity: a depending rule shared by several parents is a single node of
+ * the graph.
+ *
+ * @param <T> the language tree type
+ */
+public final class DetectionRuleGraph<T> {
+    @Nonnull private final List<IDetectionRule<T>> entryRules;
+    @Nonnull private final List<IDetectionRule<T>> rulesById;
+    @Nonnull private final Map<IDetectionRule<T>, Integer> ids;
+
+    private DetectionRuleGraph(
+            @Nonnull List<IDetectionRule<T>> entryRules,
+            @Nonnull List<IDetectionRule<T>> rulesById,
+            @Nonnull Map<IDetectionRule<T>, Integer> ids) {
+        this.entryRules = entryRules;
+        this.rulesById = rulesById;
+        this.ids = ids;
+    }
+
+    @Nonnull
+    public static <T> DetectionRuleGraph<T> of(@Nonnull List<IDetectionRule<T>> entryRules) {
+        final Map<IDetectionRule<T>, Integer> ids = new IdentityHashMap<>();
+        final List<IDetectionRule<T>> rulesById = new ArrayList<>();
+        // entry rules get the first ids, in order
+        entryRules.forEach(rule -> ids.computeIfAbsent(rule, r -> register(r, rulesById)));
+
+        final Deque<IDetectionRule<T>> stack = new ArrayDeque<>();
+        for (int i = entryRules.size() - 1; i >= 0; i--) {
+            pushChildren(entryRules.get(i), stack);
+        }
+        while (!stack.isEmpty()) {
+            final IDetectionRule<T> rule = stack.pop();
+            if (ids.containsKey(rule)) {
+                continue;
+            }
+            ids.put(rule, register(rule, rulesById));
+            pushChildren(rule, stack);
+        }
+        return new DetectionRuleGraph<>(
+                List.copyOf(entryRules),
+                Collections.unmodifiableList(rulesById),
+                Collections.unmodifiableMap(ids));
+    }
+
+    private static <T> int register(
+            @Nonnull IDetectionRule<T> rule, @Nonnull List<IDetectionRule<T>> rulesById) {
+        rulesById.add(rule);
+        return rulesById.size() - 1;
+    }
+
+    private static <T> void pushChildren(
+            @Nonnull IDetectionRule<T> rule, @Nonnull Deque<IDetectionRule<T>> stack) {
+        final List<IDetectionRule<T>> children = new ArrayList<>();
+        if (rule instanceof DetectionRule<T> detectionRule) {
+            detectionRule
+                    .parameters()
+                    .forEach(parameter -> children.addAll(parameter.getDetectionRules()));
+        }
+        children.addAll(rule.nextDetectionRules());
+        // reversed, so that the first child is visited first
+        for (int i = children.size() - 1; i >= 0; i--) {
+            stack.push(children.get(i));
+        }
+    }
+
+    /** The entry rules, in the order they were given, as an immutable list. */
+    @Nonnull
+    public List<IDetectionRule<T>> entryRules() {
+        return entryRules;
+    }
+
+    /** Number of distinct rules (entry and depending rules) of the graph. */
+    public int size() {
+        return rulesById.size();
+    }
+
+    @Nonnull
+    public OptionalInt idOf(@Nonnull IDetectionRule<T> rule) {
+        final Integer id = ids.get(rule);
+        return id == null ? OptionalInt.empty() : OptionalInt.of(id);
+    }
+
+    @Nonnull
+    public Optional<IDetectionRule<T>> ruleOf(int id) {
+        if (id < 0 || id >= rulesById.size()) {
+            return Optional.empty();
+        }
+        return Optional.of(rulesById.get(id));
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.rule;
+
+import com.ibm.engine.detection.MethodMatcher;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Entry detection rules grouped by the method names their matcher accepts. A call site only has to
+ * be analysed with the rules returned for its method name: a rule whose matcher does not accept the
+ * name can never match it. Rules matching any method name are part of every group.
+ *
+ * <p>Each group keeps the entry rules in their original order (duplicates included), so the rules
+ * run in the same order as when the whole list is applied.
+ *
+ * <p>The index only filters the rules per call site, by method name: every call of a file is still
+ * visited, and the remaining rules still check the owner type and parameters of the call.
+ *
+ * @param <T> the language tree type
+ */
+public final class EntryRuleIndex<T> {
+    @Nonnull private final Map<String, List<IDetectionRule<T>>> rulesByMethodName;
+    @Nonnull private final List<IDetectionRule<T>> anyMethodNameRules;
+
+    private EntryRuleIndex(
+            @Nonnull Map<String, List<IDetectionRule<T>>> rulesByMethodName,
+            @Nonnull List<IDetectionRule<T>> anyMethodNameRules) {
+        this.rulesByMethodName = rulesByMethodName;
+        this.anyMethodNameRules = anyMethodNameRules;
+    }
+
+    @Nonnull
+    public static <T> EntryRuleIndex<T> of(@Nonnull List<IDetectionRule<T>> entryRules) {
+        final Set<String> methodNames = new LinkedHashSet<>();
+        for (IDetectionRule<T> rule : entryRules) {
+            final List<String> names = methodNamesOf(rule);
+            if (names != null) {
+                methodNames.addAll(names);
+            }
+        }
+        methodNames.remove(MethodMatcher.ANY);
+
+        final Map<String, List<IDetectionRule<T>>> rulesByMethodName =
+                new HashMap<>(methodNames.size() * 2);
+        for (String methodName : methodNames) {
+            rulesByMethodName.put(methodName, select(entryRules, methodName));
+        }
+        return new EntryRuleIndex<>(rulesByMethodName, select(entryRules, null));
+    }
+
+    /**
+     * Returns the entry rules that can match a call to the method, in their original order.
+     *
+     * @param methodName the name of the invoked method ({@code <init>} for constructors)
+     * @return an immutable, possibly empty list of rules
+     */
+    @Nonnull
+    public List<IDetectionRule<T>> rulesFor(@Nonnull String methodName) {
+        return rulesByMethodName.getOrDefault(methodName, anyMethodNameRules);
+    }
+
+    @Nonnull
+    private static <T> List<IDetectionRule<T>> select(
+            @Nonnull List<IDetectionRule<T>> entryRules, @Nullable String methodName) {
+        final List<IDetectionRule<T>> selected = new ArrayList<>();
+        for (IDetectionRule<T> rule : entryRules) {
+            final List<String> names = methodNamesOf(rule);
+            if (names == null
+                    || names.contains(MethodMatcher.ANY)
+                    || (methodName != null && names.contains(methodName))) {
+                selected.add(rule);
+            }
+        }
+        return List.copyOf(selected);
+    }
+
+    // null if the rule has no method matcher and therefore has to be applied to every call
+    @Nullable
+    private static <T> List<String> methodNamesOf(@Nonnull IDetectionRule<T> rule) {
+        if (rule instanceof DetectionRule<T> detectionRule) {
+            return detectionRule.matchers().getMethodNamesSerializable();
+        } else if (rule instanceof MethodDetectionRule<T> methodDetectionRule) {
+            return methodDetectionRule.matchers().getMethodNamesSerializable();
+        }
+        return null;
+    }
+}
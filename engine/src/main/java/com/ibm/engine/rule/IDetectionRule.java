@@ -19,6 +19,7 @@
  */
 package com.ibm.engine.rule;
 
+import com.ibm.engine.detection.MatchContext;
 import com.ibm.engine.language.ILanguageTranslation;
 import com.ibm.engine.model.context.IDetectionContext;
 import com.ibm.engine.model.factory.IActionFactory;
@@ -33,6 +34,14 @@ public interface IDetectionRule<T> {
 
     boolean shouldMatchExactTypes();
 
+    /** Context for matching this rule against an expression, computed once per rule. */
+    @Nonnull
+    MatchContext detectionMatchContext();
+
+    /** Context for matching the hooks created by this rule, computed once per rule. */
+    @Nonnull
+    MatchContext hookMatchContext();
+
     @Nonnull
     IDetectionContext detectionValueContext();
 
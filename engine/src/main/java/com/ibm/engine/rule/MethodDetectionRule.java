@@ -33,8 +33,39 @@ public record MethodDetectionRule<T>(
         @Nonnull IActionFactory<T> actionFactory,
         @Nonnull IDetectionContext detectionValueContext,
         @Nonnull IBundle bundle,
-        @Nonnull List<IDetectionRule<T>> nextDetectionRules)
+        @Nonnull List<IDetectionRule<T>> nextDetectionRules,
+        @Nonnull MatchContext detectionMatchContext,
+        @Nonnull MatchContext hookMatchContext)
         implements IDetectionRule<T> {
+
+    /**
+     * The match contexts are derived from {@code shouldMatchExactTypes}, the values given for them
+     * are ignored, so that they can never disagree with the rule.
+     */
+    public MethodDetectionRule {
+        detectionMatchContext = new MatchContext(false, shouldMatchExactTypes);
+        hookMatchContext = new MatchContext(true, shouldMatchExactTypes);
+    }
+
+    public MethodDetectionRule(
+            @Nonnull MethodMatcher<T> matchers,
+            boolean shouldMatchExactTypes,
+            @Nonnull IActionFactory<T> actionFactory,
+            @Nonnull IDetectionContext detectionValueContext,
+            @Nonnull IBundle bundle,
+            @Nonnull List<IDetectionRule<T>> nextDetectionRules) {
+        // the match contexts are derived by the compact constructor
+        this(
+                matchers,
+                shouldMatchExactTypes,
+                actionFactory,
+                detectionValueContext,
+                bundle,
+                nextDetectionRules,
+                null,
+                null);
+    }
+
     @Override
     public boolean is(@Nonnull Class<? extends IDetectionRule> kind) {
         return kind.equals(MethodDetectionRule.class);
@@ -42,6 +73,6 @@ public record MethodDetectionRule<T>(
 
     @Override
     public boolean match(@Nonnull T expression, @Nonnull ILanguageTranslation<T> translation) {
-        return matchers.match(expression, translation, MatchContext.build(false, this));
+        return matchers.match(expression, translation, detectionMatchContext);
     }
 }
@@ -0,0 +1,280 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.serializer;
+
+import com.ibm.engine.detection.MethodMatcher;
+import com.ibm.engine.rule.DetectableParameter;
+import com.ibm.engine.rule.DetectionRule;
+import com.ibm.engine.rule.DetectionRuleGraph;
+import com.ibm.engine.rule.IDetectionRule;
+import com.ibm.engine.rule.MethodDetectionRule;
+import com.ibm.engine.rule.Parameter;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Fingerprint of a rule set, identifying it for example in the findings cache: equal rule sets have
+ * equal fingerprints, and changing a rule changes the fingerprint of its rule set.
+ *
+ * <p>The fingerprint covers, for every rule of the {@link DetectionRuleGraph}, its bundle, its
+ * matcher (invoked object types, method names and parameter types), its depending-rule edges and a
+ * description of its behaviour (see {@link #behaviourOf(IDetectionRule)}). Since the behaviour
+ * description only records the class and the simple state of the contexts and factories, and
+ * reduces a lambda to the class defining it, the fingerprint also covers the class files of these
+ * classes: editing the body of a lambda, or the code of a factory, changes the class file and thus
+ * the fingerprint. Matcher predicates are not covered.
+ */
+public final class RuleFingerprint {
+    private static final String LAMBDA = "$$Lambda";
+
+    private RuleFingerprint() {
+        // static helper
+    }
+
+    /** Hex encoded SHA-256 fingerprint of the rules of the graph. */
+    @Nonnull
+    public static <T> String of(@Nonnull DetectionRuleGraph<T> graph) {
+        final MessageDigest digest = sha256();
+        final Map<String, ClassLoader> codeClasses = new TreeMap<>();
+        try (DataOutputStream out =
+                new DataOutputStream(
+                        new DigestOutputStream(OutputStream.nullOutputStream(), digest))) {
+            out.writeInt(graph.entryRules().size());
+            out.writeInt(graph.size());
+            for (int id = 0; id < graph.size(); id++) {
+                final IDetectionRule<T> rule = graph.ruleOf(id).orElseThrow();
+                out.writeUTF(rule.bundle().getIdentifier());
+                out.writeUTF(behaviourOf(rule));
+                final MethodMatcher<T> matcher = matcherOf(rule);
+                if (matcher == null) {
+                    out.writeBoolean(false);
+                } else {
+                    out.writeBoolean(true);
+                    writeStrings(out, matcher.getInvokedObjectTypeStringsSerializable());
+                    writeStrings(out, matcher.getMethodNamesSerializable());
+                    writeStrings(out, matcher.getParameterTypesSerializable());
+                }
+                writeIds(out, graph, rule.nextDetectionRules());
+                addCodeClass(rule.detectionValueContext(), codeClasses);
+                if (rule instanceof DetectionRule<T> detectionRule) {
+                    addCodeClass(detectionRule.actionFactory(), codeClasses);
+                    out.writeInt(detectionRule.parameters().size());
+                    for (Parameter<T> parameter : detectionRule.parameters()) {
+                        out.writeInt(parameter.getIndex());
+                        writeIds(out, graph, parameter.getDetectionRules());
+                        if (parameter instanceof DetectableParameter<T> detectableParameter) {
+                            addCodeClass(detectableParameter.getiValueFactory(), codeClasses);
+                        }
+                    }
+                } else if (rule instanceof MethodDetectionRule<T> methodDetectionRule) {
+                    addCodeClass(methodDetectionRule.actionFactory(), codeClasses);
+                }
+            }
+            out.writeInt(codeClasses.size());
+            for (Map.Entry<String, ClassLoader> codeClass : codeClasses.entrySet()) {
+                out.writeUTF(codeClass.getKey());
+                out.write(classFileDigest(codeClass.getKey(), codeClass.getValue()));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return hex(digest.digest());
+    }
+
+    /**
+     * Describes what a rule detects once it matched: its detection context, its action and the
+     * values detected in its parameters, independently of the invocations it matches.
+     */
+    @Nonnull
+    public static <T> String behaviourOf(@Nonnull IDetectionRule<T> rule) {
+        final StringBuilder behaviour = new StringBuilder();
+        behaviour.append("context=").append(describe(rule.detectionValueContext()));
+        if (rule instanceof DetectionRule<T> detectionRule) {
+            behaviour.append(";action=").append(describe(detectionRule.actionFactory()));
+            for (Parameter<T> parameter : detectionRule.parameters()) {
+                if (parameter instanceof DetectableParameter<T> detectableParameter) {
+                    behaviour
+                            .append(";value")
+                            .append(parameter.getIndex())
+                            .append('=')
+                            .append(describe(detectableParameter.getiValueFactory()));
+                    detectableParameter
+                            .getShouldBeMovedUnder()
+                            .ifPresent(index -> behaviour.append("@").append(index));
+                }
+            }
+        } else if (rule instanceof MethodDetectionRule<T> methodDetectionRule) {
+            behaviour.append(";action=").append(describe(methodDetectionRule.actionFactory()));
+        }
+        return behaviour.toString();
+    }
+
+    /**
+     * SHA-256 of the class file defining the code of the object: its class, or the class defining
+     * it for a lambda. An empty array if the class file cannot be read.
+     */
+    @Nonnull
+    static byte[] codeDigestOf(@Nonnull Object object) {
+        final Map<String, ClassLoader> codeClasses = new TreeMap<>();
+        addCodeClass(object, codeClasses);
+        final Map.Entry<String, ClassLoader> codeClass = codeClasses.entrySet().iterator().next();
+        return classFileDigest(codeClass.getKey(), codeClass.getValue());
+    }
+
+    private static void addCodeClass(
+            @Nullable Object object, @Nonnull Map<String, ClassLoader> codeClasses) {
+        if (object == null) {
+            return;
+        }
+        final Class<?> type = object.getClass();
+        final String className = type.getName();
+        final int lambda = className.indexOf(LAMBDA);
+        // a lambda is defined by the class declaring it, with the same class loader
+        codeClasses.putIfAbsent(
+                lambda >= 0 ? className.substring(0, lambda) : className, type.getClassLoader());
+    }
+
+    @Nonnull
+    private static byte[] classFileDigest(
+            @Nonnull String className, @Nullable ClassLoader classLoader) {
+        final ClassLoader loader =
+                classLoader != null ? classLoader : ClassLoader.getSystemClassLoader();
+        try (InputStream in = loader.getResourceAsStream(className.replace('.', '/') + ".class")) {
+            if (in == null) {
+                return new byte[0];
+            }
+            return sha256().digest(in.readAllBytes());
+        } catch (IOException e) {
+            return new byte[0];
+        }
+    }
+
+    @Nullable
+    private static <T> MethodMatcher<T> matcherOf(@Nonnull IDetectionRule<T> rule) {
+        if (rule instanceof DetectionRule<T> detectionRule) {
+            return detectionRule.matchers();
+        } else if (rule instanceof MethodDetectionRule<T> methodDetectionRule) {
+            return methodDetectionRule.matchers();
+        }
+        return null;
+    }
+
+    private static void writeStrings(@Nonnull DataOutputStream out, @Nonnull List<String> strings)
+            throws IOException {
+        out.writeInt(strings.size());
+        for (String string : strings) {
+            out.writeUTF(string);
+        }
+    }
+
+    private static <T> void writeIds(
+            @Nonnull DataOutputStream out,
+            @Nonnull DetectionRuleGraph<T> graph,
+            @Nonnull List<IDetectionRule<T>> rules)
+            throws IOException {
+        out.writeInt(rules.size());
+        for (IDetectionRule<T> rule : rules) {
+            out.writeInt(graph.idOf(rule).orElseThrow());
+        }
+    }
+
+    /**
+     * Class name of the object followed by its instance fields. Fields holding strings, primitives,
+     * enums or maps of those are described by value (maps sorted by key, so that the description
+     * does not depend on the iteration order), other fields by their type only.
+     */
+    @Nonnull
+    private static String describe(@Nullable Object object) {
+        if (object == null) {
+            return "null";
+        }
+        final String className = object.getClass().getName();
+        final int lambda = className.indexOf(LAMBDA);
+        if (lambda >= 0) {
+            // the generated class name differs between runs
+            return className.substring(0, lambda) + LAMBDA;
+        }
+        final StringJoiner fields = new StringJoiner(",", className + "{", "}");
+        for (Class<?> c = object.getClass(); c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                    continue;
+                }
+                fields.add(field.getName() + "=" + valueOf(field, object));
+            }
+        }
+        return fields.toString();
+    }
+
+    @Nonnull
+    private static String valueOf(@Nonnull Field field, @Nonnull Object object) {
+        final Object value;
+        try {
+            field.setAccessible(true);
+            value = field.get(object);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return field.getType().getName();
+        }
+        if (value == null
+                || value instanceof CharSequence
+                || value instanceof Number
+                || value instanceof Boolean
+                || value instanceof Character
+                || value instanceof Enum<?>) {
+            return String.valueOf(value);
+        } else if (value instanceof Map<?, ?> map) {
+            final Map<String, String> sorted = new TreeMap<>();
+            map.forEach((k, v) -> sorted.put(String.valueOf(k), String.valueOf(v)));
+            return sorted.toString();
+        }
+        return value.getClass().getName();
+    }
+
+    @Nonnull
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Nonnull
+    private static String hex(@Nonnull byte[] bytes) {
+        final StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
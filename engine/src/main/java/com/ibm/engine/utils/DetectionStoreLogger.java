@@ -39,6 +39,9 @@ public class DetectionStoreLogger<R, T, S, P> {
     private static final Logger LOGGER = LoggerFactory.getLogger(DetectionStoreLogger.class);
 
     public void print(@Nonnull DetectionStore<R, T, S, P> rootDetectionStore) {
+        if (!LOGGER.isDebugEnabled()) {
+            return;
+        }
         printDstoreValues(0, List.of(rootDetectionStore));
     }
 
@@ -48,67 +51,15 @@ public class DetectionStoreLogger<R, T, S, P> {
             int tabs, @Nonnull List<DetectionStore<R, T, S, P>> detectionStores) {
         detectionStores.forEach(
                 store -> {
+                    // the prefix is the same for every value of the store
+                    final String prefix = storePrefix(tabs, store);
                     store.getActionValue()
-                            .ifPresent(
-                                    value ->
-                                            LOGGER.debug(
-                                                    "[id: "
-                                                            + store.getStoreId()
-                                                                    .toString()
-                                                                    .substring(0, 5)
-                                                            + ", bundle: "
-                                                            + store.getDetectionRule()
-                                                                    .bundle()
-                                                                    .getIdentifier()
-                                                            + ", level: "
-                                                            + store.getLevel()
-                                                            + ", hash: "
-                                                            + getFormattedNumericString(
-                                                                    store.hashCode())
-                                                            + "] "
-                                                            + "   ".repeat(Math.max(0, tabs))
-                                                            + (tabs > 0 ? "└─ " : "")
-                                                            + "("
-                                                            + getDetectionValueContextMessage(
-                                                                    store
-                                                                            .getDetectionValueContext())
-                                                            + ", "
-                                                            + value.getClass().getSimpleName()
-                                                            + valueSpecificString(value)
-                                                            + ") "
-                                                            + value.asString()));
+                            .ifPresent(value -> LOGGER.debug(prefix + valueString(value)));
 
                     final Set<Integer> visitedChildren = new HashSet<>();
                     store.detectionValuesForEachParameter(
                             (i, values) -> {
-                                values.forEach(
-                                        value ->
-                                                LOGGER.debug(
-                                                        "[id: "
-                                                                + store.getStoreId()
-                                                                        .toString()
-                                                                        .substring(0, 5)
-                                                                + ", bundle: "
-                                                                + store.getDetectionRule()
-                                                                        .bundle()
-                                                                        .getIdentifier()
-                                                                + ", level: "
-                                                                + store.getLevel()
-                                                                + ", hash: "
-                                                                + getFormattedNumericString(
-                                                                        store.hashCode())
-                                                                + "] "
-                                                                + "   ".repeat(Math.max(0, tabs))
-                                                                + (tabs > 0 ? "└─ " : "")
-                                                                + "("
-                                                                + getDetectionValueContextMessage(
-                                                                        store
-                                                                                .getDetectionValueContext())
-                                                                + ", "
-                                                                + value.getClass().getSimpleName()
-                                                                + valueSpecificString(value)
-                                                                + ") "
-                                                                + value.asString()));
+                                values.forEach(value -> LOGGER.debug(prefix + valueString(value)));
                                 store.getChildrenForParameterWithId(i)
                                         .ifPresent(
                                                 children -> {
@@ -127,6 +78,32 @@ public class DetectionStoreLogger<R, T, S, P> {
                 });
     }
 
+    @Nonnull
+    private String storePrefix(int tabs, @Nonnull DetectionStore<R, T, S, P> store) {
+        return "[id: "
+                + store.getStoreId().toString().substring(0, 5)
+                + ", bundle: "
+                + store.getDetectionRule().bundle().getIdentifier()
+                + ", level: "
+                + store.getLevel()
+                + ", hash: "
+                + getFormattedNumericString(store.hashCode())
+                + "] "
+                + "   ".repeat(Math.max(0, tabs))
+                + (tabs > 0 ? "└─ " : "")
+                + "("
+                + getDetectionValueContextMessage(store.getDetectionValueContext())
+                + ", ";
+    }
+
+    @Nonnull
+    private String valueString(@Nonnull IValue<T> value) {
+        return value.getClass().getSimpleName()
+                + valueSpecificString(value)
+                + ") "
+                + value.asString();
+    }
+
     @Nonnull
     private String valueSpecificString(@Nonnull IValue<T> value) {
         if (value instanceof Size<T> keySize) {
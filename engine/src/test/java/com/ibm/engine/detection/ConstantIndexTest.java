@@ -0,0 +1,77 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.detection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.engine.language.IScanContext;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.Test;
+import org.sonar.api.batch.fs.InputFile;
+
+class ConstantIndexTest {
+
+    private record File(@Nonnull String path) implements IScanContext<Object, String> {
+        @Override
+        public void reportIssue(
+                @Nonnull Object currentRule, @Nonnull String tree, @Nonnull String message) {
+            // not reported
+        }
+
+        @Nonnull
+        @Override
+        public InputFile getInputFile() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Nonnull
+        @Override
+        public String getFilePath() {
+            return path;
+        }
+    }
+
+    @Test
+    void returnsRecordedValueWithItsOrigin() {
+        final ConstantIndex<String, String> index = new ConstantIndex<>();
+        final File file = new File("Constants.java");
+        index.put(file, "ALGORITHM", "AES", "\"AES\"");
+
+        assertThat(index.get(file, String.class, "ALGORITHM"))
+                .hasValueSatisfying(
+                        resolved -> {
+                            assertThat(resolved.value()).isEqualTo("AES");
+                            assertThat(resolved.tree()).isEqualTo("\"AES\"");
+                        });
+        // a value of another type is not returned
+        assertThat(index.get(file, Integer.class, "ALGORITHM")).isEmpty();
+        assertThat(index.get(file, String.class, "KEY_SIZE")).isEmpty();
+    }
+
+    @Test
+    void forgetsConstantsOfThePreviousFile() {
+        final ConstantIndex<String, String> index = new ConstantIndex<>();
+        index.put(new File("A.java"), "KEY_SIZE", 256, "256");
+
+        assertThat(index.get(new File("A.java"), Integer.class, "KEY_SIZE")).isPresent();
+        assertThat(index.get(new File("B.java"), Integer.class, "KEY_SIZE")).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.detection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.engine.model.context.DigestContext;
+import com.ibm.engine.model.factory.AlgorithmFactory;
+import com.ibm.engine.model.factory.ValueActionFactory;
+import com.ibm.engine.rule.DetectionRule;
+import com.ibm.engine.rule.IDetectionRule;
+import com.ibm.engine.rule.builder.DetectionRuleBuilder;
+import org.junit.jupiter.api.Test;
+
+class MatchContextTest {
+
+    @Test
+    void rulesPrecomputeTheirDetectionAndHookContexts() {
+        final IDetectionRule<Object> rule =
+                new DetectionRuleBuilder<>()
+                        .createDetectionRule()
+                        .forObjectExactTypes("javax.crypto.Cipher")
+                        .forMethods("init")
+                        .withMethodParameter("int")
+                        .withMethodParameterMatchExactType("java.security.Key")
+                        .shouldBeDetectedAs(new AlgorithmFactory<>())
+                        .buildForContext(new DigestContext())
+                        .inBundle(() -> "Jca")
+                        .withoutDependingDetectionRules();
+
+        final MatchContext detection = MatchContext.build(false, rule);
+        assertThat(detection).isSameAs(rule.detectionMatchContext());
+        assertThat(detection.isHookContext()).isFalse();
+        assertThat(detection.objectShouldMatchExactTypes()).isTrue();
+        assertThat(detection.parameterShouldMatchExactType(0, 2)).isFalse();
+        assertThat(detection.parameterShouldMatchExactType(1, 2)).isTrue();
+
+        final MatchContext hook = MatchContext.build(true, rule);
+        assertThat(hook).isSameAs(rule.hookMatchContext());
+        assertThat(hook.isHookContext()).isTrue();
+        assertThat(hook.objectShouldMatchExactTypes()).isTrue();
+        assertThat(hook.parameterShouldMatchExactType(0, 2)).isFalse();
+        assertThat(hook.parameterShouldMatchExactType(1, 2)).isTrue();
+    }
+
+    @Test
+    void rulesDeriveTheirContexts() {
+        final DetectionRule<Object> rule =
+                (DetectionRule<Object>)
+                        new DetectionRuleBuilder<>()
+                                .createDetectionRule()
+                                .forObjectExactTypes("javax.crypto.Cipher")
+                                .forMethods("init")
+                                .withMethodParameterMatchExactType("int")
+                                .shouldBeDetectedAs(new AlgorithmFactory<>())
+                                .buildForContext(new DigestContext())
+                                .inBundle(() -> "Jca")
+                                .withoutDependingDetectionRules();
+
+        // contexts given to the canonical constructor cannot disagree with the rule
+        final DetectionRule<Object> copy =
+                new DetectionRule<>(
+                        rule.matchers(),
+                        rule.shouldMatchExactTypes(),
+                        rule.parameters(),
+                        rule.actionFactory(),
+                        rule.detectionValueContext(),
+                        rule.bundle(),
+                        rule.nextDetectionRules(),
+                        new MatchContext(true, false),
+                        new MatchContext(false, false));
+        assertThat(copy.detectionMatchContext()).isEqualTo(rule.detectionMatchContext());
+        assertThat(copy.hookMatchContext()).isEqualTo(rule.hookMatchContext());
+        assertThat(copy).isEqualTo(rule);
+    }
+
+    @Test
+    void rulesWithoutParametersHaveAnEmptyBitmap() {
+        final IDetectionRule<Object> rule =
+                new DetectionRuleBuilder<>()
+                        .createDetectionRule()
+                        .forObjectTypes("java.security.Signature")
+                        .forMethods("sign")
+                        .shouldBeDetectedAs(new ValueActionFactory<>("SIGN"))
+                        .withAnyParameters()
+                        .buildForContext(new DigestContext())
+                        .inBundle(() -> "Jca")
+                        .withoutDependingDetectionRules();
+
+        assertThat(rule.detectionMatchContext())
+                .isEqualTo(new MatchContext(false, false))
+                .isEqualTo(new MatchContext(false, false, new boolean[0]));
+        assertThat(rule.hookMatchContext()).isEqualTo(new MatchContext(true, false));
+        assertThat(rule.detectionMatchContext().parameterShouldMatchExactType(0, 1)).isFalse();
+    }
+
+    @Test
+    void bitmapOnlyAppliesToInvocationsWithAsManyArguments() {
+        final MatchContext context = new MatchContext(false, false, new boolean[] {false, true});
+
+        assertThat(context.parameterShouldMatchExactType(0, 2)).isFalse();
+        assertThat(context.parameterShouldMatchExactType(1, 2)).isTrue();
+        // an invocation with fewer or more arguments matches no argument exactly
+        assertThat(context.parameterShouldMatchExactType(0, 1)).isFalse();
+        assertThat(context.parameterShouldMatchExactType(1, 3)).isFalse();
+        assertThat(context.parameterShouldMatchExactType(2, 3)).isFalse();
+    }
+
+    @Test
+    void bitmapIsCopied() {
+        final boolean[] bitmap = {false, true};
+        final MatchContext context = new MatchContext(false, false, bitmap);
+        bitmap[1] = false;
+
+        assertThat(context.parameterShouldMatchExactType(1, 2)).isTrue();
+    }
+
+    @Test
+    void contextsAreComparedByTheirContents() {
+        final MatchContext context = new MatchContext(true, false, new boolean[] {true, false});
+        final MatchContext same = new MatchContext(true, false, new boolean[] {true, false});
+
+        assertThat(context).isEqualTo(same).hasSameHashCodeAs(same);
+        assertThat(context).isNotEqualTo(new MatchContext(true, false, new boolean[] {true}));
+        assertThat(context)
+                .isNotEqualTo(new MatchContext(false, false, new boolean[] {true, false}));
+        assertThat(context)
+                .hasToString(
+                        "MatchContext[isHookContext=true, objectShouldMatchExactTypes=false,"
+                                + " parametersShouldMatchExactTypes=[true, false]]");
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.hooks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ibm.engine.detection.IType;
+import com.ibm.engine.detection.MatchContext;
+import com.ibm.engine.detection.MethodMatcher;
+import com.ibm.engine.language.ILanguageSupport;
+import com.ibm.engine.language.ILanguageTranslation;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HookMethodMatcherTest {
+    private static final MatchContext CONTEXT = MatchContext.createForHookContext();
+    // the hooked method definition, the matcher is taken from the language support
+    private static final String DEFINITION = "def";
+
+    @SuppressWarnings("unchecked")
+    private final ILanguageSupport<Object, String, Object, Object> languageSupport =
+            mock(ILanguageSupport.class);
+
+    @SuppressWarnings("unchecked")
+    private final ILanguageTranslation<String> translation = mock(ILanguageTranslation.class);
+
+    @BeforeEach
+    void resolveInvocations() {
+        // an invocation is written as "Type.name(ParameterType,...)"
+        when(translation.getInvokedObjectTypeString(any(), anyString()))
+                .thenAnswer(call -> Optional.of(type(typeOf(call.getArgument(1)))));
+        when(translation.getMethodName(any(), anyString()))
+                .thenAnswer(call -> Optional.of(nameOf(call.getArgument(1))));
+        when(translation.getMethodParameterTypes(any(), anyString()))
+                .thenAnswer(
+                        call ->
+                                parametersOf(call.getArgument(1)).stream()
+                                        .map(HookMethodMatcherTest::type)
+                                        .toList());
+        when(translation.getMethodArgumentCount(anyString()))
+                .thenAnswer(call -> parametersOf(call.getArgument(0)).size());
+    }
+
+    @Test
+    void callsOfAnotherArityAreRejectedFromTheSyntaxTree() {
+        final HookMethodMatcher<String> matcher =
+                matcher(new MethodMatcher<>("Digest", "update", List.of("int")));
+
+        assertThat(matcher.methodName()).isEqualTo("update");
+        assertThat(matcher.match("Digest.update(int,int)", translation, CONTEXT)).isFalse();
+        verify(translation, never()).getMethodName(any(), anyString());
+        verify(translation, never()).getMethodParameterTypes(any(), anyString());
+
+        assertThat(matcher.match("Digest.update(int)", translation, CONTEXT)).isTrue();
+    }
+
+    @Test
+    void callsOfAnotherNameAreRejectedBeforeTheirTypesAreResolved() {
+        final HookMethodMatcher<String> matcher =
+                matcher(new MethodMatcher<>("Digest", "update", List.of("int")));
+
+        assertThat(matcher.match("Digest.digest(int)", translation, CONTEXT)).isFalse();
+        verify(translation, never()).getInvokedObjectTypeString(any(), anyString());
+        verify(translation, never()).getMethodParameterTypes(any(), anyString());
+    }
+
+    @Test
+    void unknownArgumentCountIsLeftToTheMethodMatcher() {
+        // e.g. Python, whose translation does not count the arguments of a call
+        doReturn(-1).when(translation).getMethodArgumentCount(anyString());
+        final HookMethodMatcher<String> matcher =
+                matcher(
+                        new MethodMatcher<>(
+                                "module", "derive", List.of(MethodMatcher.ANY, MethodMatcher.ANY)));
+
+        assertThat(matcher.match("module.derive(str,int)", translation, CONTEXT)).isTrue();
+        // the method matcher still compares the parameters
+        assertThat(matcher.match("module.derive(str)", translation, CONTEXT)).isFalse();
+        verify(translation, times(2)).getMethodParameterTypes(any(), anyString());
+    }
+
+    @Test
+    void subsetParameterMatchingSkipsTheArityCheck() {
+        // e.g. Go, whose composite literals only set some of the fields
+        when(translation.supportsSubsetParameterMatching()).thenReturn(true);
+        final HookMethodMatcher<String> matcher =
+                matcher(new MethodMatcher<>("Config", "<init>", List.of("Cipher", "Rand")));
+
+        assertThat(matcher.match("Config.<init>(Cipher)", translation, CONTEXT)).isTrue();
+        verify(translation, never()).getMethodArgumentCount(anyString());
+    }
+
+    @Test
+    void matchersOfAnyNameMatchCallsOfEveryName() {
+        final HookMethodMatcher<String> matcher =
+                matcher(new MethodMatcher<>("Digest", MethodMatcher.ANY, List.of("int")));
+
+        assertThat(matcher.methodName()).isNull();
+        assertThat(matcher.match("Digest.update(int)", translation, CONTEXT)).isTrue();
+        assertThat(matcher.match("Digest.digest(int)", translation, CONTEXT)).isTrue();
+        assertThat(matcher.match("Digest.digest()", translation, CONTEXT)).isFalse();
+    }
+
+    @Test
+    void matchersOfSeveralNamesMatchCallsOfEachName() {
+        final HookMethodMatcher<String> matcher =
+                matcher(
+                        new MethodMatcher<>(
+                                new String[] {"Digest"},
+                                new String[] {"update", "digest"},
+                                List.of("int")));
+
+        assertThat(matcher.methodName()).isNull();
+        assertThat(matcher.match("Digest.update(int)", translation, CONTEXT)).isTrue();
+        assertThat(matcher.match("Digest.digest(int)", translation, CONTEXT)).isTrue();
+        assertThat(matcher.match("Digest.reset(int)", translation, CONTEXT)).isFalse();
+    }
+
+    @Test
+    void definitionsWithoutMatcherMatchNothing() {
+        final HookMethodMatcher<String> matcher = matcher(null);
+
+        assertThat(matcher.methodName()).isNull();
+        assertThat(matcher.match("Digest.update(int)", translation, CONTEXT)).isFalse();
+        verify(translation, never()).getMethodArgumentCount(anyString());
+    }
+
+    @Nonnull
+    private HookMethodMatcher<String> matcher(MethodMatcher<String> methodMatcher) {
+        when(languageSupport.createMethodMatcherBasedOn(DEFINITION)).thenReturn(methodMatcher);
+        return new HookMethodMatcher<>(DEFINITION, languageSupport);
+    }
+
+    @Nonnull
+    private static IType type(@Nonnull String name) {
+        return name::equals;
+    }
+
+    @Nonnull
+    private static String typeOf(@Nonnull String invocation) {
+        return invocation.substring(0, invocation.indexOf('.'));
+    }
+
+    @Nonnull
+    private static String nameOf(@Nonnull String invocation) {
+        return invocation.substring(invocation.indexOf('.') + 1, invocation.indexOf('('));
+    }
+
+    @Nonnull
+    private static List<String> parametersOf(@Nonnull String invocation) {
+        final String parameters =
+                invocation.substring(invocation.indexOf('(') + 1, invocation.indexOf(')'));
+        return parameters.isEmpty() ? List.of() : Arrays.asList(parameters.split(","));
+    }
+}
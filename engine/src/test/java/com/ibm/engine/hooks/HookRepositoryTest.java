@@ -0,0 +1,202 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.hooks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ibm.engine.detection.EnumMatcher;
+import com.ibm.engine.detection.Handler;
+import com.ibm.engine.detection.IType;
+import com.ibm.engine.detection.MatchContext;
+import com.ibm.engine.detection.MethodMatcher;
+import com.ibm.engine.language.ILanguageSupport;
+import com.ibm.engine.language.ILanguageTranslation;
+import com.ibm.engine.language.IScanContext;
+import com.ibm.engine.rule.Parameter;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/*
+ * Calls are recorded by the call stack agent and hooks by the hook repository, both indexed by the
+ * name of the invoked method, so that a hook is only checked against the calls of its method.
+ */
+class HookRepositoryTest {
+    private static final MatchContext CONTEXT = MatchContext.createForHookContext();
+    private static final Parameter<String> PARAMETER = new Parameter<>("int", 0, false, List.of());
+    private static final String UPDATE = "def update";
+
+    @SuppressWarnings("unchecked")
+    private final ILanguageSupport<Object, String, Object, Object> languageSupport =
+            mock(ILanguageSupport.class);
+
+    @SuppressWarnings("unchecked")
+    private final ILanguageTranslation<String> translation = mock(ILanguageTranslation.class);
+
+    @SuppressWarnings("unchecked")
+    private final IScanContext<Object, String> scanContext = mock(IScanContext.class);
+
+    @SuppressWarnings("unchecked")
+    private final IHookDetectionObserver<Object, String, Object, Object> observer =
+            mock(IHookDetectionObserver.class);
+
+    private Handler<Object, String, Object, Object> handler;
+
+    @BeforeEach
+    void resolveInvocations() {
+        when(languageSupport.translation()).thenReturn(translation);
+        when(languageSupport.createMethodMatcherBasedOn(UPDATE))
+                .thenReturn(new MethodMatcher<>("Digest", "update", List.of("int")));
+        when(languageSupport.createSimpleEnumMatcherFor(anyString(), any()))
+                .thenAnswer(call -> new EnumMatcher<>(call.<String>getArgument(0)));
+        when(observer.isRootHook()).thenReturn(true);
+
+        // a call is written as "Type.name(ParameterType,...)", an enum usage as "Enum.CONSTANT"
+        when(translation.getInvokedObjectTypeString(any(), anyString()))
+                .thenAnswer(call -> Optional.of(type(typeOf(call.getArgument(1)))));
+        when(translation.getMethodName(any(), anyString()))
+                .thenAnswer(
+                        call ->
+                                isCall(call.getArgument(1))
+                                        ? Optional.of(nameOf(call.getArgument(1)))
+                                        : Optional.empty());
+        when(translation.getEnumClassName(any(), anyString()))
+                .thenAnswer(
+                        call ->
+                                isCall(call.getArgument(1))
+                                        ? Optional.empty()
+                                        : Optional.of(typeOf(call.getArgument(1))));
+        when(translation.getMethodParameterTypes(any(), anyString()))
+                .thenAnswer(
+                        call ->
+                                parametersOf(call.getArgument(1)).stream()
+                                        .map(HookRepositoryTest::type)
+                                        .toList());
+        when(translation.getMethodArgumentCount(anyString()))
+                .thenAnswer(call -> parametersOf(call.getArgument(0)).size());
+
+        handler = new Handler<>(languageSupport);
+    }
+
+    @Test
+    void callRecordedBeforeTheHookIsFoundThroughTheIndex() {
+        final String call = "Digest.update(int)";
+        final String otherCall = "Digest.digest(int)";
+        handler.addCallToCallStack(call, scanContext);
+        handler.addCallToCallStack(otherCall, scanContext);
+
+        final IHook<Object, String, Object, Object> hook = methodHook(UPDATE);
+        register(hook);
+
+        verify(observer).onHookInvocation(call, hook, scanContext);
+        // the calls of other methods are not checked against the hook
+        verify(translation, never()).getMethodArgumentCount(otherCall);
+    }
+
+    @Test
+    void hookRegisteredBeforeTheCallIsFoundThroughTheIndex() {
+        final IHook<Object, String, Object, Object> hook = methodHook(UPDATE);
+        register(hook);
+        assertThat(handler.getNumberOfHooks()).isOne();
+
+        final String otherCall = "Digest.digest(int)";
+        handler.addCallToCallStack(otherCall, scanContext);
+        verify(observer, never()).onHookInvocation(any(), any(), any());
+        verify(translation, never()).getMethodArgumentCount(otherCall);
+
+        final String call = "Digest.update(int)";
+        handler.addCallToCallStack(call, scanContext);
+        verify(observer).onHookInvocation(call, hook, scanContext);
+    }
+
+    @Test
+    void deletedHooksAreRemovedFromTheIndex() {
+        final IHook<Object, String, Object, Object> hook = methodHook(UPDATE);
+        register(hook);
+        assertThat(handler.deleteHookToHookRepository(hook)).isTrue();
+
+        handler.addCallToCallStack("Digest.update(int)", scanContext);
+        verify(observer, never()).onHookInvocation(any(), any(), any());
+    }
+
+    @Test
+    void enumHooksAreCheckedAgainstEveryCall() {
+        // enum hooks have no method name and are kept outside of the index
+        final IHook<Object, String, Object, Object> hook =
+                new EnumHook<>("Mode", new LinkedList<>(), PARAMETER, CONTEXT);
+        register(hook);
+
+        handler.addCallToCallStack("Digest.update(int)", scanContext);
+        verify(observer, never()).onHookInvocation(any(), any(), any());
+
+        final String usage = "Mode.GCM";
+        handler.addCallToCallStack(usage, scanContext);
+        verify(observer).onHookInvocation(usage, hook, scanContext);
+    }
+
+    @Nonnull
+    private IHook<Object, String, Object, Object> methodHook(@Nonnull String definition) {
+        return new MethodInvocationHookWithParameterResolvement<>(
+                definition, "value", PARAMETER, CONTEXT, languageSupport);
+    }
+
+    private void register(@Nonnull IHook<Object, String, Object, Object> hook) {
+        assertThat(handler.addHookToHookRepository(hook)).isTrue();
+        handler.subscribeToHookDetectionObservable(hook, observer);
+    }
+
+    @Nonnull
+    private static IType type(@Nonnull String name) {
+        return name::equals;
+    }
+
+    private static boolean isCall(@Nonnull String tree) {
+        return tree.contains("(");
+    }
+
+    @Nonnull
+    private static String typeOf(@Nonnull String tree) {
+        return tree.substring(0, tree.indexOf('.'));
+    }
+
+    @Nonnull
+    private static String nameOf(@Nonnull String call) {
+        return call.substring(call.indexOf('.') + 1, call.indexOf('('));
+    }
+
+    @Nonnull
+    private static List<String> parametersOf(@Nonnull String call) {
+        if (!isCall(call)) {
+            return List.of();
+        }
+        final String parameters = call.substring(call.indexOf('(') + 1, call.indexOf(')'));
+        return parameters.isEmpty() ? List.of() : Arrays.asList(parameters.split(","));
+    }
+}
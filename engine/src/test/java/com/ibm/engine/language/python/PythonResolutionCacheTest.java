@@ -0,0 +1,191 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.language.python;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.ibm.engine.detection.MatchContext;
+import com.ibm.engine.detection.ResolvedValue;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.sonar.plugins.python.api.tree.Tree;
+
+class PythonResolutionCacheTest {
+
+    @AfterEach
+    void release() {
+        PythonResolutionCache.release();
+    }
+
+    @Nonnull
+    private static PythonResolutionCache.Key key(@Nonnull Tree tree) {
+        return key(tree, null);
+    }
+
+    @Nonnull
+    private static PythonResolutionCache.Key key(
+            @Nonnull Tree tree, @Nullable MatchContext matchContext) {
+        return new PythonResolutionCache.Key(
+                Object.class, tree, List.of(), null, false, false, matchContext);
+    }
+
+    @Nonnull
+    private static Supplier<List<ResolvedValue<Object, Tree>>> counting(
+            @Nonnull AtomicInteger calls, @Nonnull Tree tree) {
+        return () -> {
+            calls.incrementAndGet();
+            return List.of(new ResolvedValue<>("value", tree));
+        };
+    }
+
+    @Test
+    void returnsStoredResolution() {
+        final PythonResolutionCache cache = new PythonResolutionCache(4, 4);
+        final Tree tree = mock(Tree.class);
+        final AtomicInteger calls = new AtomicInteger();
+
+        cache.resolveValues(key(tree), counting(calls, tree));
+        final List<ResolvedValue<Object, Tree>> cached =
+                cache.resolveValues(key(tree), counting(calls, tree));
+
+        assertThat(calls).hasValue(1);
+        assertThat(cached).extracting(ResolvedValue::value).containsExactly("value");
+    }
+
+    @Test
+    void keepsResolutionsPerMatchContext() {
+        final PythonResolutionCache cache = new PythonResolutionCache(4, 4);
+        final Tree tree = mock(Tree.class);
+        final AtomicInteger calls = new AtomicInteger();
+
+        cache.resolveValues(key(tree, null), counting(calls, tree));
+        cache.resolveValues(key(tree, new MatchContext(false, false)), counting(calls, tree));
+        cache.resolveValues(key(tree, new MatchContext(false, true)), counting(calls, tree));
+        assertThat(calls).hasValue(3);
+
+        // equal contexts, as built by two rules with the same parameters, share the resolution
+        cache.resolveValues(key(tree, new MatchContext(false, true)), counting(calls, tree));
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedResolution() {
+        final PythonResolutionCache cache = new PythonResolutionCache(2, 2);
+        final Tree first = mock(Tree.class);
+        final Tree second = mock(Tree.class);
+        final Tree third = mock(Tree.class);
+        final AtomicInteger calls = new AtomicInteger();
+
+        cache.resolveValues(key(first), counting(calls, first));
+        cache.resolveValues(key(second), counting(calls, second));
+        // the first resolution becomes the most recently used one
+        cache.resolveValues(key(first), counting(calls, first));
+        cache.resolveValues(key(third), counting(calls, third));
+        assertThat(calls).hasValue(3);
+
+        cache.resolveValues(key(first), counting(calls, first));
+        assertThat(calls).hasValue(3);
+        cache.resolveValues(key(second), counting(calls, second));
+        assertThat(calls).hasValue(4);
+    }
+
+    @Test
+    void doesNotStoreResolutionsDependingOnACycleCut() {
+        final PythonResolutionCache cache = new PythonResolutionCache(4, 4);
+        final Tree outer = mock(Tree.class);
+        final Tree inner = mock(Tree.class);
+        final AtomicInteger outerCalls = new AtomicInteger();
+        final AtomicInteger innerCalls = new AtomicInteger();
+        final Supplier<List<ResolvedValue<Object, Tree>>> innerResolver =
+                () -> {
+                    innerCalls.incrementAndGet();
+                    // re-entrant resolution of the key being computed: cut
+                    assertThat(
+                                    cache.resolveValues(
+                                            key(inner), List::<ResolvedValue<Object, Tree>>of))
+                            .isEmpty();
+                    return List.of(new ResolvedValue<>("inner", inner));
+                };
+        final Supplier<List<ResolvedValue<Object, Tree>>> outerResolver =
+                () -> {
+                    outerCalls.incrementAndGet();
+                    return cache.resolveValues(key(inner), innerResolver);
+                };
+
+        assertThat(cache.resolveValues(key(outer), outerResolver))
+                .extracting(ResolvedValue::value)
+                .containsExactly("inner");
+        cache.resolveValues(key(outer), outerResolver);
+
+        // neither the cut resolution nor the one depending on it was stored
+        assertThat(innerCalls).hasValue(2);
+        assertThat(outerCalls).hasValue(2);
+    }
+
+    @Test
+    void storesResolutionsAfterACycleCutOfAnotherKey() {
+        final PythonResolutionCache cache = new PythonResolutionCache(4, 4);
+        final Tree cyclic = mock(Tree.class);
+        final Tree plain = mock(Tree.class);
+        final AtomicInteger calls = new AtomicInteger();
+
+        cache.resolveValues(
+                key(cyclic),
+                () -> cache.resolveValues(key(cyclic), List::<ResolvedValue<Object, Tree>>of));
+        cache.resolveValues(key(plain), counting(calls, plain));
+        cache.resolveValues(key(plain), counting(calls, plain));
+
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void isScopedToTheFileOfTheTree() {
+        final Tree fileInput = mock(Tree.class);
+        final Tree call = mock(Tree.class);
+        when(call.parent()).thenReturn(fileInput);
+        final Tree otherFileInput = mock(Tree.class);
+        final AtomicInteger calls = new AtomicInteger();
+
+        PythonResolutionCache.forTree(call).resolveValues(key(call), counting(calls, call));
+        PythonResolutionCache.forTree(call).resolveValues(key(call), counting(calls, call));
+        assertThat(calls).hasValue(1);
+
+        PythonResolutionCache.forTree(otherFileInput);
+        PythonResolutionCache.forTree(call).resolveValues(key(call), counting(calls, call));
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void releaseDropsTheCacheOfTheThread() {
+        final Tree fileInput = mock(Tree.class);
+        final PythonResolutionCache cache = PythonResolutionCache.forTree(fileInput);
+
+        PythonResolutionCache.release();
+
+        assertThat(PythonResolutionCache.forTree(fileInput)).isNotSameAs(cache);
+    }
+}
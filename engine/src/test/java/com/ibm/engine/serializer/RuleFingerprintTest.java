@@ -0,0 +1,151 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.engine.serializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.engine.model.Size;
+import com.ibm.engine.model.context.AlgorithmParameterContext;
+import com.ibm.engine.model.context.CipherContext;
+import com.ibm.engine.model.context.IDetectionContext;
+import com.ibm.engine.model.factory.AlgorithmFactory;
+import com.ibm.engine.model.factory.IValueFactory;
+import com.ibm.engine.model.factory.KeySizeFactory;
+import com.ibm.engine.model.factory.ValueActionFactory;
+import com.ibm.engine.rule.DetectionRule;
+import com.ibm.engine.rule.DetectionRuleGraph;
+import com.ibm.engine.rule.IDetectionRule;
+import com.ibm.engine.rule.builder.DetectionRuleBuilder;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.Test;
+
+class RuleFingerprintTest {
+
+    @Nonnull
+    private static IDetectionRule<Object> spec(@Nonnull IValueFactory<Object> valueFactory) {
+        return new DetectionRuleBuilder<Object>()
+                .createDetectionRule()
+                .forObjectTypes("javax.crypto.spec.GCMParameterSpec")
+                .forConstructor()
+                .withMethodParameter("int")
+                .shouldBeDetectedAs(valueFactory)
+                .buildForContext(new AlgorithmParameterContext())
+                .inBundle(() -> "Jca")
+                .withoutDependingDetectionRules();
+    }
+
+    @Nonnull
+    private static IDetectionRule<Object> cipher(
+            @Nonnull IDetectionContext context, @Nonnull IDetectionRule<Object> spec) {
+        final IDetectionRule<Object> init =
+                new DetectionRuleBuilder<Object>()
+                        .createDetectionRule()
+                        .forObjectTypes("javax.crypto.Cipher")
+                        .forMethods("init")
+                        .shouldBeDetectedAs(new ValueActionFactory<>("ENCRYPT"))
+                        .withMethodParameter("int")
+                        .withMethodParameter("java.security.Key")
+                        .withMethodParameter("java.security.spec.AlgorithmParameterSpec")
+                        .addDependingDetectionRules(List.of(spec))
+                        .buildForContext(new CipherContext())
+                        .inBundle(() -> "Jca")
+                        .withoutDependingDetectionRules();
+        return new DetectionRuleBuilder<Object>()
+                .createDetectionRule()
+                .forObjectTypes("javax.crypto.Cipher")
+                .forMethods("getInstance")
+                .withMethodParameter("java.lang.String")
+                .shouldBeDetectedAs(new AlgorithmFactory<>())
+                .buildForContext(context)
+                .inBundle(() -> "Jca")
+                .withDependingDetectionRules(List.of(init));
+    }
+
+    @Nonnull
+    private static IDetectionRule<Object> rule(
+            @Nonnull IDetectionContext context, @Nonnull IValueFactory<Object> specFactory) {
+        return cipher(context, spec(specFactory));
+    }
+
+    @Nonnull
+    private static String fingerprint(
+            @Nonnull IDetectionContext context, @Nonnull IValueFactory<Object> specFactory) {
+        return RuleFingerprint.of(DetectionRuleGraph.of(List.of(rule(context, specFactory))));
+    }
+
+    @Test
+    void describesContextsAndFactories() {
+        final IDetectionRule<Object> rule =
+                rule(new CipherContext(Map.of("mode", "GCM")), new KeySizeFactory<>());
+        final IDetectionRule<Object> init = rule.nextDetectionRules().get(0);
+        final IDetectionRule<Object> spec =
+                ((DetectionRule<Object>) init).parameters().get(2).getDetectionRules().get(0);
+
+        assertThat(RuleFingerprint.behaviourOf(rule))
+                .isEqualTo(
+                        "context=com.ibm.engine.model.context.CipherContext{properties={mode=GCM}}"
+                                + ";action=null"
+                                + ";value0=com.ibm.engine.model.factory.AlgorithmFactory{constant=null}");
+        assertThat(RuleFingerprint.behaviourOf(init))
+                .startsWith("context=com.ibm.engine.model.context.CipherContext{properties={}}")
+                .contains(";action=com.ibm.engine.model.factory.ValueActionFactory{value=ENCRYPT}");
+        assertThat(RuleFingerprint.behaviourOf(spec))
+                .endsWith(
+                        ";value0=com.ibm.engine.model.factory.KeySizeFactory{interpretAsUnitType=BYTE}");
+    }
+
+    @Test
+    void fingerprintChangesWithContextsAndFactories() {
+        final String fingerprint = fingerprint(new CipherContext(), new KeySizeFactory<>());
+
+        assertThat(fingerprint(new CipherContext(), new KeySizeFactory<>())).isEqualTo(fingerprint);
+        assertThat(fingerprint(new CipherContext(Map.of("mode", "GCM")), new KeySizeFactory<>()))
+                .isNotEqualTo(fingerprint);
+        assertThat(fingerprint(new CipherContext(), new KeySizeFactory<>(Size.UnitType.BIT)))
+                .isNotEqualTo(fingerprint);
+        assertThat(fingerprint(new CipherContext(), new AlgorithmFactory<>()))
+                .isNotEqualTo(fingerprint);
+    }
+
+    @Test
+    void fingerprintCoversTheCodeOfLambdas() throws IOException, NoSuchAlgorithmException {
+        final IValueFactory<Object> lambda = resolvedValue -> Optional.empty();
+        final byte[] classFile;
+        try (InputStream in =
+                RuleFingerprintTest.class.getResourceAsStream("RuleFingerprintTest.class")) {
+            assertThat(in).isNotNull();
+            classFile = in.readAllBytes();
+        }
+
+        // a lambda is covered by the class file of the class declaring it
+        assertThat(RuleFingerprint.codeDigestOf(lambda))
+                .isEqualTo(MessageDigest.getInstance("SHA-256").digest(classFile));
+        assertThat(fingerprint(new CipherContext(), lambda))
+                .isEqualTo(fingerprint(new CipherContext(), lambda))
+                .isNotEqualTo(fingerprint(new CipherContext(), new KeySizeFactory<>()));
+    }
+}
@@ -24,8 +24,7 @@ import com.ibm.engine.language.LanguageSupporter;
 import com.ibm.engine.language.go.GoScanContext;
 import com.ibm.mapper.model.INode;
 import com.ibm.output.IAggregator;
-import java.util.ArrayList;
-import java.util.Collections;
+import com.ibm.output.NodeBuffer;
 import java.util.List;
 import javax.annotation.Nonnull;
 import org.sonar.go.symbols.Symbol;
@@ -36,7 +35,7 @@ public final class GoAggregator implements IAggregator {
 
     private static ILanguageSupport<GoCheck, Tree, Symbol, GoScanContext> goLanguageSupport =
             LanguageSupporter.goLanguageSupporter();
-    private static List<INode> detectedNodes = new ArrayList<>();
+    private static NodeBuffer detectedNodes = new NodeBuffer();
 
     private GoAggregator() {
         // nothing
@@ -49,7 +48,13 @@ public final class GoAggregator implements IAggregator {
 
     @Nonnull
     public static List<INode> getDetectedNodes() {
-        return Collections.unmodifiableList(detectedNodes);
+        return detectedNodes.nodes();
+    }
+
+    /** Buffer of the detected nodes, with the number of nodes of each kind. */
+    @Nonnull
+    public static NodeBuffer getNodeBuffer() {
+        return detectedNodes;
     }
 
     public static void addNodes(@Nonnull List<INode> newNodes) {
@@ -59,6 +64,6 @@ public final class GoAggregator implements IAggregator {
 
     public static void reset() {
         goLanguageSupport = LanguageSupporter.goLanguageSupporter();
-        detectedNodes = new ArrayList<>();
+        detectedNodes = new NodeBuffer();
     }
 }
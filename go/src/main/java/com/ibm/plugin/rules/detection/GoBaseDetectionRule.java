@@ -21,22 +21,32 @@ package com.ibm.plugin.rules.detection;
 
 import com.ibm.common.IObserver;
 import com.ibm.engine.detection.Finding;
+import com.ibm.engine.detection.Handler;
 import com.ibm.engine.executive.DetectionExecutive;
 import com.ibm.engine.language.go.GoScanContext;
 import com.ibm.engine.rule.IDetectionRule;
 import com.ibm.mapper.model.INode;
 import com.ibm.mapper.reorganizer.IReorganizerRule;
+import com.ibm.output.cache.CachedIssue;
+import com.ibm.output.cache.FileFindings;
 import com.ibm.plugin.GoAggregator;
 import com.ibm.plugin.translation.GoTranslationProcess;
 import com.ibm.plugin.translation.reorganizer.GoReorganizerRules;
 import com.ibm.rules.IReportableDetectionRule;
 import com.ibm.rules.issue.Issue;
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.sonar.api.batch.fs.InputFile;
 import org.sonar.go.symbols.Symbol;
+import org.sonar.plugins.go.api.AssignmentExpressionTree;
 import org.sonar.plugins.go.api.BlockTree;
+import org.sonar.plugins.go.api.FunctionInvocationTree;
 import org.sonar.plugins.go.api.Tree;
+import org.sonar.plugins.go.api.VariableDeclarationTree;
 import org.sonar.plugins.go.api.checks.CheckContext;
 import org.sonar.plugins.go.api.checks.GoCheck;
 import org.sonar.plugins.go.api.checks.InitContext;
@@ -53,6 +63,8 @@ public abstract class GoBaseDetectionRule
     private final boolean isInventory;
     @Nonnull protected final GoTranslationProcess goTranslationProcess;
     @Nonnull protected final List<IDetectionRule<Tree>> detectionRules;
+    @Nullable private InputFile currentFile;
+    @Nullable private FileFindings fileFindings;
 
     protected GoBaseDetectionRule() {
         this.isInventory = false;
@@ -73,10 +85,31 @@ public abstract class GoBaseDetectionRule
     public void initialize(@Nonnull InitContext init) {
         // Register handler for function invocations
         init.register(BlockTree.class, this::analyzeFunction);
+        init.registerOnLeave(this::leaveFile);
     }
 
     private void analyzeFunction(@Nonnull CheckContext ctx, @Nonnull Tree tree) {
+        if (isInventory && ctx.inputFile() != currentFile) {
+            currentFile = ctx.inputFile();
+            fileFindings =
+                    FileFindings.begin(
+                            "go",
+                            detectionRules,
+                            ctx.inputFile().uri().getPath(),
+                            ctx.fileContent(),
+                            GoAggregator.getLanguageSupport().getHandler());
+            if (fileFindings != null && fileFindings.isHit()) {
+                GoAggregator.addNodes(fileFindings.getCachedNodes());
+            }
+        }
         GoScanContext scanContext = new GoScanContext(ctx);
+        if (fileFindings != null && fileFindings.isHit()) {
+            if (tree instanceof BlockTree blockTree) {
+                recordCalls(blockTree, scanContext);
+            }
+            reportCachedIssues(fileFindings, tree, scanContext);
+            return;
+        }
         detectionRules.forEach(
                 rule -> {
                     DetectionExecutive<GoCheck, Tree, Symbol, GoScanContext> detectionExecutive =
@@ -87,6 +120,70 @@ public abstract class GoBaseDetectionRule
                 });
     }
 
+    /**
+     * Records the function invocations of a block on the call stack, as the detection engine does
+     * when it runs on the block, so that the hooks of other files can resolve the calls of a file
+     * whose findings are cached.
+     */
+    private static void recordCalls(
+            @Nonnull BlockTree blockTree, @Nonnull GoScanContext scanContext) {
+        final Handler<GoCheck, Tree, Symbol, GoScanContext> handler =
+                GoAggregator.getLanguageSupport().getHandler();
+        for (Tree item : blockTree.statementOrExpressions()) {
+            if (item instanceof VariableDeclarationTree variableDeclarationTree) {
+                for (Tree initializer : variableDeclarationTree.initializers()) {
+                    if (initializer instanceof FunctionInvocationTree functionInvocation) {
+                        handler.addCallToCallStack(functionInvocation, scanContext);
+                    }
+                }
+            } else if (item instanceof AssignmentExpressionTree assignmentExpressionTree
+                    && assignmentExpressionTree.statementOrExpression()
+                            instanceof FunctionInvocationTree functionInvocation) {
+                handler.addCallToCallStack(functionInvocation, scanContext);
+            }
+        }
+    }
+
+    /**
+     * Reports the cached issues of the file found in the tree again, on the trees with their range.
+     * An issue is only reported once, even though the blocks of a file are nested.
+     */
+    private void reportCachedIssues(
+            @Nonnull FileFindings cachedFindings,
+            @Nonnull Tree root,
+            @Nonnull GoScanContext scanContext) {
+        final Deque<Tree> trees = new ArrayDeque<>();
+        trees.push(root);
+        while (!trees.isEmpty() && cachedFindings.hasCachedIssues()) {
+            final Tree tree = trees.pop();
+            for (String message : cachedFindings.takeCachedIssues(rangeOf(tree))) {
+                scanContext.reportIssue(this, tree, message);
+            }
+            for (Tree child : tree.children()) {
+                if (child != null) {
+                    trees.push(child);
+                }
+            }
+        }
+    }
+
+    @Nonnull
+    private static CachedIssue.Range rangeOf(@Nonnull Tree tree) {
+        return new CachedIssue.Range(
+                tree.metaData().textRange().start().line(),
+                tree.metaData().textRange().start().lineOffset(),
+                tree.metaData().textRange().end().line(),
+                tree.metaData().textRange().end().lineOffset());
+    }
+
+    private void leaveFile(@Nonnull CheckContext ctx, @Nonnull Tree tree) {
+        if (fileFindings != null) {
+            fileFindings.end();
+        }
+        currentFile = null;
+        fileFindings = null;
+    }
+
     /**
      * Updates the output file with the translated nodes resulting from a finding.
      *
@@ -97,14 +194,21 @@ public abstract class GoBaseDetectionRule
         List<INode> nodes = goTranslationProcess.initiate(finding.detectionStore());
         if (isInventory) {
             GoAggregator.addNodes(nodes);
+            if (fileFindings != null) {
+                fileFindings.add(nodes);
+            }
         }
         // report
         this.report(finding.getMarkerTree(), nodes)
                 .forEach(
-                        issue ->
-                                finding.detectionStore()
-                                        .getScanContext()
-                                        .reportIssue(this, issue.tree(), issue.message()));
+                        issue -> {
+                            finding.detectionStore()
+                                    .getScanContext()
+                                    .reportIssue(this, issue.tree(), issue.message());
+                            if (fileFindings != null) {
+                                fileFindings.addIssue(rangeOf(issue.tree()), issue.message());
+                            }
+                        });
     }
 
     @Override
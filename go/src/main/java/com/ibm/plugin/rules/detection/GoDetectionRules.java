@@ -19,6 +19,7 @@
  */
 package com.ibm.plugin.rules.detection;
 
+import com.ibm.engine.rule.DetectionRuleGraph;
 import com.ibm.engine.rule.IDetectionRule;
 import com.ibm.plugin.rules.detection.gocrypto.GoCryptoAES;
 import com.ibm.plugin.rules.detection.gocrypto.GoCryptoDES;
@@ -52,6 +53,20 @@ public final class GoDetectionRules {
 
     @Nonnull
     public static List<IDetectionRule<Tree>> rules() {
+        return graph().entryRules();
+    }
+
+    @Nonnull
+    public static DetectionRuleGraph<Tree> graph() {
+        return Holder.GRAPH;
+    }
+
+    private static final class Holder {
+        private static final DetectionRuleGraph<Tree> GRAPH = DetectionRuleGraph.of(build());
+    }
+
+    @Nonnull
+    private static List<IDetectionRule<Tree>> build() {
         return Stream.of(
                         GoCryptoAES.rules().stream(),
                         GoCryptoDES.rules().stream(),
@@ -26,7 +26,6 @@ import com.ibm.mapper.ITranslationProcess;
 import com.ibm.mapper.model.INode;
 import com.ibm.mapper.reorganizer.IReorganizerRule;
 import com.ibm.mapper.reorganizer.Reorganizer;
-import com.ibm.mapper.utils.Utils;
 import com.ibm.plugin.translation.translator.GoTranslator;
 import java.util.Collections;
 import java.util.List;
@@ -49,16 +48,16 @@ public final class GoTranslationProcess
         // 1. Translate
         final GoTranslator goTranslator = new GoTranslator();
         final List<INode> translatedValues = goTranslator.translate(rootDetectionStore);
-        Utils.printNodeTree(" translated ", translatedValues);
+        trace(" translated ", translatedValues);
 
         // 2. Reorganize
         final Reorganizer goReorganizer = new Reorganizer(reorganizerRules);
         final List<INode> reorganizedValues = goReorganizer.reorganize(translatedValues);
-        Utils.printNodeTree("reorganised ", reorganizedValues);
+        trace("reorganised ", reorganizedValues);
 
         // 3. Enrich
         final List<INode> enrichedValues = Enricher.enrich(reorganizedValues).stream().toList();
-        Utils.printNodeTree("  enriched  ", enrichedValues);
+        trace("  enriched  ", enrichedValues);
 
         return Collections.unmodifiableCollection(enrichedValues).stream().toList();
     }
@@ -54,29 +54,33 @@ public final class GoReorganizerRules {
                             UsualPerformActions.performMergeParentAndChildOfSameKind(
                                     PublicKeyEncryption.class));
 
+    @Nonnull
+    private static final List<IReorganizerRule> RULES =
+            Stream.of(
+                            SignatureReorganizer.moveFunctionalityUnderChildNode(
+                                    Sign.class, Signature.class),
+                            SignatureReorganizer.moveFunctionalityUnderChildNode(
+                                    Verify.class, Signature.class),
+                            SignatureReorganizer.moveNodesFromUnderFunctionalityUnderNode(
+                                    Sign.class, PublicKeyEncryption.class),
+                            SignatureReorganizer.moveNodesFromUnderFunctionalityUnderNode(
+                                    Sign.class, Signature.class),
+                            SignatureReorganizer.moveNodesFromUnderFunctionalityUnderNode(
+                                    Verify.class, Signature.class),
+                            SignatureReorganizer.MERGE_SIGNATURE_PARENT_AND_CHILD,
+                            SignatureReorganizer.MERGE_SIGNATURE_WITH_PKE_UNDER_PRIVATE_KEY,
+                            SignatureReorganizer.MOVE_PSS_FROM_UNDER_SIGN_FUNCTION_TO_UNDER_KEY,
+                            SignatureReorganizer.MAKE_RSA_TO_SIGNATURE,
+                            MERGE_PKE_PARENT_AND_CHILD,
+                            KeyDerivationReorganizer.moveModeFromParentToNode(BlockCipher.class),
+                            KeyDerivationReorganizer.moveModeFromParentToNode(MessageDigest.class),
+                            KeyAgreementReorganizer.MERGE_KEYAGREEMENT_WITH_PKE_UNDER_PRIVATE_KEY,
+                            CipherSuiteReorganizer.REPLACE_TLS_WITH_VERSIONED_CHILD,
+                            PaddingReorganizer.MOVE_OAEP_UNDER_ALGORITHM)
+                    .toList();
+
     @Nonnull
     public static List<IReorganizerRule> rules() {
-        return Stream.of(
-                        SignatureReorganizer.moveFunctionalityUnderChildNode(
-                                Sign.class, Signature.class),
-                        SignatureReorganizer.moveFunctionalityUnderChildNode(
-                                Verify.class, Signature.class),
-                        SignatureReorganizer.moveNodesFromUnderFunctionalityUnderNode(
-                                Sign.class, PublicKeyEncryption.class),
-                        SignatureReorganizer.moveNodesFromUnderFunctionalityUnderNode(
-                                Sign.class, Signature.class),
-                        SignatureReorganizer.moveNodesFromUnderFunctionalityUnderNode(
-                                Verify.class, Signature.class),
-                        SignatureReorganizer.MERGE_SIGNATURE_PARENT_AND_CHILD,
-                        SignatureReorganizer.MERGE_SIGNATURE_WITH_PKE_UNDER_PRIVATE_KEY,
-                        SignatureReorganizer.MOVE_PSS_FROM_UNDER_SIGN_FUNCTION_TO_UNDER_KEY,
-                        SignatureReorganizer.MAKE_RSA_TO_SIGNATURE,
-                        MERGE_PKE_PARENT_AND_CHILD,
-                        KeyDerivationReorganizer.moveModeFromParentToNode(BlockCipher.class),
-                        KeyDerivationReorganizer.moveModeFromParentToNode(MessageDigest.class),
-                        KeyAgreementReorganizer.MERGE_KEYAGREEMENT_WITH_PKE_UNDER_PRIVATE_KEY,
-                        CipherSuiteReorganizer.REPLACE_TLS_WITH_VERSIONED_CHILD,
-                        PaddingReorganizer.MOVE_OAEP_UNDER_ALGORITHM)
-                .toList();
+        return RULES;
     }
 }
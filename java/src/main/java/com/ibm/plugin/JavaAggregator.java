@@ -23,8 +23,7 @@ import com.ibm.engine.language.ILanguageSupport;
 import com.ibm.engine.language.LanguageSupporter;
 import com.ibm.mapper.model.INode;
 import com.ibm.output.IAggregator;
-import java.util.ArrayList;
-import java.util.Collections;
+import com.ibm.output.NodeBuffer;
 import java.util.List;
 import javax.annotation.Nonnull;
 import org.sonar.plugins.java.api.JavaCheck;
@@ -36,12 +35,18 @@ public final class JavaAggregator implements IAggregator {
 
     private static ILanguageSupport<JavaCheck, Tree, Symbol, JavaFileScannerContext>
             javaLanguageSupport = LanguageSupporter.javaLanguageSupporter();
-    private static List<INode> detectedNodes = new ArrayList<>();
+    private static NodeBuffer detectedNodes = new NodeBuffer();
 
     private JavaAggregator() {
         // nothing
     }
 
+    /** Buffer of the detected nodes, with the number of nodes of each kind. */
+    @Nonnull
+    public static NodeBuffer getNodeBuffer() {
+        return detectedNodes;
+    }
+
     public static void addNodes(@Nonnull List<INode> newNodes) {
         detectedNodes.addAll(newNodes);
         IAggregator.log(newNodes);
@@ -49,7 +54,7 @@ public final class JavaAggregator implements IAggregator {
 
     @Nonnull
     public static List<INode> getDetectedNodes() {
-        return Collections.unmodifiableList(detectedNodes);
+        return detectedNodes.nodes();
     }
 
     @Nonnull
@@ -60,6 +65,6 @@ public final class JavaAggregator implements IAggregator {
 
     public static void reset() {
         javaLanguageSupport = LanguageSupporter.javaLanguageSupporter();
-        detectedNodes = new ArrayList<>();
+        detectedNodes = new NodeBuffer();
     }
 }
@@ -21,23 +21,45 @@ package com.ibm.plugin.rules.detection;
 
 import com.ibm.common.IObserver;
 import com.ibm.engine.detection.Finding;
+import com.ibm.engine.detection.MatchContext;
 import com.ibm.engine.executive.DetectionExecutive;
+import com.ibm.engine.language.ILanguageSupport;
 import com.ibm.engine.language.java.JavaScanContext;
+import com.ibm.engine.rule.DetectableParameter;
+import com.ibm.engine.rule.DetectionRule;
+import com.ibm.engine.rule.EntryRuleIndex;
 import com.ibm.engine.rule.IDetectionRule;
+import com.ibm.engine.rule.MethodDetectionRule;
+import com.ibm.engine.rule.Parameter;
+import com.ibm.engine.serializer.RuleFingerprint;
+import com.ibm.mapper.TranslationPipeline;
 import com.ibm.mapper.model.INode;
 import com.ibm.mapper.reorganizer.IReorganizerRule;
+import com.ibm.output.cache.CachedIssue;
+import com.ibm.output.cache.FileFindings;
 import com.ibm.plugin.JavaAggregator;
 import com.ibm.plugin.translation.JavaTranslationProcess;
 import com.ibm.plugin.translation.reorganizer.JavaReorganizerRules;
 import com.ibm.rules.IReportableDetectionRule;
 import com.ibm.rules.issue.Issue;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.location.Position;
 import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
+import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonar.plugins.java.api.tree.Tree;
 
 public abstract class JavaBaseDetectionRule extends IssuableSubscriptionVisitor
@@ -47,11 +69,42 @@ public abstract class JavaBaseDetectionRule extends IssuableSubscriptionVisitor
     private final boolean isInventory;
     @Nonnull protected final JavaTranslationProcess javaTranslationProcess;
     @Nonnull protected final List<IDetectionRule<Tree>> detectionRules;
+    @Nonnull private final EntryRuleIndex<Tree> entryRuleIndex;
+
+    @Nonnull
+    private final TranslationPipeline<JavaCheck, Tree, Symbol, JavaFileScannerContext>
+            translationPipeline;
+
+    @Nullable private FileFindings fileFindings;
+
+    // the key of each rule, and the identifiers of the depending rules, both by rule identity
+    @Nonnull
+    private final Map<IDetectionRule<Tree>, CallSiteDetection> callSiteDetections =
+            new IdentityHashMap<>();
+
+    @Nonnull
+    private final Map<IDetectionRule<Tree>, Integer> dependingRuleIds = new IdentityHashMap<>();
+
+    /**
+     * Rules with the same key produce the same finding at a call site: same bundle, detection
+     * context, action, detected values (see {@link RuleFingerprint#behaviourOf}) and depending
+     * rules. The description of a factory given as a lambda does not tell what it produces, so such
+     * factories are part of the key by identity: rules with different lambdas are never considered
+     * the same.
+     */
+    private record CallSiteDetection(
+            @Nonnull String bundle,
+            @Nonnull String detection,
+            @Nonnull List<Object> lambdaFactories) {}
 
     protected JavaBaseDetectionRule() {
         this.isInventory = false;
         this.detectionRules = JavaDetectionRules.rules();
+        this.entryRuleIndex = JavaDetectionRules.entryRuleIndex();
         this.javaTranslationProcess = new JavaTranslationProcess(JavaReorganizerRules.rules());
+        this.translationPipeline =
+                new TranslationPipeline<>(
+                        javaTranslationProcess::translate, javaTranslationProcess::complete);
     }
 
     protected JavaBaseDetectionRule(
@@ -60,7 +113,11 @@ public abstract class JavaBaseDetectionRule extends IssuableSubscriptionVisitor
             @Nonnull List<IReorganizerRule> reorganizerRules) {
         this.isInventory = isInventory;
         this.detectionRules = detectionRules;
+        this.entryRuleIndex = EntryRuleIndex.of(detectionRules);
         this.javaTranslationProcess = new JavaTranslationProcess(reorganizerRules);
+        this.translationPipeline =
+                new TranslationPipeline<>(
+                        javaTranslationProcess::translate, javaTranslationProcess::complete);
     }
 
     /**
@@ -73,43 +130,217 @@ public abstract class JavaBaseDetectionRule extends IssuableSubscriptionVisitor
         return List.of(Tree.Kind.METHOD_INVOCATION, Tree.Kind.NEW_CLASS, Tree.Kind.ENUM);
     }
 
+    @Override
+    public void setContext(@Nonnull JavaFileScannerContext context) {
+        super.setContext(context);
+        this.translationPipeline.clear();
+        this.fileFindings = null;
+        if (!isInventory) {
+            return;
+        }
+        try {
+            this.fileFindings =
+                    FileFindings.begin(
+                            "java",
+                            detectionRules,
+                            context.getInputFile().uri().getPath(),
+                            context.getInputFile().contents(),
+                            JavaAggregator.getLanguageSupport().getHandler());
+        } catch (IOException e) {
+            // the file is analysed without the findings cache
+        }
+        if (fileFindings != null && fileFindings.isHit()) {
+            JavaAggregator.addNodes(fileFindings.getCachedNodes());
+            reportCachedIssues(fileFindings, context);
+        }
+    }
+
+    /** Reports the cached issues of the file again, on the trees with their range. */
+    private void reportCachedIssues(
+            @Nonnull FileFindings cachedFindings, @Nonnull JavaFileScannerContext context) {
+        if (!cachedFindings.hasCachedIssues()) {
+            return;
+        }
+        final JavaScanContext scanContext = new JavaScanContext(context);
+        new BaseTreeVisitor() {
+            @Override
+            protected void scan(@Nullable Tree tree) {
+                if (tree == null || !cachedFindings.hasCachedIssues()) {
+                    return;
+                }
+                final CachedIssue.Range range = rangeOf(tree);
+                if (range != null) {
+                    for (String message : cachedFindings.takeCachedIssues(range)) {
+                        scanContext.reportIssue(JavaBaseDetectionRule.this, tree, message);
+                    }
+                }
+                super.scan(tree);
+            }
+        }.scan(context.getTree());
+    }
+
+    @Nullable
+    private static CachedIssue.Range rangeOf(@Nonnull Tree tree) {
+        final SyntaxToken firstToken = tree.firstToken();
+        final SyntaxToken lastToken = tree.lastToken();
+        if (firstToken == null || lastToken == null) {
+            return null;
+        }
+        final Position start = firstToken.range().start();
+        final Position end = lastToken.range().end();
+        return new CachedIssue.Range(start.line(), start.column(), end.line(), end.column());
+    }
+
     /**
-     * Visits a tree node and applies detection rules to it.
+     * Visits a tree node and applies the detection rules that can match it. Only the rules whose
+     * matcher accepts the invoked method name are run; a node no rule can match is only recorded on
+     * the call stack, for the hooks. Once a rule produced a finding for the node, the following
+     * rules detecting the same values with the same depending rules, in the same bundle and
+     * detection context, are skipped, as their findings would only duplicate it. In a file served
+     * from the findings cache no rule is run, but the calls are still recorded on the call stack,
+     * since hooks registered by other files can resolve them.
      *
      * @param tree The tree node to visit.
      */
     @Override
     public void visitNode(@Nonnull Tree tree) {
-        detectionRules.forEach(
-                rule -> {
-                    DetectionExecutive<JavaCheck, Tree, Symbol, JavaFileScannerContext>
-                            detectionExecutive =
-                                    JavaAggregator.getLanguageSupport()
-                                            .createDetectionExecutive(
-                                                    tree, rule, new JavaScanContext(this.context));
-                    detectionExecutive.subscribe(this);
-                    detectionExecutive.start();
-                });
+        final ILanguageSupport<JavaCheck, Tree, Symbol, JavaFileScannerContext> languageSupport =
+                JavaAggregator.getLanguageSupport();
+        final JavaScanContext scanContext = new JavaScanContext(this.context);
+        if (fileFindings != null && fileFindings.isHit()) {
+            if (!tree.is(Tree.Kind.NEW_CLASS)) {
+                languageSupport.getHandler().addCallToCallStack(tree, scanContext);
+            }
+            return;
+        }
+        translationPipeline.drainCompleted(this::onTranslation);
+        final List<IDetectionRule<Tree>> rules =
+                languageSupport
+                        .translation()
+                        .getMethodName(MatchContext.createForHookContext(), tree)
+                        .map(entryRuleIndex::rulesFor)
+                        .orElse(List.of());
+        if (rules.isEmpty()) {
+            if (!tree.is(Tree.Kind.NEW_CLASS)) {
+                languageSupport.getHandler().addCallToCallStack(tree, scanContext);
+            }
+            return;
+        }
+        final Set<CallSiteDetection> detectedAtCallSite = new HashSet<>();
+        for (IDetectionRule<Tree> rule : rules) {
+            final CallSiteDetection callSiteDetection = callSiteDetectionOf(rule);
+            if (detectedAtCallSite.contains(callSiteDetection)) {
+                // an earlier rule already produced the same finding
+                continue;
+            }
+            final IObserver<Finding<JavaCheck, Tree, Symbol, JavaFileScannerContext>> recorder =
+                    finding -> detectedAtCallSite.add(callSiteDetection);
+            DetectionExecutive<JavaCheck, Tree, Symbol, JavaFileScannerContext> detectionExecutive =
+                    languageSupport.createDetectionExecutive(tree, rule, scanContext);
+            detectionExecutive.subscribe(this);
+            detectionExecutive.subscribe(recorder);
+            detectionExecutive.start();
+            // findings emitted later by hooks do not make the call site redundant
+            detectionExecutive.unsubscribe(recorder);
+        }
+    }
+
+    @Nonnull
+    private CallSiteDetection callSiteDetectionOf(@Nonnull IDetectionRule<Tree> rule) {
+        CallSiteDetection callSiteDetection = callSiteDetections.get(rule);
+        if (callSiteDetection == null) {
+            final StringJoiner detection = new StringJoiner(";");
+            detection.add(RuleFingerprint.behaviourOf(rule));
+            final List<Object> lambdaFactories = new ArrayList<>();
+            if (rule instanceof DetectionRule<Tree> detectionRule) {
+                addIfLambda(detectionRule.actionFactory(), lambdaFactories);
+                for (Parameter<Tree> parameter : detectionRule.parameters()) {
+                    detection.add(
+                            "rules"
+                                    + parameter.getIndex()
+                                    + "="
+                                    + dependingRuleIdsOf(parameter.getDetectionRules()));
+                    if (parameter instanceof DetectableParameter<Tree> detectableParameter) {
+                        addIfLambda(detectableParameter.getiValueFactory(), lambdaFactories);
+                    }
+                }
+            } else if (rule instanceof MethodDetectionRule<Tree> methodDetectionRule) {
+                addIfLambda(methodDetectionRule.actionFactory(), lambdaFactories);
+            }
+            detection.add("next=" + dependingRuleIdsOf(rule.nextDetectionRules()));
+            callSiteDetection =
+                    new CallSiteDetection(
+                            rule.bundle().getIdentifier(),
+                            detection.toString(),
+                            List.copyOf(lambdaFactories));
+            callSiteDetections.put(rule, callSiteDetection);
+        }
+        return callSiteDetection;
+    }
+
+    // lambdas do not override equals, so they are compared by identity in the key
+    private static void addIfLambda(@Nullable Object factory, @Nonnull List<Object> lambdas) {
+        if (factory != null && factory.getClass().isSynthetic()) {
+            lambdas.add(factory);
+        }
+    }
+
+    @Nonnull
+    private List<Integer> dependingRuleIdsOf(@Nonnull List<IDetectionRule<Tree>> rules) {
+        final List<Integer> ids = new ArrayList<>(rules.size());
+        for (IDetectionRule<Tree> rule : rules) {
+            Integer id = dependingRuleIds.get(rule);
+            if (id == null) {
+                id = dependingRuleIds.size();
+                dependingRuleIds.put(rule, id);
+            }
+            ids.add(id);
+        }
+        return ids;
     }
 
     /**
-     * On new finding.
+     * On new finding. The finding is translated by the {@link TranslationPipeline}, and reported
+     * once translated.
      *
      * @param finding A finding containing detection store information.
      */
     @Override
     public void update(@Nonnull Finding<JavaCheck, Tree, Symbol, JavaFileScannerContext> finding) {
-        final List<INode> nodes = javaTranslationProcess.initiate(finding.detectionStore());
+        translationPipeline.submit(finding);
+    }
+
+    private void onTranslation(
+            @Nonnull Finding<JavaCheck, Tree, Symbol, JavaFileScannerContext> finding,
+            @Nonnull List<INode> nodes) {
         if (isInventory) {
             JavaAggregator.addNodes(nodes);
+            if (fileFindings != null) {
+                fileFindings.add(nodes);
+            }
         }
         // report
         this.report(finding.getMarkerTree(), nodes)
                 .forEach(
-                        issue ->
-                                finding.detectionStore()
-                                        .getScanContext()
-                                        .reportIssue(this, issue.tree(), issue.message()));
+                        issue -> {
+                            finding.detectionStore()
+                                    .getScanContext()
+                                    .reportIssue(this, issue.tree(), issue.message());
+                            final CachedIssue.Range range = rangeOf(issue.tree());
+                            if (fileFindings != null && range != null) {
+                                fileFindings.addIssue(range, issue.message());
+                            }
+                        });
+    }
+
+    @Override
+    public void leaveFile(@Nonnull JavaFileScannerContext context) {
+        translationPipeline.drainAll(this::onTranslation);
+        if (fileFindings != null) {
+            fileFindings.end();
+            fileFindings = null;
+        }
+        super.leaveFile(context);
     }
 
     @Override
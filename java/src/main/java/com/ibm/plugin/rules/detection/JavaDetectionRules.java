@@ -19,6 +19,8 @@
  */
 package com.ibm.plugin.rules.detection;
 
+import com.ibm.engine.rule.DetectionRuleGraph;
+import com.ibm.engine.rule.EntryRuleIndex;
 import com.ibm.engine.rule.IDetectionRule;
 import com.ibm.plugin.rules.detection.bc.BouncyCastleDetectionRules;
 import com.ibm.plugin.rules.detection.jca.JcaDetectionRules;
@@ -33,8 +35,35 @@ public final class JavaDetectionRules {
         // private
     }
 
+    /** Entry rules of the shared rule graph. The returned list is immutable and built once. */
     @Nonnull
     public static List<IDetectionRule<Tree>> rules() {
+        return graph().entryRules();
+    }
+
+    /**
+     * The process-wide rule graph, built on first use and shared by all the rule instances
+     * (inventory and issue rules) of the language.
+     */
+    @Nonnull
+    public static DetectionRuleGraph<Tree> graph() {
+        return Holder.GRAPH;
+    }
+
+    /** The entry rules of the shared rule graph grouped by method name, built once. */
+    @Nonnull
+    public static EntryRuleIndex<Tree> entryRuleIndex() {
+        return Holder.ENTRY_RULE_INDEX;
+    }
+
+    private static final class Holder {
+        private static final DetectionRuleGraph<Tree> GRAPH = DetectionRuleGraph.of(build());
+        private static final EntryRuleIndex<Tree> ENTRY_RULE_INDEX =
+                EntryRuleIndex.of(GRAPH.entryRules());
+    }
+
+    @Nonnull
+    private static List<IDetectionRule<Tree>> build() {
         return Stream.of(
                         JcaDetectionRules.rules().stream(),
                         BouncyCastleDetectionRules.rules().stream(),
@@ -35,7 +35,7 @@ public final class BcAsymmetricBlockCipher {
 
     @Nonnull
     public static List<IDetectionRule<Tree>> rules() {
-        return rules(null, null);
+        return Shared.RULES;
     }
 
     @Nonnull
@@ -56,4 +56,8 @@ public final class BcAsymmetricBlockCipher {
                 .flatMap(i -> i)
                 .toList();
     }
+
+    private static final class Shared {
+        private static final List<IDetectionRule<Tree>> RULES = rules(null, null);
+    }
 }
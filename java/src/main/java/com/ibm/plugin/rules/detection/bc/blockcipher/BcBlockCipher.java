@@ -208,7 +208,7 @@ public final class BcBlockCipher {
     @Nonnull
     // All BlockCipher rules including all the engines
     public static List<IDetectionRule<Tree>> all() {
-        return all(null);
+        return Shared.RULES;
     }
 
     @Nonnull
@@ -232,4 +232,8 @@ public final class BcBlockCipher {
                 .flatMap(i -> i)
                 .toList();
     }
+
+    private static final class Shared {
+        private static final List<IDetectionRule<Tree>> RULES = all(null);
+    }
 }
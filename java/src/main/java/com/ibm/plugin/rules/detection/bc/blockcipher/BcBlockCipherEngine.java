@@ -132,7 +132,7 @@ public final class BcBlockCipherEngine {
 
     @Nonnull
     public static List<IDetectionRule<Tree>> rules() {
-        return rules(null);
+        return Shared.RULES;
     }
 
     @Nonnull
@@ -140,4 +140,8 @@ public final class BcBlockCipherEngine {
             @Nullable IDetectionContext detectionValueContext) {
         return simpleConstructors(detectionValueContext);
     }
+
+    private static final class Shared {
+        private static final List<IDetectionRule<Tree>> RULES = rules(null);
+    }
 }
@@ -33,6 +33,16 @@ public final class BcCipherParameters {
 
     @Nonnull
     public static List<IDetectionRule<Tree>> bases() {
+        return SharedBases.RULES;
+    }
+
+    @Nonnull
+    public static List<IDetectionRule<Tree>> rules() {
+        return Shared.RULES;
+    }
+
+    @Nonnull
+    private static List<IDetectionRule<Tree>> buildBases() {
         return Stream.of(
                         BcAEADParameters.rules().stream(),
                         BcCCMParameters.rules().stream(),
@@ -55,9 +65,18 @@ public final class BcCipherParameters {
     }
 
     @Nonnull
-    public static List<IDetectionRule<Tree>> rules() {
+    private static List<IDetectionRule<Tree>> buildRules() {
         return Stream.of(bases().stream(), BcParametersWith.rules().stream())
                 .flatMap(i -> i)
                 .toList();
     }
+
+    /** Parameter rules are depending rules of most of the init rules: build them only once. */
+    private static final class SharedBases {
+        private static final List<IDetectionRule<Tree>> RULES = buildBases();
+    }
+
+    private static final class Shared {
+        private static final List<IDetectionRule<Tree>> RULES = buildRules();
+    }
 }
@@ -143,8 +143,13 @@ public final class BcDerivationFunction {
 
     @Nonnull
     public static List<IDetectionRule<Tree>> rules() {
-        return Stream.of(simpleConstructors().stream(), specialConstructors().stream())
-                .flatMap(i -> i)
-                .toList();
+        return Shared.RULES;
+    }
+
+    private static final class Shared {
+        private static final List<IDetectionRule<Tree>> RULES =
+                Stream.of(simpleConstructors().stream(), specialConstructors().stream())
+                        .flatMap(i -> i)
+                        .toList();
     }
 }
@@ -193,7 +193,7 @@ public final class BcDigests {
 
     @Nonnull
     public static List<IDetectionRule<Tree>> rules() {
-        return rules(null);
+        return Shared.RULES;
     }
 
     @Nonnull
@@ -204,4 +204,9 @@ public final class BcDigests {
                         otherConstructors(detectionValueContext).stream())
                 .toList();
     }
+
+    // digests are depending rules of most signer, mac and kdf rules: build them only once
+    private static final class Shared {
+        private static final List<IDetectionRule<Tree>> RULES = rules(null);
+    }
 }
@@ -25,7 +25,6 @@ import com.ibm.mapper.ITranslationProcess;
 import com.ibm.mapper.model.INode;
 import com.ibm.mapper.reorganizer.IReorganizerRule;
 import com.ibm.mapper.reorganizer.Reorganizer;
-import com.ibm.mapper.utils.Utils;
 import com.ibm.plugin.translation.translator.JavaTranslator;
 import java.util.List;
 import javax.annotation.Nonnull;
@@ -47,19 +46,33 @@ public final class JavaTranslationProcess
             @Nonnull
                     DetectionStore<JavaCheck, Tree, Symbol, JavaFileScannerContext>
                             rootDetectionStore) {
+        return complete(translate(rootDetectionStore));
+    }
+
+    /** The first step of {@link #initiate}, the only one reading the detection stores. */
+    @Nonnull
+    public List<INode> translate(
+            @Nonnull
+                    DetectionStore<JavaCheck, Tree, Symbol, JavaFileScannerContext>
+                            rootDetectionStore) {
         // 1. Translate
         final JavaTranslator javaTranslator = new JavaTranslator();
         final List<INode> translatedValues = javaTranslator.translate(rootDetectionStore);
-        Utils.printNodeTree("translated ", translatedValues);
+        trace("translated ", translatedValues);
+        return translatedValues;
+    }
 
+    /** The steps of {@link #initiate} following the translation, working on nodes only. */
+    @Nonnull
+    public List<INode> complete(@Nonnull List<INode> translatedValues) {
         // 2. Reorganize
         final Reorganizer javaReorganizer = new Reorganizer(reorganizerRules);
         final List<INode> reorganizedValues = javaReorganizer.reorganize(translatedValues);
-        Utils.printNodeTree("reorganised", reorganizedValues);
+        trace("reorganised", reorganizedValues);
 
         // 3. Enrich
         final List<INode> enrichedValues = Enricher.enrich(reorganizedValues).stream().toList();
-        Utils.printNodeTree("enriched   ", enrichedValues);
+        trace("enriched   ", enrichedValues);
 
         return enrichedValues.stream().toList();
     }
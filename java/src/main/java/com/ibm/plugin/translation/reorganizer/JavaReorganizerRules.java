@@ -38,27 +38,31 @@ public final class JavaReorganizerRules {
         // private
     }
 
+    @Nonnull
+    private static final List<IReorganizerRule> RULES =
+            List.of(
+                    AeadBlockCipherReorganizer.MERGE_AE_PARENT_AND_CHILD,
+                    AeadBlockCipherReorganizer.MOVE_TAG_LENGTH_UNDER_MAC,
+                    AsymmetricBlockCipherReorganizer.INVERT_DIGEST_AND_ITS_SIZE,
+                    AsymmetricBlockCipherReorganizer.MERGE_PKE_PARENT_AND_CHILD,
+                    BlockCipherReorganizer.MERGE_BLOCK_CIPHER_PARENT_AND_CHILD,
+                    CipherParameterReorganizer.MOVE_KEY_LENGTH_UNDER_TAG_LENGTH_UP,
+                    CipherParameterReorganizer.MOVE_NODES_UNDER_DECRYPT_UP,
+                    CipherParameterReorganizer.MOVE_NODES_UNDER_ENCRYPT_UP,
+                    CipherSuiteReorganizer.ADD_TLS_PROTOCOL_AS_PARENT_NODE,
+                    MacReorganizer.MERGE_UNKNOWN_MAC_PARENT_AND_CIPHER_CHILD,
+                    MacReorganizer.MOVE_SOME_MAC_CHILDREN_UNDER_BLOCKCIPHER,
+                    MacReorganizer.MOVE_TAG_LENGTH_UNDER_MAC,
+                    SignatureReorganizer.MERGE_UNKNOWN_SIGNATURE_PARENT_AND_CHILD,
+                    SignatureReorganizer.moveNodesFromUnderFunctionalityUnderParent(
+                            Sign.class, Signature.class),
+                    SignatureReorganizer.MERGE_SIGNATURE_PARENT_AND_CHILD,
+                    KeyReorgenizer.SPECIFY_KEY_TYPE_BY_LOOKING_AT_KEY_GENERATION,
+                    KeyReorgenizer.MOVE_KEY_UNDER_ALGORITHM_AND_REPLACE_INNER_ALGORITHM,
+                    KeyReorgenizer.PROPAGATE_KEY_LENGTH_TO_BLOCK_CIPHER);
+
     @Nonnull
     public static List<IReorganizerRule> rules() {
-        return List.of(
-                AeadBlockCipherReorganizer.MERGE_AE_PARENT_AND_CHILD,
-                AeadBlockCipherReorganizer.MOVE_TAG_LENGTH_UNDER_MAC,
-                AsymmetricBlockCipherReorganizer.INVERT_DIGEST_AND_ITS_SIZE,
-                AsymmetricBlockCipherReorganizer.MERGE_PKE_PARENT_AND_CHILD,
-                BlockCipherReorganizer.MERGE_BLOCK_CIPHER_PARENT_AND_CHILD,
-                CipherParameterReorganizer.MOVE_KEY_LENGTH_UNDER_TAG_LENGTH_UP,
-                CipherParameterReorganizer.MOVE_NODES_UNDER_DECRYPT_UP,
-                CipherParameterReorganizer.MOVE_NODES_UNDER_ENCRYPT_UP,
-                CipherSuiteReorganizer.ADD_TLS_PROTOCOL_AS_PARENT_NODE,
-                MacReorganizer.MERGE_UNKNOWN_MAC_PARENT_AND_CIPHER_CHILD,
-                MacReorganizer.MOVE_SOME_MAC_CHILDREN_UNDER_BLOCKCIPHER,
-                MacReorganizer.MOVE_TAG_LENGTH_UNDER_MAC,
-                SignatureReorganizer.MERGE_UNKNOWN_SIGNATURE_PARENT_AND_CHILD,
-                SignatureReorganizer.moveNodesFromUnderFunctionalityUnderParent(
-                        Sign.class, Signature.class),
-                SignatureReorganizer.MERGE_SIGNATURE_PARENT_AND_CHILD,
-                KeyReorgenizer.SPECIFY_KEY_TYPE_BY_LOOKING_AT_KEY_GENERATION,
-                KeyReorgenizer.MOVE_KEY_UNDER_ALGORITHM_AND_REPLACE_INNER_ALGORITHM,
-                KeyReorgenizer.PROPAGATE_KEY_LENGTH_TO_BLOCK_CIPHER);
+        return RULES;
     }
 }
@@ -0,0 +1,9 @@
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public class DuplicateCallSiteDetectionTestFile {
+
+    void test() throws NoSuchAlgorithmException {
+        MessageDigest.getInstance("SHA-256"); // Noncompliant 6
+    }
+}
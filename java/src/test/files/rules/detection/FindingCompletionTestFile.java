@@ -0,0 +1,30 @@
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+
+public class FindingCompletionTestFile {
+
+    void nested(byte[] bytes) throws Exception {
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(bytes, "AES"));
+    }
+
+    void passed() throws Exception {
+        Cipher cipher = Cipher.getInstance("DES");
+        initialize(cipher);
+    }
+
+    void initialize(Cipher cipher) throws Exception {
+        cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(new byte[8], "DES"));
+    }
+
+    void deferred(String algorithm) throws NoSuchAlgorithmException {
+        MessageDigest.getInstance(algorithm);
+    }
+
+    void caller() throws NoSuchAlgorithmException {
+        deferred("SHA-256");
+        deferred("SHA-512");
+    }
+}
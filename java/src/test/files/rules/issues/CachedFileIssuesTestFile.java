@@ -0,0 +1,15 @@
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+
+public class CachedFileIssuesTestFile {
+
+    void digest() throws NoSuchAlgorithmException {
+        MessageDigest.getInstance("SHA-256"); // Noncompliant {{(MessageDigest) SHA256}}
+    }
+
+    void cipher() throws NoSuchAlgorithmException, NoSuchPaddingException {
+        Cipher.getInstance("AES/CBC/PKCS5Padding"); // Noncompliant {{(BlockCipher) AES128-CBC-PKCS5}}
+    }
+}
@@ -0,0 +1,10 @@
+package test.files.rules.java.resolve;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public class ResolveCallFromCachedFileDigests {
+    public static MessageDigest create(String algorithm) throws NoSuchAlgorithmException {
+        return MessageDigest.getInstance(algorithm);
+    }
+}
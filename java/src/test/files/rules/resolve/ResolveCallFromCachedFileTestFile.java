@@ -0,0 +1,10 @@
+package test.files.rules.java.resolve;
+
+import java.security.MessageDigest;
+
+public class ResolveCallFromCachedFileTestFile {
+    public byte[] hash(byte[] data) throws Exception {
+        MessageDigest digest = ResolveCallFromCachedFileDigests.create("SHA-256");
+        return digest.digest(data);
+    }
+}
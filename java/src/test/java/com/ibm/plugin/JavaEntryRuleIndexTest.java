@@ -0,0 +1,57 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.engine.rule.DetectionRule;
+import com.ibm.engine.rule.EntryRuleIndex;
+import com.ibm.engine.rule.IDetectionRule;
+import com.ibm.engine.rule.MethodDetectionRule;
+import com.ibm.plugin.rules.detection.JavaDetectionRules;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.sonar.plugins.java.api.tree.Tree;
+
+class JavaEntryRuleIndexTest {
+
+    @Test
+    void everyRuleIsSelectedForTheNamesItMatches() {
+        final List<IDetectionRule<Tree>> rules = JavaDetectionRules.rules();
+        final EntryRuleIndex<Tree> index = JavaDetectionRules.entryRuleIndex();
+
+        for (IDetectionRule<Tree> rule : rules) {
+            for (String methodName : methodNamesOf(rule)) {
+                final List<IDetectionRule<Tree>> selected = index.rulesFor(methodName);
+                assertThat(selected).contains(rule);
+                // same relative order as the entry rules
+                assertThat(rules).containsSubsequence(selected);
+            }
+        }
+        assertThat(index.rulesFor("notTheNameOfAnyCryptoMethod")).isEmpty();
+    }
+
+    private static List<String> methodNamesOf(IDetectionRule<Tree> rule) {
+        if (rule instanceof DetectionRule<Tree> detectionRule) {
+            return detectionRule.matchers().getMethodNamesSerializable();
+        }
+        return ((MethodDetectionRule<Tree>) rule).matchers().getMethodNamesSerializable();
+    }
+}
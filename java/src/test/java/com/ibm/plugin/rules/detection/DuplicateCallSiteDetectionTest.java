@@ -0,0 +1,140 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.plugin.rules.detection;
+
+import com.ibm.engine.detection.DetectionStore;
+import com.ibm.engine.detection.Finding;
+import com.ibm.engine.model.Algorithm;
+import com.ibm.engine.model.context.DigestContext;
+import com.ibm.engine.model.factory.AlgorithmFactory;
+import com.ibm.engine.model.factory.IValueFactory;
+import com.ibm.engine.rule.IDetectionRule;
+import com.ibm.engine.rule.builder.DetectionRuleBuilder;
+import com.ibm.mapper.model.INode;
+import com.ibm.plugin.TestBase;
+import java.util.List;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.Test;
+import org.sonar.check.Rule;
+import org.sonar.java.checks.verifier.CheckVerifier;
+import org.sonar.plugins.java.api.JavaCheck;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.Tree;
+
+@Rule(key = "Test")
+class DuplicateCallSiteDetectionTest extends TestBase {
+
+    private static final List<IDetectionRule<Tree>> UPDATE =
+            List.of(messageDigestMethod("update", "byte[]"));
+    private static final List<IDetectionRule<Tree>> DIGEST =
+            List.of(messageDigestMethod("digest", "byte[]"));
+    private static final IValueFactory<Tree> FIRST =
+            resolvedValue -> Optional.of(new Algorithm<>("FIRST", resolvedValue.tree()));
+    private static final IValueFactory<Tree> SECOND =
+            resolvedValue -> Optional.of(new Algorithm<>("SECOND", resolvedValue.tree()));
+
+    public DuplicateCallSiteDetectionTest() {
+        super(
+                List.of(
+                        messageDigestGetInstance("Jca", true, List.of()),
+                        // same bundle, context and depending rules as the first rule: skipped
+                        messageDigestGetInstance("Jca", false, List.of()),
+                        messageDigestGetInstance("Other", false, List.of()),
+                        // other depending rules than the rules before: not skipped
+                        messageDigestGetInstance("Jca", false, UPDATE),
+                        messageDigestGetInstance("Jca", false, DIGEST),
+                        // same depending rules as the fourth rule: skipped
+                        messageDigestGetInstance("Jca", true, UPDATE),
+                        // lambda factories, described alike but producing other values: not
+                        // skipped
+                        messageDigestGetInstance("Lambda", true, FIRST),
+                        messageDigestGetInstance("Lambda", true, SECOND),
+                        // same lambda factory as the seventh rule: skipped
+                        messageDigestGetInstance("Lambda", false, FIRST)));
+    }
+
+    @Nonnull
+    private static IDetectionRule<Tree> messageDigestGetInstance(
+            @Nonnull String bundle, boolean exactType, @Nonnull IValueFactory<Tree> factory) {
+        return new DetectionRuleBuilder<Tree>()
+                .createDetectionRule()
+                .forObjectTypes(exactType ? "java.security.MessageDigest" : "java.lang.Object")
+                .forMethods("getInstance")
+                .withMethodParameter("java.lang.String")
+                .shouldBeDetectedAs(factory)
+                .buildForContext(new DigestContext())
+                .inBundle(() -> bundle)
+                .withoutDependingDetectionRules();
+    }
+
+    @Nonnull
+    private static IDetectionRule<Tree> messageDigestGetInstance(
+            @Nonnull String bundle,
+            boolean exactType,
+            @Nonnull List<IDetectionRule<Tree>> dependingRules) {
+        return new DetectionRuleBuilder<Tree>()
+                .createDetectionRule()
+                .forObjectTypes(exactType ? "java.security.MessageDigest" : "java.lang.Object")
+                .forMethods("getInstance")
+                .withMethodParameter("java.lang.String")
+                .shouldBeDetectedAs(new AlgorithmFactory<>())
+                .buildForContext(new DigestContext())
+                .inBundle(() -> bundle)
+                .withDependingDetectionRules(dependingRules);
+    }
+
+    @Nonnull
+    private static IDetectionRule<Tree> messageDigestMethod(
+            @Nonnull String method, @Nonnull String parameterType) {
+        return new DetectionRuleBuilder<Tree>()
+                .createDetectionRule()
+                .forObjectTypes("java.security.MessageDigest")
+                .forMethods(method)
+                .withMethodParameter(parameterType)
+                .buildForContext(new DigestContext())
+                .inBundle(() -> "Jca")
+                .withoutDependingDetectionRules();
+    }
+
+    @Test
+    void test() {
+        CheckVerifier.newVerifier()
+                .onFile("src/test/files/rules/detection/DuplicateCallSiteDetectionTestFile.java")
+                .withChecks(this)
+                .verifyIssues();
+    }
+
+    @Override
+    public void asserts(
+            int findingId,
+            @Nonnull DetectionStore<JavaCheck, Tree, Symbol, JavaFileScannerContext> detectionStore,
+            @Nonnull List<INode> nodes) {
+        // nothing
+    }
+
+    @Override
+    public void update(@Nonnull Finding<JavaCheck, Tree, Symbol, JavaFileScannerContext> finding) {
+        finding.detectionStore()
+                .getDetectionValues()
+                .forEach(iValue -> this.reportIssue(iValue.getLocation(), iValue.asString()));
+    }
+}
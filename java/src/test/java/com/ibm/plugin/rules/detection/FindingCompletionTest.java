@@ -0,0 +1,149 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.plugin.rules.detection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.engine.detection.DetectionStore;
+import com.ibm.engine.detection.Finding;
+import com.ibm.engine.model.IValue;
+import com.ibm.engine.model.context.CipherContext;
+import com.ibm.engine.model.context.DigestContext;
+import com.ibm.engine.model.context.KeyContext;
+import com.ibm.engine.model.context.SecretKeyContext;
+import com.ibm.engine.model.factory.AlgorithmFactory;
+import com.ibm.engine.model.factory.OperationModeFactory;
+import com.ibm.engine.rule.IDetectionRule;
+import com.ibm.engine.rule.builder.DetectionRuleBuilder;
+import com.ibm.mapper.model.INode;
+import com.ibm.plugin.TestBase;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.Test;
+import org.sonar.check.Rule;
+import org.sonar.java.checks.verifier.CheckVerifier;
+import org.sonar.plugins.java.api.JavaCheck;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.Tree;
+
+/*
+ * A finding is emitted exactly once, when all the rule visits it announced were made: after the
+ * nested depending rules of a call, or after the hook resolving a value of a later call.
+ */
+@Rule(key = "Test")
+class FindingCompletionTest extends TestBase {
+    private static final IDetectionRule<Tree> SECRET_KEY_SPEC =
+            new DetectionRuleBuilder<Tree>()
+                    .createDetectionRule()
+                    .forObjectTypes("javax.crypto.spec.SecretKeySpec")
+                    .forConstructor()
+                    .withMethodParameter("byte[]")
+                    .withMethodParameter("java.lang.String")
+                    .shouldBeDetectedAs(new AlgorithmFactory<>())
+                    .buildForContext(new SecretKeyContext(KeyContext.Kind.NONE))
+                    .inBundle(() -> "Jca")
+                    .withoutDependingDetectionRules();
+
+    private static final IDetectionRule<Tree> CIPHER_INIT =
+            new DetectionRuleBuilder<Tree>()
+                    .createDetectionRule()
+                    .forObjectTypes("javax.crypto.Cipher")
+                    .forMethods("init")
+                    .withMethodParameter("int")
+                    .shouldBeDetectedAs(new OperationModeFactory<>())
+                    .withMethodParameter("java.security.Key")
+                    .addDependingDetectionRules(List.of(SECRET_KEY_SPEC))
+                    .buildForContext(new CipherContext())
+                    .inBundle(() -> "Jca")
+                    .withoutDependingDetectionRules();
+
+    private static final IDetectionRule<Tree> CIPHER_GET_INSTANCE =
+            new DetectionRuleBuilder<Tree>()
+                    .createDetectionRule()
+                    .forObjectTypes("javax.crypto.Cipher")
+                    .forMethods("getInstance")
+                    .withMethodParameter("java.lang.String")
+                    .shouldBeDetectedAs(new AlgorithmFactory<>())
+                    .buildForContext(new CipherContext())
+                    .inBundle(() -> "Jca")
+                    .withDependingDetectionRules(List.of(CIPHER_INIT));
+
+    private static final IDetectionRule<Tree> DIGEST_GET_INSTANCE =
+            new DetectionRuleBuilder<Tree>()
+                    .createDetectionRule()
+                    .forObjectTypes("java.security.MessageDigest")
+                    .forMethods("getInstance")
+                    .withMethodParameter("java.lang.String")
+                    .shouldBeDetectedAs(new AlgorithmFactory<>())
+                    .buildForContext(new DigestContext())
+                    .inBundle(() -> "Jca")
+                    .withoutDependingDetectionRules();
+
+    private final List<DetectionStore<JavaCheck, Tree, Symbol, JavaFileScannerContext>> findings =
+            new ArrayList<>();
+
+    public FindingCompletionTest() {
+        super(List.of(CIPHER_GET_INSTANCE, DIGEST_GET_INSTANCE));
+    }
+
+    @Test
+    void test() {
+        CheckVerifier.newVerifier()
+                .onFile("src/test/files/rules/detection/FindingCompletionTestFile.java")
+                .withChecks(this)
+                .verifyNoIssues();
+
+        assertThat(findings)
+                .map(FindingCompletionTest::values)
+                .containsExactly(
+                        // after the nested rules of the call and of its parameter
+                        List.of("AES/GCM/NoPadding", "1", "AES"),
+                        // the depending rules are not followed into the called method
+                        List.of("DES"),
+                        // once per invocation of the hook resolving the argument
+                        List.of("SHA-256"),
+                        List.of("SHA-512"));
+    }
+
+    @Override
+    public void update(@Nonnull Finding<JavaCheck, Tree, Symbol, JavaFileScannerContext> finding) {
+        findings.add(finding.detectionStore());
+    }
+
+    @Override
+    public void asserts(
+            int findingId,
+            @Nonnull DetectionStore<JavaCheck, Tree, Symbol, JavaFileScannerContext> detectionStore,
+            @Nonnull List<INode> nodes) {
+        // nothing
+    }
+
+    /* The values of the stores of a finding, depth first. */
+    @Nonnull
+    private static List<String> values(
+            @Nonnull DetectionStore<JavaCheck, Tree, Symbol, JavaFileScannerContext> store) {
+        final List<String> values = new ArrayList<>();
+        store.getDetectionValues().stream().map(IValue::asString).forEach(values::add);
+        store.getChildren().forEach(child -> values.addAll(values(child)));
+        return values;
+    }
+}
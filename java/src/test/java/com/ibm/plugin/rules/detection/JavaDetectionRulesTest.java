@@ -0,0 +1,57 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.plugin.rules.detection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.engine.rule.DetectionRuleGraph;
+import com.ibm.engine.rule.IDetectionRule;
+import com.ibm.plugin.rules.detection.bc.digest.BcDigests;
+import com.ibm.plugin.translation.reorganizer.JavaReorganizerRules;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.sonar.plugins.java.api.tree.Tree;
+
+class JavaDetectionRulesTest {
+
+    @Test
+    void rulesAreBuiltOnce() {
+        assertThat(JavaDetectionRules.rules()).isSameAs(JavaDetectionRules.rules());
+        assertThat(JavaReorganizerRules.rules()).isSameAs(JavaReorganizerRules.rules());
+        assertThat(BcDigests.rules()).isSameAs(BcDigests.rules());
+    }
+
+    @Test
+    void everyRuleOfTheGraphHasAStableId() {
+        final DetectionRuleGraph<Tree> graph = JavaDetectionRules.graph();
+        final List<IDetectionRule<Tree>> entryRules = graph.entryRules();
+        assertThat(graph.size()).isGreaterThan(entryRules.size());
+
+        // entry rules come first, in order
+        for (int i = 0; i < entryRules.size(); i++) {
+            assertThat(graph.idOf(entryRules.get(i))).hasValue(i);
+        }
+        for (int id = 0; id < graph.size(); id++) {
+            final IDetectionRule<Tree> rule = graph.ruleOf(id).orElseThrow();
+            assertThat(graph.idOf(rule)).hasValue(id);
+        }
+        assertThat(graph.ruleOf(graph.size())).isEmpty();
+    }
+}
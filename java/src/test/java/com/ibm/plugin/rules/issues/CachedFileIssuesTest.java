@@ -0,0 +1,78 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.plugin.rules.issues;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.output.cache.FindingsCache;
+import com.ibm.plugin.JavaAggregator;
+import com.ibm.plugin.rules.JavaInventoryRule;
+import com.ibm.plugin.rules.detection.JavaDetectionRules;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sonar.check.Rule;
+import org.sonar.java.checks.verifier.CheckVerifier;
+
+/*
+ * The second scan serves the file from the findings cache, without running the detection rules;
+ * the inventory issues of the file are reported again on the same trees.
+ */
+@Rule(key = "Test")
+class CachedFileIssuesTest extends JavaInventoryRule {
+
+    @TempDir Path cacheDirectory;
+
+    CachedFileIssuesTest() {
+        super(JavaDetectionRules.rules());
+    }
+
+    @BeforeEach
+    void enableCache() {
+        JavaAggregator.reset();
+        FindingsCache.getInstance().enable(cacheDirectory, "test");
+    }
+
+    @AfterEach
+    void disableCache() {
+        FindingsCache.getInstance().close();
+        FindingsCache.getInstance().disable();
+    }
+
+    @Test
+    void test() {
+        scan();
+        assertThat(FindingsCache.getInstance().getStatistics().getHits()).isZero();
+        FindingsCache.getInstance().close();
+        JavaAggregator.reset();
+
+        scan();
+        assertThat(FindingsCache.getInstance().getStatistics().getHits()).isEqualTo(1);
+    }
+
+    private void scan() {
+        CheckVerifier.newVerifier()
+                .onFile("src/test/files/rules/issues/CachedFileIssuesTestFile.java")
+                .withChecks(this)
+                .verifyIssues();
+    }
+}
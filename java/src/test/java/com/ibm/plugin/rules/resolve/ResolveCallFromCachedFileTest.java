@@ -0,0 +1,107 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.plugin.rules.resolve;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.mapper.model.INode;
+import com.ibm.output.cache.FindingsCache;
+import com.ibm.plugin.JavaAggregator;
+import com.ibm.plugin.rules.detection.JavaBaseDetectionRule;
+import com.ibm.plugin.rules.detection.JavaDetectionRules;
+import com.ibm.plugin.translation.reorganizer.JavaReorganizerRules;
+import java.nio.file.Path;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sonar.check.Rule;
+import org.sonar.java.checks.verifier.CheckVerifier;
+
+/*
+ * The call resolving the hook of ResolveCallFromCachedFileDigests sits in a file that is analysed
+ * before it, without hook, and is therefore served from the findings cache on the second scan. The
+ * verifier does not resolve types across the analysed files, so the hooked class is also compiled
+ * onto the class path.
+ */
+@Rule(key = "Test")
+class ResolveCallFromCachedFileTest extends JavaBaseDetectionRule {
+
+    private static final String CALLER_FILE =
+            "src/test/files/rules/resolve/ResolveCallFromCachedFileTestFile.java";
+    private static final String HOOK_FILE =
+            "src/test/files/rules/resolve/ResolveCallFromCachedFileDigests.java";
+
+    @TempDir Path cacheDirectory;
+    @TempDir Path classesDirectory;
+
+    ResolveCallFromCachedFileTest() {
+        super(true, JavaDetectionRules.rules(), JavaReorganizerRules.rules());
+    }
+
+    @BeforeEach
+    void enableCache() {
+        assertThat(
+                        ToolProvider.getSystemJavaCompiler()
+                                .run(
+                                        null,
+                                        null,
+                                        null,
+                                        "-d",
+                                        classesDirectory.toString(),
+                                        HOOK_FILE))
+                .isZero();
+        JavaAggregator.reset();
+        FindingsCache.getInstance().enable(cacheDirectory, "test");
+    }
+
+    @AfterEach
+    void disableCache() {
+        FindingsCache.getInstance().close();
+        FindingsCache.getInstance().disable();
+    }
+
+    @Test
+    void test() {
+        final List<String> firstScan = scan();
+        assertThat(firstScan).contains("SHA256");
+        assertThat(FindingsCache.getInstance().getStatistics().getHits()).isZero();
+        assertThat(FindingsCache.getInstance().getStatistics().getUncacheable()).isEqualTo(1);
+        FindingsCache.getInstance().close();
+        JavaAggregator.reset();
+
+        final List<String> secondScan = scan();
+        assertThat(FindingsCache.getInstance().getStatistics().getHits()).isEqualTo(1);
+        assertThat(secondScan).containsExactlyInAnyOrderElementsOf(firstScan);
+    }
+
+    @Nonnull
+    private List<String> scan() {
+        CheckVerifier.newVerifier()
+                .onFiles(CALLER_FILE, HOOK_FILE)
+                .withClassPath(List.of(classesDirectory.toFile()))
+                .withChecks(this)
+                .verifyNoIssues();
+        return JavaAggregator.getDetectedNodes().stream().map(INode::asString).toList();
+    }
+}
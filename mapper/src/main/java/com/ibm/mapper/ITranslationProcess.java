@@ -22,10 +22,13 @@ package com.ibm.mapper;
 import com.ibm.engine.detection.DetectionStore;
 import com.ibm.mapper.model.INode;
 import com.ibm.mapper.reorganizer.IReorganizerRule;
+import com.ibm.mapper.utils.Utils;
 import java.util.List;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public abstract class ITranslationProcess<R, T, S, P> {
+    @Nullable private static volatile ITranslationTracer tracer = null;
 
     @Nonnull protected final List<IReorganizerRule> reorganizerRules;
 
@@ -35,4 +38,33 @@ public abstract class ITranslationProcess<R, T, S, P> {
 
     @Nonnull
     protected abstract List<INode> initiate(@Nonnull DetectionStore<R, T, S, P> rootDetectionStore);
+
+    /**
+     * Registers the tracer receiving the intermediate node trees of every translation process, or
+     * removes it when {@code null} is passed.
+     */
+    public static void registerTracer(@Nullable ITranslationTracer translationTracer) {
+        tracer = translationTracer;
+    }
+
+    /**
+     * Returns whether the steps of the translations are traced, by a registered tracer or by debug
+     * logging.
+     */
+    public static boolean isTraced() {
+        return tracer != null || Utils.isNodeTreeLoggingEnabled();
+    }
+
+    /**
+     * Forwards the nodes of a translation step to the registered tracer. Without a tracer, the node
+     * tree is only printed when debug logging is enabled.
+     */
+    protected static void trace(@Nonnull String step, @Nonnull List<INode> nodes) {
+        final ITranslationTracer translationTracer = tracer;
+        if (translationTracer != null) {
+            translationTracer.onStep(step, nodes);
+        } else if (Utils.isNodeTreeLoggingEnabled()) {
+            Utils.printNodeTree(step, nodes);
+        }
+    }
 }
@@ -0,0 +1,34 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.mapper;
+
+import com.ibm.mapper.model.INode;
+import java.util.List;
+import javax.annotation.Nonnull;
+
+/**
+ * Event sink for the intermediate results of a translation process (translated, reorganised and
+ * enriched node trees). A tracer is only invoked when it has been registered with {@link
+ * ITranslationProcess#registerTracer(ITranslationTracer)}.
+ */
+@FunctionalInterface
+public interface ITranslationTracer {
+    void onStep(@Nonnull String step, @Nonnull List<INode> nodes);
+}
@@ -254,7 +254,8 @@ public abstract class ITranslator<R, T, S, P> {
                                         // child
                                     } else {
                                         // Both are DETECTED with different values: create new roots
-                                        final INode newParent = parentNode.deepCopy();
+                                        final INode newParent =
+                                                copyWithout(parentNode, existingNode);
                                         newParent.put(childNode);
                                         newRoots.add(newParent);
                                     }
@@ -265,5 +266,19 @@ public abstract class ITranslator<R, T, S, P> {
                         });
             }
         }
+
+        /**
+         * Copies the parent node without the subtree of the given child, which the copy replaces
+         * right away, so that this subtree is not copied for nothing.
+         */
+        @Nonnull
+        private static INode copyWithout(@Nonnull INode parentNode, @Nonnull INode child) {
+            parentNode.removeChildOfType(child.getKind());
+            try {
+                return parentNode.deepCopy();
+            } finally {
+                parentNode.put(child);
+            }
+        }
     }
 }
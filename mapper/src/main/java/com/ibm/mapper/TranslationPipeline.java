@@ -0,0 +1,172 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.mapper;
+
+import com.ibm.engine.detection.DetectionStore;
+import com.ibm.engine.detection.Finding;
+import com.ibm.mapper.model.INode;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import javax.annotation.Nonnull;
+
+/**
+ * Completes the translation of the findings of a detection rule on worker threads, while the
+ * analysis of the file goes on. The detection stores of a finding are translated into nodes at
+ * submission, on the thread analysing the file, since they reference its syntax trees; only the
+ * steps working on the translated nodes (reorganisation and enrichment) run on the workers. The
+ * resulting nodes are handed back to the thread analysing the file, in the order the findings were
+ * submitted, by {@link #drainCompleted(BiConsumer)} and {@link #drainAll(BiConsumer)}.
+ *
+ * <p>The translation is completed at submission instead while the steps of the translations are
+ * traced (see {@link ITranslationProcess#isTraced()}), so that they are traced in order on the
+ * thread analysing the file. The same applies when the bounded queue of the workers is full.
+ *
+ * <p>An instance is confined to the thread analysing the files, and only keeps the findings of the
+ * current file. The workers are shared by all the pipelines: a single bounded pool of daemon
+ * threads, started by the first finding submitted, whose threads stop once they are idle.
+ */
+public final class TranslationPipeline<R, T, S, P> {
+    private static final int QUEUE_CAPACITY = 256;
+    private static final int WORKER_KEEP_ALIVE_SECONDS = 30;
+
+    @Nonnull private final Function<DetectionStore<R, T, S, P>, List<INode>> translation;
+    @Nonnull private final UnaryOperator<List<INode>> completion;
+    @Nonnull private final Deque<Translation<R, T, S, P>> pending = new ArrayDeque<>();
+
+    private record Translation<R, T, S, P>(
+            @Nonnull Finding<R, T, S, P> finding, @Nonnull Future<List<INode>> nodes) {}
+
+    /**
+     * @param translation translates the detection stores of a finding, on the thread analysing the
+     *     file
+     * @param completion completes the translated nodes, on a worker
+     */
+    public TranslationPipeline(
+            @Nonnull Function<DetectionStore<R, T, S, P>, List<INode>> translation,
+            @Nonnull UnaryOperator<List<INode>> completion) {
+        this.translation = translation;
+        this.completion = completion;
+    }
+
+    public void submit(@Nonnull Finding<R, T, S, P> finding) {
+        final DetectionStore<R, T, S, P> detectionStore = finding.detectionStore();
+        final List<INode> translatedNodes = translation.apply(detectionStore);
+        final Future<List<INode>> nodes;
+        if (ITranslationProcess.isTraced()) {
+            nodes = CompletableFuture.completedFuture(completion.apply(translatedNodes));
+        } else {
+            nodes = Workers.POOL.submit(() -> completion.apply(translatedNodes));
+        }
+        pending.add(new Translation<>(finding, nodes));
+    }
+
+    /**
+     * Hands the translated findings to the consumer, up to the first finding still being
+     * translated.
+     */
+    public void drainCompleted(@Nonnull BiConsumer<Finding<R, T, S, P>, List<INode>> consumer) {
+        while (!pending.isEmpty() && pending.peek().nodes().isDone()) {
+            hand(pending.poll(), consumer);
+        }
+    }
+
+    /** Waits for the translation of all submitted findings and hands them to the consumer. */
+    public void drainAll(@Nonnull BiConsumer<Finding<R, T, S, P>, List<INode>> consumer) {
+        while (!pending.isEmpty()) {
+            hand(pending.poll(), consumer);
+        }
+    }
+
+    /** Drops the submitted findings, without waiting for their translation. */
+    public void clear() {
+        pending.forEach(translation -> translation.nodes().cancel(false));
+        pending.clear();
+    }
+
+    private void hand(
+            @Nonnull Translation<R, T, S, P> translation,
+            @Nonnull BiConsumer<Finding<R, T, S, P>, List<INode>> consumer) {
+        consumer.accept(translation.finding(), nodesOf(translation));
+    }
+
+    @Nonnull
+    private static List<INode> nodesOf(@Nonnull Translation<?, ?, ?, ?> translation) {
+        try {
+            return translation.nodes().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while translating a finding", e);
+        } catch (ExecutionException e) {
+            // surface the failure as if the finding had been translated by the caller
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // the workers shared by all the pipelines, created on first use
+    private static final class Workers {
+        private static final AtomicInteger WORKER_IDS = new AtomicInteger();
+        private static final ThreadPoolExecutor POOL = create();
+
+        private Workers() {}
+
+        @Nonnull
+        private static ThreadPoolExecutor create() {
+            final int numberOfWorkers = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+            final ThreadFactory threadFactory =
+                    runnable -> {
+                        final Thread thread =
+                                new Thread(
+                                        runnable,
+                                        "translation-worker-" + WORKER_IDS.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    };
+            final ThreadPoolExecutor pool =
+                    new ThreadPoolExecutor(
+                            numberOfWorkers,
+                            numberOfWorkers,
+                            WORKER_KEEP_ALIVE_SECONDS,
+                            TimeUnit.SECONDS,
+                            new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                            threadFactory,
+                            new ThreadPoolExecutor.CallerRunsPolicy());
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        }
+    }
+}
@@ -40,7 +40,7 @@ public final class BlockSize extends Property {
     }
 
     private BlockSize(@Nonnull BlockSize blockSize) {
-        super(blockSize.type, blockSize.detectionLocation, blockSize.children, blockSize.origin);
+        super(blockSize.type, blockSize.detectionLocation, blockSize.origin);
         this.value = blockSize.value;
     }
 
@@ -35,10 +35,7 @@ public final class ClassicalBitSecurityLevel extends Property {
 
     private ClassicalBitSecurityLevel(
             @Nonnull ClassicalBitSecurityLevel classicalBitSecurityLevel) {
-        super(
-                classicalBitSecurityLevel.type,
-                classicalBitSecurityLevel.detectionLocation,
-                classicalBitSecurityLevel.children);
+        super(classicalBitSecurityLevel.type, classicalBitSecurityLevel.detectionLocation);
         this.bitSecurityLevel = classicalBitSecurityLevel.bitSecurityLevel;
     }
 
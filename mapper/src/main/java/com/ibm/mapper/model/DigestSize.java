@@ -32,7 +32,7 @@ public final class DigestSize extends Property {
     }
 
     private DigestSize(@Nonnull DigestSize digestSize) {
-        super(digestSize.type, digestSize.detectionLocation, digestSize.children);
+        super(digestSize.type, digestSize.detectionLocation);
         this.value = digestSize.value;
     }
 
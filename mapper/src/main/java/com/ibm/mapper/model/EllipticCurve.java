@@ -32,7 +32,7 @@ public class EllipticCurve extends Property {
     }
 
     private EllipticCurve(@Nonnull EllipticCurve ellipticCurve) {
-        super(ellipticCurve.type, ellipticCurve.detectionLocation, ellipticCurve.children);
+        super(ellipticCurve.type, ellipticCurve.detectionLocation);
         this.value = ellipticCurve.value;
     }
 
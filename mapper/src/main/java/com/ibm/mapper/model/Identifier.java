@@ -32,7 +32,7 @@ public final class Identifier extends Property {
     }
 
     private Identifier(@Nonnull Identifier identifier) {
-        super(identifier.type, identifier.detectionLocation, identifier.children);
+        super(identifier.type, identifier.detectionLocation);
         this.value = identifier.value;
     }
 
@@ -34,10 +34,7 @@ public final class InitializationVectorLength extends Property {
 
     private InitializationVectorLength(
             @Nonnull InitializationVectorLength initializationVectorLength) {
-        super(
-                initializationVectorLength.type,
-                initializationVectorLength.detectionLocation,
-                initializationVectorLength.children);
+        super(initializationVectorLength.type, initializationVectorLength.detectionLocation);
         this.value = initializationVectorLength.value;
     }
 
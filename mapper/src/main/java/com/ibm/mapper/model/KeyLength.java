@@ -41,7 +41,7 @@ public final class KeyLength extends Property {
     }
 
     private KeyLength(@Nonnull KeyLength keyLength) {
-        super(keyLength.type, keyLength.detectionLocation, keyLength.children, keyLength.origin);
+        super(keyLength.type, keyLength.detectionLocation, keyLength.origin);
         this.value = keyLength.value;
     }
 
@@ -42,7 +42,7 @@ public class Mode extends Property {
     }
 
     private Mode(@Nonnull Mode mode) {
-        super(mode.type, mode.detectionLocation, mode.children);
+        super(mode.type, mode.detectionLocation);
         this.name = mode.name;
     }
 
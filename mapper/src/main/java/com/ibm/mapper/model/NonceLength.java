@@ -32,7 +32,7 @@ public final class NonceLength extends Property {
     }
 
     private NonceLength(@Nonnull NonceLength nonceLength) {
-        super(nonceLength.type, nonceLength.detectionLocation, nonceLength.children);
+        super(nonceLength.type, nonceLength.detectionLocation);
         this.value = nonceLength.value;
     }
 
@@ -33,10 +33,7 @@ public final class NumberOfIterations extends Property {
     }
 
     public NumberOfIterations(@Nonnull NumberOfIterations numberOfIterations) {
-        super(
-                numberOfIterations.type,
-                numberOfIterations.detectionLocation,
-                numberOfIterations.children);
+        super(numberOfIterations.type, numberOfIterations.detectionLocation);
         this.value = numberOfIterations.value;
     }
 
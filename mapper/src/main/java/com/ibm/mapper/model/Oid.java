@@ -33,7 +33,7 @@ public final class Oid extends Property {
     }
 
     private Oid(@Nonnull Oid oid) {
-        super(Oid.class, oid.detectionLocation, oid.children);
+        super(Oid.class, oid.detectionLocation);
         this.value = oid.value;
     }
 
@@ -33,7 +33,7 @@ public final class OutputFormat extends Property {
     }
 
     private OutputFormat(@Nonnull OutputFormat outputFormat) {
-        super(outputFormat.type, outputFormat.detectionLocation, outputFormat.children);
+        super(outputFormat.type, outputFormat.detectionLocation);
         this.value = outputFormat.value;
     }
 
@@ -20,7 +20,6 @@
 package com.ibm.mapper.model;
 
 import com.ibm.mapper.utils.DetectionLocation;
-import java.util.HashMap;
 import java.util.Objects;
 import javax.annotation.Nonnull;
 
@@ -28,7 +27,7 @@ public class Padding extends Property {
     @Nonnull private final String name;
 
     public Padding(@Nonnull String name, @Nonnull DetectionLocation detectionLocation) {
-        super(Padding.class, detectionLocation, new HashMap<>());
+        super(Padding.class, detectionLocation);
         this.name = name;
     }
 
@@ -36,12 +35,12 @@ public class Padding extends Property {
             @Nonnull String name,
             @Nonnull DetectionLocation detectionLocation,
             @Nonnull Class<? extends Padding> kind) {
-        super(kind, detectionLocation, new HashMap<>());
+        super(kind, detectionLocation);
         this.name = name;
     }
 
     private Padding(@Nonnull Padding padding) {
-        super(padding.type, padding.detectionLocation, padding.children);
+        super(padding.type, padding.detectionLocation);
         this.name = padding.name;
     }
 
@@ -33,10 +33,7 @@ public final class ParameterSetIdentifier extends Property {
     }
 
     private ParameterSetIdentifier(@Nonnull ParameterSetIdentifier parameterSetIdentifier) {
-        super(
-                parameterSetIdentifier.type,
-                parameterSetIdentifier.detectionLocation,
-                parameterSetIdentifier.children);
+        super(parameterSetIdentifier.type, parameterSetIdentifier.detectionLocation);
         this.value = parameterSetIdentifier.value;
     }
 
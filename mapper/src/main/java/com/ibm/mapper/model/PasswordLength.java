@@ -32,7 +32,7 @@ public final class PasswordLength extends Property {
     }
 
     private PasswordLength(@Nonnull PasswordLength passwordLength) {
-        super(passwordLength.type, passwordLength.detectionLocation, passwordLength.children);
+        super(passwordLength.type, passwordLength.detectionLocation);
         this.value = passwordLength.value;
     }
 
@@ -48,24 +48,6 @@ public abstract class Property implements IProperty {
         this.origin = origin;
     }
 
-    protected Property(
-            @Nonnull Class<? extends IProperty> type,
-            @Nonnull DetectionLocation detectionLocation,
-            @Nonnull Map<Class<? extends INode>, INode> children) {
-        this(type, detectionLocation, children, NodeOrigin.DETECTED);
-    }
-
-    protected Property(
-            @Nonnull Class<? extends IProperty> type,
-            @Nonnull DetectionLocation detectionLocation,
-            @Nonnull Map<Class<? extends INode>, INode> children,
-            @Nonnull NodeOrigin origin) {
-        this.type = type;
-        this.children = children;
-        this.detectionLocation = detectionLocation;
-        this.origin = origin;
-    }
-
     @Override
     public void put(@Nonnull INode child) {
         this.children.put(child.getKind(), child);
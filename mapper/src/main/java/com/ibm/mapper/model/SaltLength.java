@@ -32,7 +32,7 @@ public final class SaltLength extends Property {
     }
 
     private SaltLength(@Nonnull SaltLength saltLength) {
-        super(saltLength.type, saltLength.detectionLocation, saltLength.children);
+        super(saltLength.type, saltLength.detectionLocation);
         this.value = saltLength.value;
     }
 
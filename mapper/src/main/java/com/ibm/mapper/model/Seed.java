@@ -32,7 +32,7 @@ public final class Seed extends Property {
     }
 
     private Seed(@Nonnull Seed seed) {
-        super(seed.type, seed.detectionLocation, seed.children);
+        super(seed.type, seed.detectionLocation);
         this.value = seed.value;
     }
 
@@ -32,7 +32,7 @@ public final class TagLength extends Property {
     }
 
     private TagLength(@Nonnull TagLength tagLength) {
-        super(tagLength.type, tagLength.detectionLocation, tagLength.children);
+        super(tagLength.type, tagLength.detectionLocation);
         this.value = tagLength.value;
     }
 
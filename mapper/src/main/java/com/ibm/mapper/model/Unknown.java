@@ -29,7 +29,7 @@ public final class Unknown extends Property implements IPrimitive {
     }
 
     private Unknown(@Nonnull Unknown unknown) {
-        super(unknown.type, unknown.detectionLocation, unknown.children);
+        super(unknown.type, unknown.detectionLocation);
     }
 
     @Override
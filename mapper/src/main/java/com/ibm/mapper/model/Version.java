@@ -31,7 +31,7 @@ public final class Version extends Property {
     }
 
     private Version(@Nonnull Version version) {
-        super(version.type, version.detectionLocation, version.children);
+        super(version.type, version.detectionLocation);
         this.value = version.value;
     }
 
@@ -0,0 +1,567 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.mapper.serializer;
+
+import com.ibm.engine.rule.IBundle;
+import com.ibm.mapper.model.INode;
+import com.ibm.mapper.utils.DetectionLocation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Compact binary encoding of translated {@link INode} trees, used to persist detection results
+ * between scans. Nodes are written field by field (the fields of the whole class hierarchy), so
+ * every node class of the model is supported without a dedicated writer; decoding re-creates the
+ * nodes through their public constructors, see {@link NodeConstructors}.
+ *
+ * <p>The encoding starts with a magic number, a {@link #VERSION} and the layout hash, followed by
+ * the deflated list of nodes. Every value is written as a variable length integer holding a 4 bit
+ * tag and a payload, followed by the content of the value if any. Classes, enum constants, strings
+ * and {@link DetectionLocation}s are written only once per stream; the payload of a later
+ * occurrence is the index of the first one, so that node kinds, names and detection locations
+ * usually cost a single byte. Nodes, maps and lists referenced more than once (copied nodes share
+ * their children) are written once as well, which preserves the sharing when decoding.
+ *
+ * <p>The fields of a node are written by position. The header therefore holds a hash of the names
+ * and types of the fields of the node classes in the order they are first written, and decoding
+ * fails if these classes no longer have the same fields, instead of returning nodes whose values
+ * were assigned to the wrong fields.
+ *
+ * <p>Only the types used by the model are supported as field values: strings, boxed numbers and
+ * booleans, enums, node classes, {@link DetectionLocation}s, nodes, and maps and lists of those.
+ * The bundle of a detection location is restored from its identifier.
+ */
+public final class NodeCodec {
+    public static final int VERSION = 2;
+
+    private static final int MAGIC = 0x434E4F44; // CNOD
+
+    // value tags, the payload of each tag is described on the right
+    private static final int NULL = 0; // none
+    private static final int FALSE = 1; // none
+    private static final int TRUE = 2; // none
+    private static final int INTEGER = 3; // zigzag encoded value
+    private static final int LONG = 4; // none, followed by the zigzag encoded value
+    private static final int STRING = 5; // string index + 1, or 0 followed by the string
+    private static final int CLASS = 6; // class index + 1, or 0 followed by the class name
+    private static final int ENUM = 7; // constant index + 1, or 0 followed by class and name
+    private static final int LOCATION = 8; // location index + 1, or 0 followed by the fields
+    private static final int NODE = 9; // as CLASS, followed by the fields of the node
+    private static final int MAP = 10; // size, followed by the keys and values
+    private static final int LIST = 11; // size, followed by the elements
+    private static final int REFERENCE = 12; // index of an already written node, map or list
+
+    // classes of the model are written relative to its package, e.g. ".algorithms.AES"
+    private static final String MODEL_PACKAGE = INode.class.getPackageName() + ".";
+
+    private static final int TAG_BITS = 4;
+    private static final int TAG_MASK = (1 << TAG_BITS) - 1;
+
+    // placeholder of a node whose fields are being decoded
+    private static final Object PENDING = new Object();
+
+    // names and types of the fields of a node class, in encoding order
+    private static final ClassValue<byte[]> LAYOUTS =
+            new ClassValue<>() {
+                @Override
+                protected byte[] computeValue(Class<?> type) {
+                    final StringBuilder layout = new StringBuilder(type.getName()).append('{');
+                    for (Field field : NodeConstructors.fields(type)) {
+                        layout.append(field.getName())
+                                .append(':')
+                                .append(field.getType().getName())
+                                .append(';');
+                    }
+                    return layout.append('}').toString().getBytes(StandardCharsets.UTF_8);
+                }
+            };
+
+    private static final Map<String, IBundle> BUNDLES = new ConcurrentHashMap<>();
+
+    private NodeCodec() {
+        // static
+    }
+
+    @Nonnull
+    public static byte[] encode(@Nonnull List<INode> nodes) throws IOException {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream(64 + nodes.size() * 32);
+        final Writer writer = new Writer(new DataOutputStream(body));
+        writer.writeVarLong(nodes.size());
+        for (INode node : nodes) {
+            writer.writeValue(node);
+        }
+        writer.out.flush();
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + body.size() / 2);
+        final DataOutputStream header = new DataOutputStream(bytes);
+        header.writeInt(MAGIC);
+        header.writeByte(VERSION);
+        header.writeInt((int) writer.layouts.getValue());
+        header.flush();
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+            body.writeTo(out);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    @Nonnull
+    public static List<INode> decode(@Nonnull byte[] bytes) throws IOException {
+        final DataInputStream header = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (header.readInt() != MAGIC) {
+            throw new IOException("Not an encoded node list");
+        }
+        final int version = header.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported node encoding version " + version);
+        }
+        final int layouts = header.readInt();
+        final byte[] body;
+        final Inflater inflater = new Inflater(true);
+        try (InflaterInputStream in = new InflaterInputStream(header, inflater)) {
+            body = in.readAllBytes();
+        } finally {
+            inflater.end();
+        }
+
+        final Reader reader = new Reader(new DataInputStream(new ByteArrayInputStream(body)));
+        final int size = reader.readSize();
+        final List<INode> nodes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (!(reader.readValue() instanceof INode node)) {
+                throw new IOException("Expected a node");
+            }
+            nodes.add(node);
+        }
+        if (reader.in.available() > 0) {
+            throw new IOException("Unexpected data after the encoded nodes");
+        }
+        if ((int) reader.layouts.getValue() != layouts) {
+            throw new IOException("The fields of the node classes changed since they were encoded");
+        }
+        return nodes;
+    }
+
+    private static final class Writer {
+        @Nonnull private final DataOutputStream out;
+        @Nonnull private final Map<String, Integer> strings = new HashMap<>();
+        @Nonnull private final Map<Class<?>, Integer> classes = new HashMap<>();
+        @Nonnull private final Map<Enum<?>, Integer> constants = new IdentityHashMap<>();
+        @Nonnull private final Map<DetectionLocation, Integer> locations = new HashMap<>();
+        @Nonnull private final Map<Object, Integer> objects = new IdentityHashMap<>();
+        @Nonnull private final Set<Class<?>> nodeClasses = new HashSet<>();
+        @Nonnull private final CRC32 layouts = new CRC32();
+
+        private Writer(@Nonnull DataOutputStream out) {
+            this.out = out;
+        }
+
+        private void writeValue(@Nullable Object value) throws IOException {
+            if (value == null) {
+                writeHeader(NULL, 0);
+            } else if (value instanceof Boolean bool) {
+                writeHeader(bool ? TRUE : FALSE, 0);
+            } else if (value instanceof Integer integer) {
+                writeHeader(INTEGER, zigzag(integer));
+            } else if (value instanceof Long number) {
+                writeHeader(LONG, 0);
+                writeVarLong(zigzag(number));
+            } else if (value instanceof String string) {
+                writeString(string);
+            } else if (value instanceof Class<?> clazz) {
+                writeClass(CLASS, clazz);
+            } else if (value instanceof Enum<?> constant) {
+                if (writeIndex(ENUM, constants, constant)) {
+                    writeClass(CLASS, constant.getDeclaringClass());
+                    writeString(constant.name());
+                }
+            } else if (value instanceof DetectionLocation location) {
+                if (writeIndex(LOCATION, locations, location)) {
+                    writeString(location.filePath());
+                    writeVarLong(zigzag(location.lineNumber()));
+                    writeVarLong(zigzag(location.offSet()));
+                    writeVarLong(location.keywords().size());
+                    for (String keyword : location.keywords()) {
+                        writeString(keyword);
+                    }
+                    writeString(location.bundle().getIdentifier());
+                }
+            } else if (!writeReference(value)) {
+                if (value instanceof INode node) {
+                    writeClass(NODE, node.getClass());
+                    if (nodeClasses.add(node.getClass())) {
+                        layouts.update(LAYOUTS.get(node.getClass()));
+                    }
+                    for (Field field : NodeConstructors.fields(node.getClass())) {
+                        try {
+                            writeValue(field.get(node));
+                        } catch (IllegalAccessException e) {
+                            throw new IOException(e);
+                        }
+                    }
+                } else if (value instanceof Map<?, ?> map) {
+                    writeHeader(MAP, map.size());
+                    for (Map.Entry<?, ?> entry : map.entrySet()) {
+                        writeValue(entry.getKey());
+                        writeValue(entry.getValue());
+                    }
+                } else if (value instanceof List<?> list) {
+                    writeHeader(LIST, list.size());
+                    for (Object element : list) {
+                        writeValue(element);
+                    }
+                } else {
+                    throw new IOException("Unsupported value type " + value.getClass().getName());
+                }
+            }
+        }
+
+        /**
+         * Writes a reference to a node, map or list that was already written. Otherwise, the object
+         * is registered (in the order the reader will register it) and has to be written in full.
+         */
+        private boolean writeReference(@Nonnull Object value) throws IOException {
+            final Integer id = objects.get(value);
+            if (id != null) {
+                writeHeader(REFERENCE, id);
+                return true;
+            }
+            objects.put(value, objects.size());
+            return false;
+        }
+
+        private void writeString(@Nonnull String value) throws IOException {
+            if (writeIndex(STRING, strings, value)) {
+                final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarLong(bytes.length);
+                out.write(bytes);
+            }
+        }
+
+        private void writeClass(int tag, @Nonnull Class<?> type) throws IOException {
+            if (writeIndex(tag, classes, type)) {
+                final String name = type.getName();
+                writeString(
+                        name.startsWith(MODEL_PACKAGE)
+                                ? name.substring(MODEL_PACKAGE.length() - 1)
+                                : name);
+            }
+        }
+
+        /**
+         * Writes the index of a value that was already written, or registers the value.
+         *
+         * @return true if the content of the value has to be written
+         */
+        private <K> boolean writeIndex(int tag, @Nonnull Map<K, Integer> table, @Nonnull K value)
+                throws IOException {
+            final Integer id = table.get(value);
+            if (id != null) {
+                writeHeader(tag, id + 1L);
+                return false;
+            }
+            table.put(value, table.size());
+            writeHeader(tag, 0);
+            return true;
+        }
+
+        private void writeHeader(int tag, long payload) throws IOException {
+            writeVarLong((payload << TAG_BITS) | tag);
+        }
+
+        private void writeVarLong(long value) throws IOException {
+            long remaining = value;
+            while ((remaining & ~0x7FL) != 0) {
+                out.writeByte((int) ((remaining & 0x7F) | 0x80));
+                remaining >>>= 7;
+            }
+            out.writeByte((int) remaining);
+        }
+
+        /* Maps signed values to unsigned ones, so that small negative values stay small. */
+        private static long zigzag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+    }
+
+    private static final class Reader {
+        @Nonnull private final DataInputStream in;
+        @Nonnull private final List<String> strings = new ArrayList<>();
+        @Nonnull private final List<Class<?>> classes = new ArrayList<>();
+        @Nonnull private final List<Enum<?>> constants = new ArrayList<>();
+        @Nonnull private final List<DetectionLocation> locations = new ArrayList<>();
+        @Nonnull private final List<Object> objects = new ArrayList<>();
+        // identity based, see NodeConstructors#restore
+        @Nonnull private final Map<Object, Integer> objectIds = new IdentityHashMap<>();
+        @Nonnull private final Map<Object, INode> owners = new IdentityHashMap<>();
+
+        @Nonnull
+        private final Set<Object> shared = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        @Nonnull private final Set<Class<?>> nodeClasses = new HashSet<>();
+        @Nonnull private final CRC32 layouts = new CRC32();
+
+        private Reader(@Nonnull DataInputStream in) {
+            this.in = in;
+        }
+
+        @Nullable
+        private Object readValue() throws IOException {
+            final long header = readVarLong();
+            final int tag = (int) (header & TAG_MASK);
+            final long payload = header >>> TAG_BITS;
+            return switch (tag) {
+                case NULL -> null;
+                case FALSE -> Boolean.FALSE;
+                case TRUE -> Boolean.TRUE;
+                case INTEGER -> Math.toIntExact(unzigzag(payload));
+                case LONG -> unzigzag(readVarLong());
+                case STRING -> readString(payload);
+                case CLASS -> readNodeClass(payload);
+                case ENUM -> readEnum(payload);
+                case LOCATION -> readLocation(payload);
+                case NODE -> readNode(payload);
+                case MAP -> {
+                    final int size = checkSize(payload);
+                    final Map<Object, Object> map = new HashMap<>();
+                    register(map);
+                    for (int i = 0; i < size; i++) {
+                        map.put(readValue(), readValue());
+                    }
+                    yield map;
+                }
+                case LIST -> {
+                    final int size = checkSize(payload);
+                    final List<Object> list = new ArrayList<>(size);
+                    register(list);
+                    for (int i = 0; i < size; i++) {
+                        list.add(readValue());
+                    }
+                    yield list;
+                }
+                case REFERENCE -> {
+                    final Object object = lookup(objects, payload);
+                    if (object == PENDING) {
+                        throw new IOException("Reference to a node being decoded");
+                    }
+                    shared.add(object);
+                    yield object;
+                }
+                default -> throw new IOException("Unknown value tag " + tag);
+            };
+        }
+
+        @Nonnull
+        private DetectionLocation readLocation(long payload) throws IOException {
+            if (payload > 0) {
+                return lookup(locations, payload - 1);
+            }
+            final String filePath = readString();
+            final int lineNumber = Math.toIntExact(unzigzag(readVarLong()));
+            final int offSet = Math.toIntExact(unzigzag(readVarLong()));
+            final int size = readSize();
+            final String[] keywords = new String[size];
+            for (int i = 0; i < size; i++) {
+                keywords[i] = readString();
+            }
+            final String bundle = readString();
+            final DetectionLocation location =
+                    new DetectionLocation(
+                            filePath,
+                            lineNumber,
+                            offSet,
+                            List.of(keywords),
+                            BUNDLES.computeIfAbsent(bundle, id -> () -> id));
+            locations.add(location);
+            return location;
+        }
+
+        @Nonnull
+        private INode readNode(long payload) throws IOException {
+            final Class<? extends INode> type = readNodeClass(payload);
+            if (nodeClasses.add(type)) {
+                layouts.update(LAYOUTS.get(type));
+            }
+            // registered before its fields, as by the writer
+            final int id = objects.size();
+            objects.add(PENDING);
+            final List<Field> fields = NodeConstructors.fields(type);
+            final Object[] values = new Object[fields.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = readValue();
+            }
+            final INode node = NodeConstructors.restore(type, values, owners, shared);
+            objects.set(id, node);
+            try {
+                for (int i = 0; i < values.length; i++) {
+                    final Object actual = fields.get(i).get(node);
+                    if (actual instanceof Map<?, ?> || actual instanceof List<?>) {
+                        owners.put(actual, node);
+                        final Integer valueId = objectIds.get(values[i]);
+                        if (actual != values[i] && valueId != null) {
+                            // later references are to the collection the node holds
+                            objects.set(valueId, actual);
+                            objectIds.put(actual, valueId);
+                        }
+                    }
+                }
+            } catch (IllegalAccessException e) {
+                throw new IOException(e);
+            }
+            return node;
+        }
+
+        private void register(@Nonnull Object object) {
+            objectIds.put(object, objects.size());
+            objects.add(object);
+        }
+
+        @Nonnull
+        private Class<? extends INode> readNodeClass(long payload) throws IOException {
+            final Class<?> type = readClass(payload);
+            if (!INode.class.isAssignableFrom(type)) {
+                throw new IOException(type.getName() + " is not a node class");
+            }
+            return type.asSubclass(INode.class);
+        }
+
+        @Nonnull
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Enum<?> readEnum(long payload) throws IOException {
+            if (payload > 0) {
+                return lookup(constants, payload - 1);
+            }
+            final Class<?> type = readClass(expect(CLASS));
+            final String name = readString();
+            if (!type.isEnum()) {
+                throw new IOException(type.getName() + " is not an enum");
+            }
+            try {
+                final Enum<?> constant = Enum.valueOf((Class<? extends Enum>) type, name);
+                constants.add(constant);
+                return constant;
+            } catch (IllegalArgumentException e) {
+                throw new IOException(e);
+            }
+        }
+
+        @Nonnull
+        private Class<?> readClass(long payload) throws IOException {
+            if (payload > 0) {
+                return lookup(classes, payload - 1);
+            }
+            final String written = readString();
+            final String name =
+                    written.startsWith(".") ? MODEL_PACKAGE + written.substring(1) : written;
+            try {
+                final Class<?> type = Class.forName(name, false, NodeCodec.class.getClassLoader());
+                classes.add(type);
+                return type;
+            } catch (ClassNotFoundException e) {
+                throw new IOException(e);
+            }
+        }
+
+        @Nonnull
+        private String readString() throws IOException {
+            return readString(expect(STRING));
+        }
+
+        @Nonnull
+        private String readString(long payload) throws IOException {
+            if (payload > 0) {
+                return lookup(strings, payload - 1);
+            }
+            final byte[] bytes = new byte[readSize()];
+            in.readFully(bytes);
+            final String value = new String(bytes, StandardCharsets.UTF_8);
+            strings.add(value);
+            return value;
+        }
+
+        /* Reads the header of a value of the given tag, and returns its payload. */
+        private long expect(int tag) throws IOException {
+            final long header = readVarLong();
+            if ((header & TAG_MASK) != tag) {
+                throw new IOException("Unexpected value tag " + (header & TAG_MASK));
+            }
+            return header >>> TAG_BITS;
+        }
+
+        private int readSize() throws IOException {
+            return checkSize(readVarLong());
+        }
+
+        /* A length cannot exceed the number of remaining bytes. */
+        private int checkSize(long size) throws IOException {
+            if (size < 0 || size > in.available()) {
+                throw new IOException("Invalid size " + size);
+            }
+            return (int) size;
+        }
+
+        private long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                final int b = in.readUnsignedByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed variable length integer");
+        }
+
+        private static long unzigzag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        @Nonnull
+        private static <E> E lookup(@Nonnull List<E> table, long id) throws IOException {
+            if (id < 0 || id >= table.size()) {
+                throw new IOException("Invalid table index " + id);
+            }
+            return table.get((int) id);
+        }
+    }
+}
@@ -0,0 +1,346 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.mapper.serializer;
+
+import com.ibm.mapper.model.Algorithm;
+import com.ibm.mapper.model.INode;
+import com.ibm.mapper.model.IPrimitive;
+import com.ibm.mapper.utils.DetectionLocation;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Re-creates decoded nodes through the public constructors of their class, so that a decoded node
+ * is built like the node it was encoded from. The arguments of a constructor are taken from the
+ * decoded fields by type (a location, a kind, a name or value, an origin, a collection), from the
+ * fields of the decoded children (e.g. the digest size a name is built from), or, for a node
+ * argument, from the node sharing the decoded children, from the decoded children, from a node of
+ * the same class built first (for the constructors copying a node as another kind) or from a plain
+ * {@link Algorithm} holding the decoded name and location (for the constructors naming a node after
+ * an algorithm whose children were replaced afterwards). The children are then restored through
+ * {@link INode#put}.
+ *
+ * <p>A constructor is only accepted if the node it builds holds the decoded value in every field;
+ * when no public constructor does, the node cannot be restored and decoding fails.
+ */
+final class NodeConstructors {
+    private static final ClassValue<List<Field>> FIELDS =
+            new ClassValue<>() {
+                @Override
+                protected List<Field> computeValue(Class<?> type) {
+                    final List<Field> fields = new ArrayList<>();
+                    for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                        for (Field field : c.getDeclaredFields()) {
+                            if (!Modifier.isStatic(field.getModifiers())
+                                    && !Modifier.isTransient(field.getModifiers())) {
+                                field.setAccessible(true);
+                                fields.add(field);
+                            }
+                        }
+                    }
+                    return List.copyOf(fields);
+                }
+            };
+
+    private static final ClassValue<List<Constructor<?>>> CONSTRUCTORS =
+            new ClassValue<>() {
+                @Override
+                protected List<Constructor<?>> computeValue(Class<?> type) {
+                    // the constructors taking the most state first
+                    return Arrays.stream(type.getConstructors())
+                            .sorted(
+                                    Comparator.comparingInt(Constructor<?>::getParameterCount)
+                                            .reversed())
+                            .<Constructor<?>>map(constructor -> constructor)
+                            .toList();
+                }
+            };
+
+    // constructor that restored the last node of each class, tried first
+    private static final Map<Class<?>, Constructor<?>> LAST_USED = new ConcurrentHashMap<>();
+
+    @Nonnull private final Class<? extends INode> type;
+    @Nonnull private final List<Field> fields;
+    @Nonnull private final Object[] values;
+    @Nonnull private final Map<Object, INode> owners;
+    @Nonnull private final Set<Object> shared;
+    // a node built for a prototype can hold another kind than the decoded one
+    private final boolean prototype;
+
+    private NodeConstructors(
+            @Nonnull Class<? extends INode> type,
+            @Nonnull Object[] values,
+            @Nonnull Map<Object, INode> owners,
+            @Nonnull Set<Object> shared,
+            boolean prototype) {
+        this.type = type;
+        this.fields = fields(type);
+        this.values = values;
+        this.owners = owners;
+        this.shared = shared;
+        this.prototype = prototype;
+    }
+
+    /** Instance fields of the class hierarchy of a node class, in encoding order. */
+    @Nonnull
+    static List<Field> fields(@Nonnull Class<?> type) {
+        return FIELDS.get(type);
+    }
+
+    /**
+     * Builds a node of the type holding the decoded field values.
+     *
+     * @param values the decoded values, in the order of {@link #fields}
+     * @param owners the nodes decoded so far, by the identity of their maps and lists
+     * @param shared the decoded maps and lists that belong to a node decoded before (both
+     *     collections are identity based)
+     */
+    @Nonnull
+    static INode restore(
+            @Nonnull Class<? extends INode> type,
+            @Nonnull Object[] values,
+            @Nonnull Map<Object, INode> owners,
+            @Nonnull Set<Object> shared)
+            throws IOException {
+        final INode node = new NodeConstructors(type, values, owners, shared, false).build();
+        if (node == null) {
+            throw new IOException(
+                    "No public constructor of " + type.getName() + " restores the node");
+        }
+        return node;
+    }
+
+    @Nullable
+    private INode build() {
+        final Constructor<?> lastUsed = prototype ? null : LAST_USED.get(type);
+        if (lastUsed != null) {
+            final INode node = tryConstructor(lastUsed);
+            if (node != null) {
+                return node;
+            }
+        }
+        for (Constructor<?> constructor : CONSTRUCTORS.get(type)) {
+            if (constructor == lastUsed
+                    || (prototype
+                            && Arrays.asList(constructor.getParameterTypes()).contains(type))) {
+                continue;
+            }
+            final INode node = tryConstructor(constructor);
+            if (node != null) {
+                if (!prototype) {
+                    LAST_USED.put(type, constructor);
+                }
+                return node;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private INode tryConstructor(@Nonnull Constructor<?> constructor) {
+        final Class<?>[] parameterTypes = constructor.getParameterTypes();
+        final List<List<Object>> candidates = new ArrayList<>(parameterTypes.length);
+        for (Class<?> parameterType : parameterTypes) {
+            final List<Object> arguments = argumentsFor(parameterType);
+            if (arguments.isEmpty()) {
+                return null;
+            }
+            candidates.add(arguments);
+        }
+        return tryArguments(constructor, candidates, new Object[parameterTypes.length], 0);
+    }
+
+    @Nullable
+    private INode tryArguments(
+            @Nonnull Constructor<?> constructor,
+            @Nonnull List<List<Object>> candidates,
+            @Nonnull Object[] arguments,
+            int index) {
+        if (index == arguments.length) {
+            return construct(constructor, arguments);
+        }
+        for (Object candidate : candidates.get(index)) {
+            arguments[index] = candidate;
+            final INode node = tryArguments(constructor, candidates, arguments, index + 1);
+            if (node != null) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    /** The decoded values that can be passed as an argument of the type. */
+    @Nonnull
+    private List<Object> argumentsFor(@Nonnull Class<?> parameterType) {
+        if (INode.class.isAssignableFrom(parameterType)) {
+            final List<Object> nodes = new ArrayList<>();
+            for (Object value : values) {
+                final INode owner = value == null ? null : owners.get(value);
+                if (parameterType.isInstance(owner)) {
+                    nodes.add(owner);
+                }
+                if (value instanceof Map<?, ?> children) {
+                    children.values().stream()
+                            .filter(parameterType::isInstance)
+                            .forEach(nodes::add);
+                }
+            }
+            if (parameterType == type && !prototype) {
+                final INode copied =
+                        new NodeConstructors(type, values, owners, shared, true).build();
+                if (copied != null) {
+                    nodes.add(copied);
+                }
+            }
+            if (parameterType.isAssignableFrom(Algorithm.class)
+                    && valueOfType(String.class) instanceof String name
+                    && valueOfType(DetectionLocation.class) instanceof DetectionLocation location) {
+                nodes.add(new Algorithm(name, IPrimitive.class, location));
+            }
+            return nodes;
+        }
+        final Class<?> boxed = boxed(parameterType);
+        Object argument = null;
+        int matches = 0;
+        for (int i = 0; i < fields.size(); i++) {
+            if (boxed.isAssignableFrom(boxed(fields.get(i).getType()))) {
+                argument = values[i];
+                matches++;
+            }
+        }
+        if (matches == 0) {
+            // e.g. a digest size the name is built from, kept by a child
+            return valuesOfChildren(boxed);
+        }
+        if (matches != 1 || (argument == null && parameterType.isPrimitive())) {
+            return List.of();
+        }
+        return Arrays.asList(argument);
+    }
+
+    /** The value of the only field of the type, if there is exactly one. */
+    @Nullable
+    private Object valueOfType(@Nonnull Class<?> fieldType) {
+        Object value = null;
+        int matches = 0;
+        for (int i = 0; i < fields.size(); i++) {
+            if (fields.get(i).getType() == fieldType) {
+                value = values[i];
+                matches++;
+            }
+        }
+        return matches == 1 ? value : null;
+    }
+
+    @Nonnull
+    private List<Object> valuesOfChildren(@Nonnull Class<?> boxed) {
+        final List<Object> result = new ArrayList<>();
+        for (Object value : values) {
+            if (value instanceof Map<?, ?> children) {
+                for (Object child : children.values()) {
+                    for (Field field : fields(child.getClass())) {
+                        if (boxed.isAssignableFrom(boxed(field.getType()))) {
+                            try {
+                                final Object childValue = field.get(child);
+                                if (childValue != null && !result.contains(childValue)) {
+                                    result.add(childValue);
+                                }
+                            } catch (IllegalAccessException e) {
+                                // not a candidate
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    @Nullable
+    private INode construct(@Nonnull Constructor<?> constructor, @Nonnull Object[] arguments) {
+        try {
+            final INode node = (INode) constructor.newInstance(arguments);
+            for (int i = 0; i < fields.size(); i++) {
+                final Object actual = fields.get(i).get(node);
+                if (shared.contains(values[i])) {
+                    if (actual != values[i]) {
+                        return null;
+                    }
+                } else if (actual instanceof Map<?, ?> && values[i] instanceof Map<?, ?> children) {
+                    if (owners.containsKey(actual)) {
+                        // the constructor took the children of another node
+                        return null;
+                    }
+                    restoreChildren(node, children);
+                }
+            }
+            for (int i = 0; i < fields.size(); i++) {
+                final Object actual = fields.get(i).get(node);
+                if (actual != values[i]
+                        && !Objects.equals(actual, values[i])
+                        && !(prototype && actual instanceof Class<?>)) {
+                    return null;
+                }
+            }
+            return node;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // the constructor rejected the arguments
+            return null;
+        }
+    }
+
+    private static void restoreChildren(@Nonnull INode node, @Nonnull Map<?, ?> children) {
+        for (Class<? extends INode> kind : List.copyOf(node.getChildren().keySet())) {
+            node.removeChildOfType(kind);
+        }
+        for (Object child : children.values()) {
+            if (child instanceof INode childNode) {
+                node.put(childNode);
+            }
+        }
+    }
+
+    @Nonnull
+    private static Class<?> boxed(@Nonnull Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        if (type == int.class) {
+            return Integer.class;
+        } else if (type == long.class) {
+            return Long.class;
+        } else if (type == boolean.class) {
+            return Boolean.class;
+        }
+        return type;
+    }
+}
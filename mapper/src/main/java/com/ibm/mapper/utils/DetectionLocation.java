@@ -20,12 +20,95 @@
 package com.ibm.mapper.utils;
 
 import com.ibm.engine.rule.IBundle;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import javax.annotation.Nonnull;
 
-public record DetectionLocation(
-        @Nonnull String filePath,
-        @Nonnull Integer lineNumber,
-        @Nonnull Integer offSet,
-        @Nonnull List<String> keywords,
-        @Nonnull IBundle bundle) {}
+/**
+ * Location of a detection in the scanned sources. The hash code is computed once, since locations
+ * are compared, and put in hash sets and maps, again and again while the nodes of a file are
+ * translated, reorganised and merged. The keyword list is copied; it must not be {@code null}, but
+ * may contain {@code null} elements.
+ */
+public final class DetectionLocation {
+    @Nonnull private final String filePath;
+    private final int lineNumber;
+    private final int offSet;
+    @Nonnull private final List<String> keywords;
+    @Nonnull private final IBundle bundle;
+    private final int hash;
+
+    public DetectionLocation(
+            @Nonnull String filePath,
+            int lineNumber,
+            int offSet,
+            @Nonnull List<String> keywords,
+            @Nonnull IBundle bundle) {
+        this.filePath = filePath;
+        this.lineNumber = lineNumber;
+        this.offSet = offSet;
+        this.keywords = Collections.unmodifiableList(new ArrayList<>(keywords));
+        this.bundle = bundle;
+        this.hash =
+                Objects.hash(filePath, lineNumber, offSet, this.keywords, bundle.getIdentifier());
+    }
+
+    @Nonnull
+    public String filePath() {
+        return filePath;
+    }
+
+    public int lineNumber() {
+        return lineNumber;
+    }
+
+    public int offSet() {
+        return offSet;
+    }
+
+    @Nonnull
+    public List<String> keywords() {
+        return keywords;
+    }
+
+    @Nonnull
+    public IBundle bundle() {
+        return bundle;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) return true;
+        if (!(object instanceof DetectionLocation that)) return false;
+        return hash == that.hash
+                && lineNumber == that.lineNumber
+                && offSet == that.offSet
+                && filePath.equals(that.filePath)
+                && keywords.equals(that.keywords)
+                // bundles are usually lambdas, and a decoded location gets another instance
+                && (bundle == that.bundle
+                        || bundle.getIdentifier().equals(that.bundle.getIdentifier()));
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "DetectionLocation[filePath="
+                + filePath
+                + ", lineNumber="
+                + lineNumber
+                + ", offSet="
+                + offSet
+                + ", keywords="
+                + keywords
+                + ", bundle="
+                + bundle
+                + "]";
+    }
+}
@@ -41,7 +41,14 @@ public final class Utils {
         // singleton
     }
 
+    public static boolean isNodeTreeLoggingEnabled() {
+        return LOGGER.isDebugEnabled();
+    }
+
     public static void printNodeTree(@Nonnull final String step, @Nonnull List<INode> rootNodes) {
+        if (!LOGGER.isDebugEnabled()) {
+            return;
+        }
         printNodes(step, 0, rootNodes);
     }
 
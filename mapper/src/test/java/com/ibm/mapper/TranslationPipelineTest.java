@@ -0,0 +1,200 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.ibm.engine.detection.DetectionStore;
+import com.ibm.engine.detection.Finding;
+import com.ibm.mapper.model.INode;
+import com.ibm.mapper.model.Oid;
+import com.ibm.mapper.utils.DetectionLocation;
+import com.ibm.mapper.utils.Utils;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+class TranslationPipelineTest {
+    private static final DetectionLocation LOCATION =
+            new DetectionLocation("src/Main.java", 1, 4, List.of("getInstance"), () -> "Jca");
+
+    private final Map<DetectionStore<Object, Object, Object, Object>, INode> nodes =
+            new HashMap<>();
+    private final Map<String, String> threads = new ConcurrentHashMap<>();
+    private final List<String> handed = new ArrayList<>();
+
+    // the node trees are logged at debug level, which completes the translations at submission
+    private final Logger utilsLogger = (Logger) LoggerFactory.getLogger(Utils.class);
+    @Nullable private Level utilsLevel;
+
+    @BeforeEach
+    void logNodeTreesOnlyWhenTraced() {
+        utilsLevel = utilsLogger.getLevel();
+        utilsLogger.setLevel(Level.INFO);
+    }
+
+    @AfterEach
+    void restoreLogging() {
+        utilsLogger.setLevel(utilsLevel);
+    }
+
+    @Test
+    void findingsAreHandedInSubmissionOrder() throws InterruptedException {
+        final CountDownLatch firstCompleted = new CountDownLatch(1);
+        final TranslationPipeline<Object, Object, Object, Object> pipeline =
+                new TranslationPipeline<>(
+                        this::translate,
+                        translated -> {
+                            if (name(translated).equals("first")) {
+                                await(firstCompleted);
+                            }
+                            return translated;
+                        });
+        final Finding<Object, Object, Object, Object> first = finding("first");
+        pipeline.submit(first);
+        pipeline.submit(finding("second"));
+        pipeline.submit(finding("third"));
+
+        // the later findings are not handed before the first one
+        TimeUnit.MILLISECONDS.sleep(50);
+        pipeline.drainCompleted(this::hand);
+        assertThat(handed).isEmpty();
+
+        firstCompleted.countDown();
+        pipeline.drainAll(this::hand);
+        assertThat(handed).containsExactly("first", "second", "third");
+    }
+
+    @Test
+    void onlyTheCompletionRunsOnTheWorkers() {
+        final TranslationPipeline<Object, Object, Object, Object> pipeline =
+                new TranslationPipeline<>(
+                        store -> {
+                            threads.put("translation", Thread.currentThread().getName());
+                            return translate(store);
+                        },
+                        translated -> {
+                            threads.put("completion", Thread.currentThread().getName());
+                            return translated;
+                        });
+        pipeline.submit(finding("first"));
+        pipeline.drainAll(this::hand);
+
+        assertThat(threads.get("translation")).isEqualTo(Thread.currentThread().getName());
+        assertThat(threads.get("completion")).startsWith("translation-worker-");
+    }
+
+    @Test
+    void tracedFindingsAreCompletedAtSubmission() {
+        final List<String> steps = new ArrayList<>();
+        final TranslationPipeline<Object, Object, Object, Object> pipeline =
+                new TranslationPipeline<>(
+                        this::translate,
+                        translated -> {
+                            threads.put("completion", Thread.currentThread().getName());
+                            ITranslationProcess.trace("completed", translated);
+                            return translated;
+                        });
+        ITranslationProcess.registerTracer((step, translated) -> steps.add(name(translated)));
+        try {
+            pipeline.submit(finding("first"));
+        } finally {
+            ITranslationProcess.registerTracer(null);
+        }
+
+        assertThat(threads.get("completion")).isEqualTo(Thread.currentThread().getName());
+        assertThat(steps).containsExactly("first");
+        pipeline.drainCompleted(this::hand);
+        assertThat(handed).containsExactly("first");
+    }
+
+    @Test
+    void aFailedCompletionSurfacesWhenItsFindingIsHanded() {
+        final TranslationPipeline<Object, Object, Object, Object> pipeline =
+                new TranslationPipeline<>(
+                        this::translate,
+                        translated -> {
+                            if (name(translated).equals("second")) {
+                                throw new IllegalArgumentException("second");
+                            }
+                            return translated;
+                        });
+        pipeline.submit(finding("first"));
+        pipeline.submit(finding("second"));
+        pipeline.submit(finding("third"));
+
+        assertThatThrownBy(() -> pipeline.drainAll(this::hand))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("second");
+        assertThat(handed).containsExactly("first");
+
+        // the next file starts without the findings left
+        pipeline.clear();
+        pipeline.submit(finding("fourth"));
+        pipeline.drainAll(this::hand);
+        assertThat(handed).containsExactly("first", "fourth");
+    }
+
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    private Finding<Object, Object, Object, Object> finding(@Nonnull String name) {
+        final DetectionStore<Object, Object, Object, Object> store = mock(DetectionStore.class);
+        nodes.put(store, new Oid(name, LOCATION));
+        return new Finding<>(store);
+    }
+
+    @Nonnull
+    private List<INode> translate(@Nonnull DetectionStore<Object, Object, Object, Object> store) {
+        return List.of(nodes.get(store));
+    }
+
+    private void hand(
+            @Nonnull Finding<Object, Object, Object, Object> finding,
+            @Nonnull List<INode> translated) {
+        handed.add(name(translated));
+    }
+
+    @Nonnull
+    private static String name(@Nonnull List<INode> translated) {
+        return translated.get(0).asString();
+    }
+
+    private static void await(@Nonnull CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.mapper.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.mapper.model.algorithms.AES;
+import com.ibm.mapper.model.functionality.Encrypt;
+import com.ibm.mapper.model.mode.CBC;
+import com.ibm.mapper.utils.DetectionLocation;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class DeepCopyTest {
+    private static final DetectionLocation LOCATION =
+            new DetectionLocation("test.java", 1, 1, List.of(), () -> "Jca");
+
+    @Test
+    void propertyCopyHasItsOwnChildren() {
+        final Mode mode = new CBC(LOCATION);
+        final KeyLength keyLength = new KeyLength(128, LOCATION);
+        mode.put(keyLength);
+
+        final INode copy = mode.deepCopy();
+        copy.put(new BlockSize(64, LOCATION));
+
+        assertThat(copy.getChildren()).isNotSameAs(mode.getChildren());
+        assertThat(mode.getChildren().get(KeyLength.class)).isSameAs(keyLength);
+        assertThat(mode.hasChildOfType(BlockSize.class)).isEmpty();
+        assertThat(copy.getChildren().get(KeyLength.class))
+                .isNotSameAs(keyLength)
+                .isEqualTo(keyLength);
+    }
+
+    @Test
+    void copiesAreIndependentAtEveryLevel() {
+        final AES aes = new AES(128, new CBC(LOCATION), LOCATION);
+        aes.put(new Encrypt(LOCATION));
+
+        final INode copy = aes.deepCopy();
+        copy.getChildren().get(Mode.class).put(new BlockSize(64, LOCATION));
+        copy.removeChildOfType(Encrypt.class);
+
+        assertThat(aes.getChildren().get(Mode.class).hasChildren()).isFalse();
+        assertThat(aes.hasChildOfType(Encrypt.class)).isPresent();
+        assertThat(copy.hasChildOfType(KeyLength.class)).isPresent();
+    }
+}
@@ -0,0 +1,332 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.mapper.serializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ibm.mapper.model.BlockCipher;
+import com.ibm.mapper.model.BlockSize;
+import com.ibm.mapper.model.IAsset;
+import com.ibm.mapper.model.INode;
+import com.ibm.mapper.model.Key;
+import com.ibm.mapper.model.KeyLength;
+import com.ibm.mapper.model.Oid;
+import com.ibm.mapper.model.Protocol;
+import com.ibm.mapper.model.algorithms.AES;
+import com.ibm.mapper.model.functionality.Encrypt;
+import com.ibm.mapper.model.mode.GCM;
+import com.ibm.mapper.utils.DetectionLocation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+class NodeCodecTest {
+    // magic number, version and layout hash
+    private static final int HEADER = 9;
+
+    private static final DetectionLocation LOCATION =
+            new DetectionLocation(
+                    "src/main/java/com/example/Crypto.java",
+                    42,
+                    7,
+                    List.of("Cipher.getInstance", "AES/GCM/NoPadding"),
+                    () -> "Jca");
+
+    @TestFactory
+    Stream<DynamicTest> everyNodeClassRoundTrips() throws IOException, URISyntaxException {
+        final List<Class<? extends INode>> nodeClasses = nodeClasses();
+        assertThat(nodeClasses).hasSizeGreaterThan(250);
+        return nodeClasses.stream()
+                .map(
+                        type ->
+                                DynamicTest.dynamicTest(
+                                        type.getSimpleName(),
+                                        () -> {
+                                            final INode node = instantiate(type, nodeClasses, 0);
+                                            assertThat(node)
+                                                    .as("instance of %s", type.getName())
+                                                    .isNotNull();
+                                            node.put(new KeyLength(256, LOCATION));
+                                            node.put(new Encrypt(LOCATION));
+                                            assertRoundTrip(List.of(node));
+                                        }));
+    }
+
+    @Test
+    void sharedChildrenStayShared() throws IOException {
+        final AES aes = new AES(128, new GCM(LOCATION), LOCATION);
+        final AES copy = new AES(BlockCipher.class, aes);
+        final List<INode> decoded = assertRoundTrip(List.of(aes, copy));
+
+        assertThat(copy.getChildren()).isSameAs(aes.getChildren());
+        assertThat(decoded.get(1).getChildren()).isSameAs(decoded.get(0).getChildren());
+    }
+
+    @Test
+    void decodedLocationsEqualTheOriginals() throws IOException {
+        final List<INode> decoded = assertRoundTrip(List.of(new AES(128, LOCATION)));
+
+        assertThat(((IAsset) decoded.get(0)).getDetectionContext())
+                .isEqualTo(LOCATION)
+                .hasSameHashCodeAs(LOCATION);
+    }
+
+    @Test
+    void repeatedStringsAndKindsAreWrittenOnce() throws IOException {
+        final List<INode> nodes = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final AES aes = new AES(128, new GCM(LOCATION), LOCATION);
+            aes.put(new BlockSize(128, LOCATION));
+            aes.put(new Oid("2.16.840.1.101.3.4.1", LOCATION));
+            nodes.add(aes);
+        }
+        final int single = NodeCodec.encode(nodes.subList(0, 1)).length;
+        final int all = NodeCodec.encode(nodes).length;
+        // each further node only costs its structure, not its names
+        assertThat(all - single).isLessThan(99 * single / 3);
+    }
+
+    @Test
+    void invalidInputIsRejected() throws IOException {
+        final byte[] bytes = NodeCodec.encode(List.of(new AES(LOCATION)));
+
+        final byte[] otherVersion = bytes.clone();
+        otherVersion[4] = (byte) (NodeCodec.VERSION + 1);
+        assertThatThrownBy(() -> NodeCodec.decode(otherVersion))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("version");
+
+        final byte[] truncated = Arrays.copyOf(bytes, bytes.length / 2);
+        assertThatThrownBy(() -> NodeCodec.decode(truncated)).isInstanceOf(IOException.class);
+
+        assertThatThrownBy(() -> NodeCodec.decode(new byte[] {1, 2, 3, 4, 5}))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void changedFieldsAreRejected() throws IOException {
+        final byte[] bytes = NodeCodec.encode(List.of(new Key(new AES(LOCATION))));
+
+        // a protocol has the fields of a key by position, but its name is called type
+        final byte[] renamed = renameClass(bytes, ".Key", ".Protocol");
+        assertThat(NodeConstructors.fields(Protocol.class).stream().map(Field::getType))
+                .containsExactlyElementsOf(
+                        NodeConstructors.fields(Key.class).stream().map(Field::getType).toList());
+        assertThatThrownBy(() -> NodeCodec.decode(renamed)).isInstanceOf(IOException.class);
+
+        // the layout hash of the header, as if the fields of a class were different when encoding
+        final byte[] otherLayout = bytes.clone();
+        otherLayout[5] ^= 1;
+        assertThatThrownBy(() -> NodeCodec.decode(otherLayout))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("fields of the node classes changed");
+    }
+
+    /* Replaces the name of a class written in an encoded node list, keeping its header. */
+    @Nonnull
+    private static byte[] renameClass(
+            @Nonnull byte[] bytes, @Nonnull String from, @Nonnull String to) throws IOException {
+        final byte[] body;
+        try (InflaterInputStream in =
+                new InflaterInputStream(
+                        new ByteArrayInputStream(bytes, HEADER, bytes.length - HEADER),
+                        new Inflater(true))) {
+            body = in.readAllBytes();
+        }
+        final byte[] written = (((char) from.length()) + from).getBytes(StandardCharsets.UTF_8);
+        final int index = indexOf(body, written);
+        assertThat(index).isNotNegative();
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(bytes, 0, HEADER);
+        try (DeflaterOutputStream deflated =
+                new DeflaterOutputStream(out, new Deflater(Deflater.BEST_SPEED, true))) {
+            deflated.write(body, 0, index);
+            deflated.write((((char) to.length()) + to).getBytes(StandardCharsets.UTF_8));
+            deflated.write(body, index + written.length, body.length - index - written.length);
+        }
+        return out.toByteArray();
+    }
+
+    private static int indexOf(@Nonnull byte[] bytes, @Nonnull byte[] part) {
+        for (int i = 0; i + part.length <= bytes.length; i++) {
+            if (Arrays.equals(bytes, i, i + part.length, part, 0, part.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Nonnull
+    private static List<INode> assertRoundTrip(@Nonnull List<INode> nodes) throws IOException {
+        final List<INode> decoded = NodeCodec.decode(NodeCodec.encode(nodes));
+        assertThat(decoded).hasSameSizeAs(nodes);
+        for (int i = 0; i < nodes.size(); i++) {
+            assertThat(decoded.get(i)).isExactlyInstanceOf(nodes.get(i).getClass());
+            assertThat(decoded.get(i).asString()).isEqualTo(nodes.get(i).asString());
+        }
+        assertThat(decoded)
+                .usingRecursiveComparison()
+                .ignoringFieldsMatchingRegexes(".*bundle")
+                .isEqualTo(nodes);
+        // the bundle is restored from its identifier
+        assertThat(NodeCodec.encode(decoded)).isEqualTo(NodeCodec.encode(nodes));
+        return decoded;
+    }
+
+    /* All concrete node classes of the model, found in the compiled classes of the mapper. */
+    @Nonnull
+    private static List<Class<? extends INode>> nodeClasses()
+            throws IOException, URISyntaxException {
+        final Path root =
+                Path.of(INode.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        final Path model = root.resolve("com/ibm/mapper/model");
+        final List<Class<? extends INode>> classes = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(model)) {
+            for (Path file : files.filter(f -> f.toString().endsWith(".class")).toList()) {
+                final String name =
+                        root.relativize(file).toString().replace(".class", "").replace('/', '.');
+                try {
+                    final Class<?> type = Class.forName(name);
+                    if (INode.class.isAssignableFrom(type)
+                            && !type.isInterface()
+                            && !Modifier.isAbstract(type.getModifiers())
+                            && !type.isAnonymousClass()
+                            && !type.isSynthetic()) {
+                        classes.add(type.asSubclass(INode.class));
+                    }
+                } catch (ClassNotFoundException e) {
+                    throw new IOException(e);
+                }
+            }
+        }
+        classes.sort(Comparator.comparing(Class::getName));
+        return classes;
+    }
+
+    /* Creates an instance with the simplest public constructor that accepts generated values. */
+    @Nullable
+    private static INode instantiate(
+            @Nonnull Class<? extends INode> type,
+            @Nonnull List<Class<? extends INode>> nodeClasses,
+            int depth) {
+        if (depth > 2) {
+            return null;
+        }
+        final List<Constructor<?>> constructors =
+                Arrays.stream(type.getConstructors())
+                        .sorted(Comparator.comparingInt(Constructor::getParameterCount))
+                        .toList();
+        for (Constructor<?> constructor : constructors) {
+            final Object[] arguments = new Object[constructor.getParameterCount()];
+            boolean supported = true;
+            for (int i = 0; i < arguments.length && supported; i++) {
+                final Optional<Object> argument =
+                        argument(
+                                constructor.getParameterTypes()[i],
+                                constructor.getGenericParameterTypes()[i],
+                                nodeClasses,
+                                depth);
+                supported = argument.isPresent();
+                arguments[i] = argument.orElse(null);
+            }
+            if (supported) {
+                try {
+                    return (INode) constructor.newInstance(arguments);
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    // try the next constructor
+                }
+            }
+        }
+        return null;
+    }
+
+    @Nonnull
+    private static Optional<Object> argument(
+            @Nonnull Class<?> type,
+            @Nonnull Type genericType,
+            @Nonnull List<Class<? extends INode>> nodeClasses,
+            int depth) {
+        if (type == DetectionLocation.class) {
+            return Optional.of(LOCATION);
+        } else if (type == String.class) {
+            return Optional.of("test");
+        } else if (type == int.class || type == Integer.class) {
+            return Optional.of(128);
+        } else if (type == long.class || type == Long.class) {
+            return Optional.of(128L);
+        } else if (type == boolean.class || type == Boolean.class) {
+            return Optional.of(true);
+        } else if (type.isEnum()) {
+            return Optional.of(type.getEnumConstants()[0]);
+        } else if (type == List.class || type == Collection.class) {
+            return Optional.of(new ArrayList<>());
+        } else if (type == Class.class
+                && genericType instanceof ParameterizedType parameterized
+                && parameterized.getActualTypeArguments()[0] instanceof WildcardType wildcard
+                && wildcard.getUpperBounds()[0] instanceof Class<?> bound) {
+            // the bound itself, e.g. IPrimitive for a Class<? extends IPrimitive>
+            return Optional.of(bound);
+        } else if (type == Set.class) {
+            return Optional.of(Set.of());
+        } else if (type == Map.class) {
+            return Optional.of(new HashMap<>());
+        } else if (INode.class.isAssignableFrom(type)) {
+            return nodeClasses.stream()
+                    .filter(type::isAssignableFrom)
+                    .sorted(Comparator.comparing(c -> c != type))
+                    .map(c -> (Object) instantiate(c, nodeClasses, depth + 1))
+                    .filter(Objects::nonNull)
+                    .findFirst();
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.mapper.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ibm.engine.rule.IBundle;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class DetectionLocationTest {
+    private static final IBundle BUNDLE = () -> "Jca";
+
+    @Test
+    void equality() {
+        final DetectionLocation location =
+                new DetectionLocation("src/Main.java", 1, 4, List.of("getInstance"), BUNDLE);
+        final DetectionLocation same =
+                new DetectionLocation(
+                        new String("src/Main.java"),
+                        1,
+                        4,
+                        new ArrayList<>(List.of("getInstance")),
+                        BUNDLE);
+
+        assertThat(same).isEqualTo(location).hasSameHashCodeAs(location);
+        assertThat(new DetectionLocation("src/Main.java", 2, 4, List.of("getInstance"), BUNDLE))
+                .isNotEqualTo(location);
+        assertThat(new DetectionLocation("src/Main.java", 1, 4, List.of(), BUNDLE))
+                .isNotEqualTo(location);
+        // bundles are compared by their identifier
+        assertThat(
+                        new DetectionLocation(
+                                "src/Main.java", 1, 4, List.of("getInstance"), () -> "Jca"))
+                .isEqualTo(location)
+                .hasSameHashCodeAs(location);
+        assertThat(
+                        new DetectionLocation(
+                                "src/Main.java",
+                                1,
+                                4,
+                                List.of("getInstance"),
+                                () -> "BouncyCastle"))
+                .isNotEqualTo(location);
+    }
+
+    @Test
+    void keywordsMayContainNull() {
+        final List<String> keywords = new ArrayList<>();
+        keywords.add(null);
+        keywords.add("getInstance");
+        final DetectionLocation location =
+                new DetectionLocation("src/Main.java", 1, 4, keywords, BUNDLE);
+        keywords.clear();
+
+        assertThat(location.keywords()).containsExactly(null, "getInstance");
+        assertThat(new DetectionLocation("src/Main.java", 1, 4, location.keywords(), BUNDLE))
+                .isEqualTo(location);
+        assertThatThrownBy(() -> new DetectionLocation("src/Main.java", 1, 4, null, BUNDLE))
+                .isInstanceOf(NullPointerException.class);
+    }
+}
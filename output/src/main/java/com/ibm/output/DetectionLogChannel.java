@@ -0,0 +1,223 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.output;
+
+import com.ibm.mapper.model.INode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded channel between the analysis threads adding nodes to the aggregators and the scanner log.
+ * Detected nodes are queued without blocking and written by a single background thread, either one
+ * line per node in batches ({@link DetectionLogMode#VERBOSE}) or counted and summarised on {@link
+ * #flush()} ({@link DetectionLogMode#SUMMARY}). When the queue is full, entries are dropped and the
+ * number of dropped entries is reported on the next flush.
+ */
+public final class DetectionLogChannel {
+    private static final Logger LOGGER = LoggerFactory.getLogger(IAggregator.class);
+
+    private static final int CAPACITY = 65_536;
+    private static final int BATCH_SIZE = 1_024;
+    private static final long FLUSH_TIMEOUT_SECONDS = 30;
+
+    private static final DetectionLogChannel INSTANCE = new DetectionLogChannel();
+
+    /**
+     * A queued detection, or a flush request when {@code flushed} is set. The detection is rendered
+     * on the publishing thread, because nodes may still be modified by the output stage.
+     */
+    private record Entry(@Nullable String detection, @Nullable CountDownLatch flushed) {}
+
+    @Nonnull private final BlockingQueue<Entry> queue;
+    @Nonnull private final ThreadFactory writerFactory;
+    @Nonnull private final AtomicLong dropped = new AtomicLong();
+    // only accessed by the writer thread
+    @Nonnull private final Map<String, Long> summary = new HashMap<>();
+
+    @Nonnull private volatile DetectionLogMode mode = DetectionLogMode.VERBOSE;
+    @Nullable private volatile Thread writer;
+
+    private DetectionLogChannel() {
+        this(CAPACITY, DetectionLogChannel::newWriter);
+    }
+
+    DetectionLogChannel(int capacity, @Nonnull ThreadFactory writerFactory) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writerFactory = writerFactory;
+    }
+
+    @Nonnull
+    public static DetectionLogChannel getInstance() {
+        return INSTANCE;
+    }
+
+    @Nonnull
+    public DetectionLogMode getMode() {
+        return mode;
+    }
+
+    public void setMode(@Nonnull DetectionLogMode mode) {
+        this.mode = mode;
+    }
+
+    public void publish(@Nonnull List<INode> nodes) {
+        if (mode == DetectionLogMode.OFF || nodes.isEmpty()) {
+            return;
+        }
+        ensureWriterStarted();
+        for (INode node : nodes) {
+            final String detection = "(" + node.getKind().getSimpleName() + ") " + node.asString();
+            if (!queue.offer(new Entry(detection, null))) {
+                dropped.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Waits until all queued entries are written and, in summary mode, logs the summary of the
+     * detections published since the last flush.
+     */
+    public void flush() {
+        if (writer == null) {
+            return;
+        }
+        final CountDownLatch flushed = new CountDownLatch(1);
+        try {
+            queue.put(new Entry(null, flushed));
+            if (!flushed.await(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOGGER.warn("Detection log could not be flushed in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Flushes the channel and stops its writer thread, at the end of the analysis. Detections
+     * published afterwards start a new writer.
+     */
+    public synchronized void stop() {
+        final Thread current = writer;
+        if (current == null) {
+            return;
+        }
+        flush();
+        current.interrupt();
+        try {
+            current.join(TimeUnit.SECONDS.toMillis(FLUSH_TIMEOUT_SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+    }
+
+    private synchronized void ensureWriterStarted() {
+        if (writer != null) {
+            return;
+        }
+        writer = writerFactory.newThread(this::drain);
+        writer.start();
+    }
+
+    @Nonnull
+    static Thread newWriter(@Nonnull Runnable drain) {
+        final Thread thread = new Thread(drain, "cbom-detection-log");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    @SuppressWarnings("InfiniteLoopStatement")
+    private void drain() {
+        final List<Entry> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                write(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(@Nonnull List<Entry> batch) {
+        final StringBuilder lines = new StringBuilder();
+        for (Entry entry : batch) {
+            if (entry.flushed() != null) {
+                appendTo(lines);
+                lines.setLength(0);
+                writeSummary();
+                entry.flushed().countDown();
+                continue;
+            }
+            final String detection = entry.detection();
+            if (detection == null) {
+                continue;
+            }
+            if (mode == DetectionLogMode.VERBOSE) {
+                if (!lines.isEmpty()) {
+                    lines.append(System.lineSeparator());
+                }
+                lines.append("Detected ").append(detection);
+            } else {
+                summary.merge(detection, 1L, Long::sum);
+            }
+        }
+        appendTo(lines);
+    }
+
+    private void appendTo(@Nonnull StringBuilder lines) {
+        if (!lines.isEmpty()) {
+            LOGGER.info("{}", lines);
+        }
+    }
+
+    private void writeSummary() {
+        summary.entrySet().stream()
+                .sorted(
+                        Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                                .thenComparing(Map.Entry.comparingByKey()))
+                .forEach(
+                        entry ->
+                                LOGGER.info(
+                                        "Detected {} x {}",
+                                        entry.getKey(),
+                                        String.format("%,d", entry.getValue())));
+        summary.clear();
+        final long droppedEntries = dropped.getAndSet(0);
+        if (droppedEntries > 0) {
+            LOGGER.info("{} detections were not logged (detection log queue full)", droppedEntries);
+        }
+    }
+}
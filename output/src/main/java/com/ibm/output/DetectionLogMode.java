@@ -0,0 +1,46 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.output;
+
+import java.util.Locale;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/** Controls how the nodes added to the aggregators are written to the scanner log. */
+public enum DetectionLogMode {
+    /** Nothing is logged. */
+    OFF,
+    /** Identical detections are counted and logged as one line each when the log is flushed. */
+    SUMMARY,
+    /** Every detected node is logged (in batches, from a background thread). The default. */
+    VERBOSE;
+
+    @Nonnull
+    public static DetectionLogMode fromValue(@Nullable String value) {
+        if (value == null || value.isBlank()) {
+            return VERBOSE;
+        }
+        try {
+            return DetectionLogMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return VERBOSE;
+        }
+    }
+}
@@ -28,12 +28,11 @@ import org.slf4j.LoggerFactory;
 public interface IAggregator {
     Logger LOGGER = LoggerFactory.getLogger(IAggregator.class);
 
+    /**
+     * Publishes the detected nodes to the {@link DetectionLogChannel}. The nodes are written
+     * asynchronously, depending on the configured {@link DetectionLogMode}.
+     */
     static void log(@Nonnull List<INode> nodes) {
-        nodes.forEach(
-                node ->
-                        LOGGER.info(
-                                "Detected ({}) {}",
-                                node.getKind().getSimpleName(),
-                                node.asString()));
+        DetectionLogChannel.getInstance().publish(nodes);
     }
 }
@@ -0,0 +1,68 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.output;
+
+import com.ibm.mapper.model.INode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+
+/**
+ * Nodes collected by an aggregator. The number of nodes of each kind is maintained as nodes are
+ * added, so statistics never have to walk the nodes again.
+ */
+public final class NodeBuffer {
+    @Nonnull private final List<INode> nodes = new ArrayList<>();
+    @Nonnull private final Map<Class<? extends INode>, Long> countsPerKind = new HashMap<>();
+
+    public void addAll(@Nonnull List<INode> newNodes) {
+        nodes.addAll(newNodes);
+        for (INode node : newNodes) {
+            countsPerKind.merge(node.getKind(), 1L, Long::sum);
+        }
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    public boolean isEmpty() {
+        return nodes.isEmpty();
+    }
+
+    @Nonnull
+    public List<INode> nodes() {
+        return Collections.unmodifiableList(nodes);
+    }
+
+    @Nonnull
+    public Map<Class<? extends INode>, Long> countsPerKind() {
+        return Collections.unmodifiableMap(countsPerKind);
+    }
+
+    /** Reads a node without going through the unmodifiable view, used by {@link NodeSnapshot}. */
+    @Nonnull
+    INode get(int index) {
+        return nodes.get(index);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.output;
+
+import com.ibm.mapper.model.INode;
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+
+/**
+ * Immutable view of the nodes of several {@link NodeBuffer}s, taken once at the end of a scan. The
+ * nodes are not copied: the snapshot reads the buffers up to the size they had when it was taken,
+ * so nodes added afterwards are not part of it.
+ */
+public final class NodeSnapshot {
+    @Nonnull private final NodeBuffer[] buffers;
+    @Nonnull private final int[] sizes;
+    private final int size;
+    @Nonnull private final Map<Class<? extends INode>, Long> countsPerKind;
+
+    private NodeSnapshot(@Nonnull NodeBuffer[] buffers) {
+        this.buffers = buffers;
+        this.sizes = new int[buffers.length];
+        final Map<Class<? extends INode>, Long> counts = new HashMap<>();
+        int total = 0;
+        for (int i = 0; i < buffers.length; i++) {
+            sizes[i] = buffers[i].size();
+            total += sizes[i];
+            buffers[i].countsPerKind().forEach((kind, n) -> counts.merge(kind, n, Long::sum));
+        }
+        this.size = total;
+        this.countsPerKind = Collections.unmodifiableMap(counts);
+    }
+
+    @Nonnull
+    public static NodeSnapshot of(@Nonnull NodeBuffer... buffers) {
+        return new NodeSnapshot(buffers.clone());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Nonnull
+    public Map<Class<? extends INode>, Long> countsPerKind() {
+        return countsPerKind;
+    }
+
+    /**
+     * All nodes of the snapshot, in buffer order, as an unmodifiable list backed by the buffers.
+     */
+    @Nonnull
+    public List<INode> nodes() {
+        return new AbstractList<>() {
+            @Override
+            public INode get(int index) {
+                if (index < 0 || index >= size) {
+                    throw new IndexOutOfBoundsException(index);
+                }
+                int i = index;
+                for (int b = 0; b < buffers.length; b++) {
+                    if (i < sizes[b]) {
+                        return buffers[b].get(i);
+                    }
+                    i -= sizes[b];
+                }
+                throw new IndexOutOfBoundsException(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.output;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Controls whether the output is written as one file or as one file per part of the project. */
+public enum OutputSharding {
+    /** A single output file for the whole project. */
+    OFF,
+    /**
+     * One output file per build module: the closest directory of the analysed file containing a
+     * Maven or Gradle build file.
+     */
+    MODULE,
+    /** One output file per top-level directory of the project. */
+    DIRECTORY;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutputSharding.class);
+
+    /**
+     * Returns the sharding named by {@code value}, ignoring case. A missing value selects {@link
+     * #OFF}, and so does an unknown one, with a warning naming the accepted values.
+     */
+    @Nonnull
+    public static OutputSharding fromValue(@Nullable String value) {
+        if (value == null || value.isBlank()) {
+            return OFF;
+        }
+        try {
+            return OutputSharding.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn(
+                    "Unknown output sharding '{}', expected one of {}: writing a single output file",
+                    value,
+                    Arrays.stream(values())
+                            .map(sharding -> sharding.name().toLowerCase(Locale.ROOT))
+                            .collect(Collectors.joining(", ")));
+            return OFF;
+        }
+    }
+}
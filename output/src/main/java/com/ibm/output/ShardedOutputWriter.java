@@ -0,0 +1,219 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.output;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ibm.mapper.model.IAsset;
+import com.ibm.mapper.model.INode;
+import com.ibm.mapper.model.IProperty;
+import com.ibm.mapper.utils.DetectionLocation;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Writes the detected nodes as one output file per shard of the project (see {@link
+ * OutputSharding}), together with an index of the shards. Shards are written in parallel by a
+ * bounded number of threads, so at most that many output files are held in memory at once.
+ *
+ * <p>The shard of a node is derived from the file path of its detection location. Each shard is
+ * written to {@code <directory>/<shard>/<fileName>}, files outside of the project base directory or
+ * directly in it belong to the root shard written to {@code <directory>/<fileName>}.
+ */
+public final class ShardedOutputWriter {
+    public static final String INDEX_FILE_NAME = "index.json";
+    public static final String ROOT_SHARD = ".";
+
+    private static final List<String> BUILD_FILES =
+            List.of("pom.xml", "build.gradle", "build.gradle.kts");
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** Entry of the shard index. The file is relative to the index. */
+    public record Shard(@Nonnull String name, @Nonnull String file, int findings) {}
+
+    /** Content of the index file. */
+    public record Index(@Nonnull String sharding, @Nonnull List<Shard> shards) {}
+
+    @Nonnull private final Path baseDirectory;
+    @Nonnull private final OutputSharding sharding;
+    @Nonnull private final IOutputFileFactory outputFileFactory;
+    private final int parallelism;
+    @Nonnull private final Map<Path, String> shardOfDirectory = new HashMap<>();
+
+    public ShardedOutputWriter(
+            @Nonnull Path baseDirectory,
+            @Nonnull OutputSharding sharding,
+            @Nonnull IOutputFileFactory outputFileFactory) {
+        this(
+                baseDirectory,
+                sharding,
+                outputFileFactory,
+                Math.min(4, Runtime.getRuntime().availableProcessors()));
+    }
+
+    public ShardedOutputWriter(
+            @Nonnull Path baseDirectory,
+            @Nonnull OutputSharding sharding,
+            @Nonnull IOutputFileFactory outputFileFactory,
+            int parallelism) {
+        if (sharding == OutputSharding.OFF) {
+            throw new IllegalArgumentException("Sharding is off");
+        }
+        this.baseDirectory = baseDirectory.toAbsolutePath().normalize();
+        this.sharding = sharding;
+        this.outputFileFactory = outputFileFactory;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Writes the shards and the index to the directory.
+     *
+     * @return the shards, as listed in the index
+     */
+    @Nonnull
+    public List<Shard> write(
+            @Nonnull List<INode> nodes, @Nonnull File directory, @Nonnull String fileName)
+            throws IOException {
+        final Map<String, List<INode>> nodesPerShard = new TreeMap<>();
+        for (INode node : nodes) {
+            nodesPerShard.computeIfAbsent(shardOf(node), s -> new ArrayList<>()).add(node);
+        }
+
+        final Path outputDirectory = directory.toPath();
+        Files.createDirectories(outputDirectory);
+        final List<Shard> shards = new ArrayList<>(nodesPerShard.size());
+        final List<Future<?>> writes = new ArrayList<>(nodesPerShard.size());
+        final ExecutorService executor =
+                Executors.newFixedThreadPool(
+                        Math.max(1, Math.min(parallelism, nodesPerShard.size())),
+                        runnable -> {
+                            final Thread thread = new Thread(runnable, "cbom-shard-writer");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        try {
+            for (Map.Entry<String, List<INode>> entry : nodesPerShard.entrySet()) {
+                final String file =
+                        ROOT_SHARD.equals(entry.getKey())
+                                ? fileName
+                                : entry.getKey() + "/" + fileName;
+                final Path target = outputDirectory.resolve(file);
+                Files.createDirectories(target.getParent());
+                final List<INode> shardNodes = entry.getValue();
+                writes.add(
+                        executor.submit(
+                                () ->
+                                        outputFileFactory
+                                                .createOutputFormat(shardNodes)
+                                                .saveTo(target.toFile())));
+                shards.add(new Shard(entry.getKey(), file, shardNodes.size()));
+            }
+            for (Future<?> write : writes) {
+                write.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing the shards", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Could not write a shard: " + e.getCause().getMessage(), e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        MAPPER.writerWithDefaultPrettyPrinter()
+                .writeValue(
+                        outputDirectory.resolve(INDEX_FILE_NAME).toFile(),
+                        new Index(sharding.name().toLowerCase(Locale.ROOT), shards));
+        return shards;
+    }
+
+    @Nonnull
+    String shardOf(@Nonnull INode node) {
+        final DetectionLocation location;
+        if (node instanceof IAsset asset) {
+            location = asset.getDetectionContext();
+        } else if (node instanceof IProperty property) {
+            location = property.getDetectionContext();
+        } else {
+            return ROOT_SHARD;
+        }
+        return shardOf(location.filePath());
+    }
+
+    @Nonnull
+    String shardOf(@Nonnull String filePath) {
+        final Path file = baseDirectory.resolve(filePath).normalize();
+        if (!file.startsWith(baseDirectory) || file.getParent() == null) {
+            return ROOT_SHARD;
+        }
+        final Path relative = baseDirectory.relativize(file);
+        if (relative.getNameCount() < 2) {
+            return ROOT_SHARD;
+        }
+        if (sharding == OutputSharding.DIRECTORY) {
+            return relative.getName(0).toString();
+        }
+        return moduleOf(file.getParent());
+    }
+
+    @Nonnull
+    private String moduleOf(@Nonnull Path directory) {
+        final String known = shardOfDirectory.get(directory);
+        if (known != null) {
+            return known;
+        }
+        final String module;
+        if (directory.equals(baseDirectory) || !directory.startsWith(baseDirectory)) {
+            module = ROOT_SHARD;
+        } else if (BUILD_FILES.stream().anyMatch(f -> Files.isRegularFile(directory.resolve(f)))) {
+            module = toShardName(baseDirectory.relativize(directory));
+        } else {
+            module = moduleOf(parentOf(directory));
+        }
+        shardOfDirectory.put(directory, module);
+        return module;
+    }
+
+    @Nonnull
+    private Path parentOf(@Nonnull Path directory) {
+        @Nullable final Path parent = directory.getParent();
+        return parent == null ? baseDirectory : parent;
+    }
+
+    @Nonnull
+    private static String toShardName(@Nonnull Path relative) {
+        final List<String> names = new ArrayList<>(relative.getNameCount());
+        relative.forEach(name -> names.add(name.toString()));
+        return String.join("/", names);
+    }
+}
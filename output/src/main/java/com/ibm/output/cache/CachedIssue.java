@@ -0,0 +1,33 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.output.cache;
+
+import javax.annotation.Nonnull;
+
+/**
+ * An issue reported on the findings of a cached file. The tree the issue was reported on is
+ * identified by its text range, so that the issue can be reported again on the same tree when the
+ * file is served from the {@link FindingsCache}.
+ */
+public record CachedIssue(@Nonnull Range range, @Nonnull String message) {
+
+    /** Line and column of the start and of the end of a tree. */
+    public record Range(int startLine, int startColumn, int endLine, int endColumn) {}
+}
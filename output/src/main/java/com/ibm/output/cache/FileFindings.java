@@ -0,0 +1,145 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.output.cache;
+
+import com.ibm.engine.detection.Handler;
+import com.ibm.engine.rule.IDetectionRule;
+import com.ibm.mapper.model.INode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Findings of the file being analysed by an inventory rule. The session is either served from the
+ * {@link FindingsCache}, in which case the detection rules are not run on the file (its calls are
+ * still recorded on the call stack, for the hooks of other files, and its issues are reported again
+ * on the trees they were reported on), or collects the translated nodes and reported issues of the
+ * file and stores them once the file has been analysed.
+ *
+ * <p>The findings are only stored when no hook was registered or triggered during the analysis of
+ * the file, since they would depend on the analysis of other files otherwise.
+ */
+public final class FileFindings {
+    @Nonnull private final FindingsCache cache;
+    @Nonnull private final FindingsCache.Key key;
+    @Nonnull private final Handler<?, ?, ?, ?> handler;
+    private final long hookActivity;
+    private final int numberOfHooks;
+    @Nullable private final List<INode> cachedNodes;
+    // messages of the cached issues not reported again yet, by the range of their tree
+    @Nonnull private final Map<CachedIssue.Range, List<String>> cachedIssues = new HashMap<>();
+    @Nonnull private final List<INode> nodes = new ArrayList<>();
+    @Nonnull private final List<CachedIssue> issues = new ArrayList<>();
+
+    private FileFindings(
+            @Nonnull FindingsCache cache,
+            @Nonnull FindingsCache.Key key,
+            @Nonnull Handler<?, ?, ?, ?> handler,
+            @Nullable FindingsCache.Entry cached) {
+        this.cache = cache;
+        this.key = key;
+        this.handler = handler;
+        this.hookActivity = handler.getHookActivity();
+        this.numberOfHooks = handler.getNumberOfHooks();
+        this.cachedNodes = cached == null ? null : cached.nodes();
+        if (cached != null) {
+            for (CachedIssue issue : cached.issues()) {
+                cachedIssues
+                        .computeIfAbsent(issue.range(), range -> new ArrayList<>())
+                        .add(issue.message());
+            }
+        }
+    }
+
+    /**
+     * Starts the analysis of a file.
+     *
+     * @return the session of the file, or {@code null} when the findings cache is disabled
+     */
+    @Nullable
+    public static <T> FileFindings begin(
+            @Nonnull String language,
+            @Nonnull List<IDetectionRule<T>> rules,
+            @Nonnull String filePath,
+            @Nonnull String content,
+            @Nonnull Handler<?, ?, ?, ?> handler) {
+        final FindingsCache cache = FindingsCache.getInstance();
+        if (!cache.isEnabled()) {
+            return null;
+        }
+        final FindingsCache.Key key =
+                new FindingsCache.Key(
+                        language,
+                        cache.ruleSetFingerprint(rules),
+                        filePath,
+                        FindingsCache.contentHash(content));
+        final Optional<FindingsCache.Entry> cached = cache.lookup(key);
+        return new FileFindings(cache, key, handler, cached.orElse(null));
+    }
+
+    public boolean isHit() {
+        return cachedNodes != null;
+    }
+
+    @Nonnull
+    public List<INode> getCachedNodes() {
+        return cachedNodes == null ? List.of() : cachedNodes;
+    }
+
+    public void add(@Nonnull List<INode> translatedNodes) {
+        nodes.addAll(translatedNodes);
+    }
+
+    /** Records an issue reported on the tree with the range. */
+    public void addIssue(@Nonnull CachedIssue.Range range, @Nonnull String message) {
+        issues.add(new CachedIssue(range, message));
+    }
+
+    /** Returns whether cached issues are left to be reported again. */
+    public boolean hasCachedIssues() {
+        return !cachedIssues.isEmpty();
+    }
+
+    /**
+     * Returns the messages of the cached issues reported on the tree with the range. Each cached
+     * issue is only returned once.
+     */
+    @Nonnull
+    public List<String> takeCachedIssues(@Nonnull CachedIssue.Range range) {
+        final List<String> messages = cachedIssues.remove(range);
+        return messages == null ? List.of() : messages;
+    }
+
+    /** Ends the analysis of the file and stores its findings if they can be reused. */
+    public void end() {
+        if (isHit()) {
+            return;
+        }
+        if (handler.getHookActivity() == hookActivity) {
+            cache.store(key, new FindingsCache.Entry(nodes, issues));
+        } else {
+            cache.recordUncacheable(key, handler.getNumberOfHooks() != numberOfHooks);
+        }
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.output.cache;
+
+import com.ibm.engine.rule.DetectionRuleGraph;
+import com.ibm.engine.rule.IDetectionRule;
+import com.ibm.engine.serializer.RuleFingerprint;
+import com.ibm.mapper.model.INode;
+import com.ibm.mapper.serializer.NodeCodec;
+import com.ibm.output.statistics.CacheStatistics;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent cache of the translated nodes of each analysed file and of the issues reported on
+ * them, stored in a directory of the scanner working directory. An entry is keyed by the language,
+ * the content hash and path of the file, the fingerprint of the rule set and the plugin version, so
+ * any change to one of them is a miss.
+ *
+ * <p>Findings that depend on hooks (a value resolved through a call made somewhere else) are never
+ * stored, see {@link FileFindings}. Since a hook registered by a changed file can resolve calls of
+ * unchanged files, the files registering hooks are recorded in a manifest, and the whole cache is
+ * dropped at the end of a scan in which that set changed, so that the next scan is a full one.
+ */
+public final class FindingsCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FindingsCache.class);
+
+    private static final String ENTRY_SUFFIX = ".bin";
+    private static final String HOOK_MANIFEST = "hooks.txt";
+
+    private static final FindingsCache INSTANCE = new FindingsCache();
+
+    /** Identity of a cache entry. */
+    public record Key(
+            @Nonnull String language,
+            @Nonnull String ruleSetFingerprint,
+            @Nonnull String filePath,
+            @Nonnull String contentHash) {}
+
+    /** Cached findings of a file. */
+    public record Entry(@Nonnull List<INode> nodes, @Nonnull List<CachedIssue> issues) {}
+
+    @Nullable private volatile Path directory;
+    @Nonnull private volatile String pluginVersion = "";
+
+    @Nonnull private final Set<Path> usedEntries = ConcurrentHashMap.newKeySet();
+    @Nonnull private final Set<String> hookFiles = ConcurrentHashMap.newKeySet();
+    @Nonnull private final AtomicLong hits = new AtomicLong();
+    @Nonnull private final AtomicLong misses = new AtomicLong();
+    @Nonnull private final AtomicLong uncacheable = new AtomicLong();
+
+    @Nonnull
+    private final Map<List<?>, String> fingerprints =
+            Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private FindingsCache() {
+        // singleton
+    }
+
+    @Nonnull
+    public static FindingsCache getInstance() {
+        return INSTANCE;
+    }
+
+    public void enable(@Nonnull Path cacheDirectory, @Nonnull String version) {
+        this.pluginVersion = version;
+        this.directory = cacheDirectory;
+        LOGGER.info("Findings cache enabled in '{}'", cacheDirectory);
+    }
+
+    public void disable() {
+        this.directory = null;
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    /** Fingerprint of a rule set, computed once per rule list instance. */
+    @Nonnull
+    public <T> String ruleSetFingerprint(@Nonnull List<IDetectionRule<T>> rules) {
+        return fingerprints.computeIfAbsent(
+                rules, r -> RuleFingerprint.of(DetectionRuleGraph.of(rules)));
+    }
+
+    @Nonnull
+    public static String contentHash(@Nonnull String content) {
+        return sha256(content);
+    }
+
+    /** Returns the cached findings of the file, or empty when there is no valid entry. */
+    @Nonnull
+    public Optional<Entry> lookup(@Nonnull Key key) {
+        final Path entry = entryPath(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        usedEntries.add(entry);
+        if (Files.isRegularFile(entry)) {
+            try {
+                final Entry cached = decode(Files.readAllBytes(entry));
+                hits.incrementAndGet();
+                return Optional.of(cached);
+            } catch (IOException e) {
+                LOGGER.debug("Dropping unreadable cache entry '{}': {}", entry, e.getMessage());
+            }
+        }
+        misses.incrementAndGet();
+        return Optional.empty();
+    }
+
+    public void store(@Nonnull Key key, @Nonnull Entry findings) {
+        final Path entry = entryPath(key);
+        if (entry == null) {
+            return;
+        }
+        usedEntries.add(entry);
+        try {
+            Files.createDirectories(entry.getParent());
+            final Path tmp = Files.createTempFile(entry.getParent(), "entry", ".tmp");
+            Files.write(tmp, encode(findings));
+            Files.move(
+                    tmp,
+                    entry,
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.debug("Cannot write cache entry '{}': {}", entry, e.getMessage());
+        }
+    }
+
+    /**
+     * Records a file that had to be analysed because its findings depend on hooks. The file is
+     * recorded in the hook manifest when it registered hooks itself.
+     */
+    public void recordUncacheable(@Nonnull Key key, boolean registeredHooks) {
+        uncacheable.incrementAndGet();
+        final Path entry = entryPath(key);
+        if (entry != null) {
+            // an entry stored when the file did not depend on hooks is stale now
+            usedEntries.remove(entry);
+        }
+        if (registeredHooks) {
+            hookFiles.add(key.language() + " " + key.filePath() + " " + key.contentHash());
+        }
+    }
+
+    @Nonnull
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(isEnabled(), hits.get(), misses.get(), uncacheable.get());
+    }
+
+    /**
+     * Ends the scan: removes the entries of the languages analysed in this scan that were not used,
+     * drops the whole cache when the set of hook registering files changed, and resets the
+     * counters.
+     */
+    public void close() {
+        final Path cacheDirectory = directory;
+        if (cacheDirectory != null && Files.isDirectory(cacheDirectory)) {
+            try {
+                if (hookFilesChanged(cacheDirectory)) {
+                    LOGGER.info("Hook registering files changed, the findings cache is dropped");
+                    deleteEntries(cacheDirectory, Set.of());
+                } else if (!usedEntries.isEmpty()) {
+                    deleteEntries(cacheDirectory, usedEntries);
+                }
+            } catch (IOException e) {
+                LOGGER.debug("Cannot clean up the findings cache: {}", e.getMessage());
+            }
+        }
+        usedEntries.clear();
+        hookFiles.clear();
+        hits.set(0);
+        misses.set(0);
+        uncacheable.set(0);
+    }
+
+    @Nullable
+    private Path entryPath(@Nonnull Key key) {
+        final Path cacheDirectory = directory;
+        if (cacheDirectory == null) {
+            return null;
+        }
+        final String name =
+                sha256(
+                        String.join(
+                                "\n",
+                                pluginVersion,
+                                key.ruleSetFingerprint(),
+                                key.filePath(),
+                                key.contentHash()));
+        return cacheDirectory.resolve(key.language()).resolve(name + ENTRY_SUFFIX);
+    }
+
+    private boolean hookFilesChanged(@Nonnull Path cacheDirectory) throws IOException {
+        final Path manifest = cacheDirectory.resolve(HOOK_MANIFEST);
+        final boolean known = Files.isRegularFile(manifest);
+        final Set<String> previous =
+                known ? Set.copyOf(Files.readAllLines(manifest, StandardCharsets.UTF_8)) : Set.of();
+        if (known && previous.equals(hookFiles)) {
+            return false;
+        }
+        Files.write(manifest, hookFiles.stream().sorted().toList(), StandardCharsets.UTF_8);
+        // without a previous manifest, only entries served in this scan can be stale
+        return known || hits.get() > 0;
+    }
+
+    private void deleteEntries(@Nonnull Path cacheDirectory, @Nonnull Set<Path> keep)
+            throws IOException {
+        try (Stream<Path> languages = Files.list(cacheDirectory)) {
+            for (Path language : languages.filter(Files::isDirectory).toList()) {
+                if (!keep.isEmpty() && keep.stream().noneMatch(p -> p.startsWith(language))) {
+                    // language not analysed in this scan
+                    continue;
+                }
+                try (Stream<Path> entries = Files.list(language)) {
+                    for (Path entry : entries.filter(p -> !keep.contains(p)).toList()) {
+                        Files.deleteIfExists(entry);
+                    }
+                }
+            }
+        }
+    }
+
+    /** Encodes the nodes with the {@link NodeCodec}, followed by the issues. */
+    @Nonnull
+    private static byte[] encode(@Nonnull Entry findings) throws IOException {
+        final byte[] nodes = NodeCodec.encode(findings.nodes());
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(nodes.length + 64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(nodes.length);
+            out.write(nodes);
+            out.writeInt(findings.issues().size());
+            for (CachedIssue issue : findings.issues()) {
+                out.writeInt(issue.range().startLine());
+                out.writeInt(issue.range().startColumn());
+                out.writeInt(issue.range().endLine());
+                out.writeInt(issue.range().endColumn());
+                out.writeUTF(issue.message());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    @Nonnull
+    private static Entry decode(@Nonnull byte[] bytes) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            final int length = in.readInt();
+            if (length < 0 || length > in.available()) {
+                throw new IOException("Corrupted cache entry");
+            }
+            final byte[] nodes = new byte[length];
+            in.readFully(nodes);
+            final int numberOfIssues = in.readInt();
+            final List<CachedIssue> issues = new ArrayList<>();
+            for (int i = 0; i < numberOfIssues; i++) {
+                final CachedIssue.Range range =
+                        new CachedIssue.Range(
+                                in.readInt(), in.readInt(), in.readInt(), in.readInt());
+                issues.add(new CachedIssue(range, in.readUTF()));
+            }
+            if (in.available() > 0) {
+                throw new IOException("Trailing bytes after the cached issues");
+            }
+            return new Entry(NodeCodec.decode(nodes), issues);
+        }
+    }
+
+    @Nonnull
+    private static String sha256(@Nonnull String value) {
+        try {
+            return HexFormat.of()
+                    .formatHex(
+                            MessageDigest.getInstance("SHA-256")
+                                    .digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
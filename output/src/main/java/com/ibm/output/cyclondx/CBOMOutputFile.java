@@ -19,6 +19,7 @@
  */
 package com.ibm.output.cyclondx;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.ibm.mapper.model.Algorithm;
 import com.ibm.mapper.model.BlockSize;
 import com.ibm.mapper.model.CipherSuite;
@@ -67,13 +68,14 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
-import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.apache.commons.io.FileUtils;
@@ -98,10 +100,13 @@ public class CBOMOutputFile implements IOutputFile {
 
     @Nonnull private final Map<String, Component> components;
     @Nonnull private final Map<String, Dependency> dependencies;
+    // occurrence keys of each component, by component identity
+    @Nonnull private final Map<String, Set<String>> occurrenceKeys;
 
     public CBOMOutputFile() {
         this.components = new HashMap<>();
         this.dependencies = new HashMap<>();
+        this.occurrenceKeys = new HashMap<>();
     }
 
     @Override
@@ -135,6 +140,16 @@ public class CBOMOutputFile implements IOutputFile {
 
     @Nullable private String createAlgorithmComponent(
             @Nullable String parentBomRef, @Nonnull Algorithm node) {
+        // the identity of an algorithm component is its name, which is the name of the node:
+        // a repeated algorithm only adds its occurrence to the existing component
+        final String identity = node.asString();
+        final Component existing = this.components.get(identity);
+        if (existing != null) {
+            addOccurrence(identity, existing, node.getDetectionContext());
+            addDependencyAndChildren(existing, parentBomRef, node);
+            return existing.getBomRef();
+        }
+
         Map<Class<? extends INode>, INode> children = node.getChildren();
         Component algorithm =
                 AlgorithmComponentBuilder.create()
@@ -258,34 +273,27 @@ public class CBOMOutputFile implements IOutputFile {
             @Nonnull String componentId,
             @Nullable String parentBomRef,
             @Nonnull INode node) {
-        if (components.get(componentId) == null) {
-            this.components.putIfAbsent(componentId, component);
-        } else {
-            this.components.computeIfPresent(
-                    componentId,
-                    (id, c) -> {
-                        final List<Occurrence> merge =
-                                Stream.concat(
-                                                c.getEvidence().getOccurrences().stream(),
-                                                component.getEvidence().getOccurrences().stream())
-                                        .filter(
-                                                com.ibm.output.cyclondx.builder.Utils.distinctByKey(
-                                                        o ->
-                                                                o.getLocation()
-                                                                        + " "
-                                                                        + o.getLine()
-                                                                        + " "
-                                                                        + o.getOffset()
-                                                                        + " "
-                                                                        + o.getAdditionalContext()
-                                                                        + " "))
-                                        .toList();
-                        c.getEvidence().setOccurrences(merge);
-                        return c;
-                    });
+        final Component existing = this.components.get(componentId);
+        if (existing == null) {
+            this.components.put(componentId, component);
+            if (component.getEvidence() != null) {
+                final List<Occurrence> occurrences = component.getEvidence().getOccurrences();
+                component.getEvidence().setOccurrences(new ArrayList<>(occurrences.size()));
+                occurrences.forEach(o -> addOccurrence(componentId, component, o));
+            }
+        } else if (component.getEvidence() != null) {
+            component
+                    .getEvidence()
+                    .getOccurrences()
+                    .forEach(o -> addOccurrence(componentId, existing, o));
         }
+        addDependencyAndChildren(this.components.get(componentId), parentBomRef, node);
+    }
 
-        Component componentIdentify = this.components.get(componentId);
+    private void addDependencyAndChildren(
+            @Nonnull Component componentIdentify,
+            @Nullable String parentBomRef,
+            @Nonnull INode node) {
         if (parentBomRef != null) {
             Dependency newDependency = new Dependency(componentIdentify.getBomRef());
             if (dependencies.get(parentBomRef) == null) {
@@ -337,6 +345,11 @@ public class CBOMOutputFile implements IOutputFile {
         return bom;
     }
 
+    @Nonnull
+    JsonNode toJsonNode() {
+        return BomGeneratorFactory.createJson(schema, getBom()).toJsonNode();
+    }
+
     @Override
     public void saveTo(@Nonnull File file) {
         final Bom bom = getBom();
@@ -351,20 +364,69 @@ public class CBOMOutputFile implements IOutputFile {
         }
     }
 
+    /** Identity of a component: components with the same identity are merged into one. */
     @Nonnull
-    private Function<Component, Optional<String>> getIdentifierFunction() {
+    public static Function<Component, Optional<String>> getIdentifierFunction() {
         return (component -> Optional.ofNullable(component.getName()));
     }
 
+    /** Key of an occurrence: occurrences of a component with the same key are merged into one. */
+    @Nonnull
+    public static String getOccurrenceKey(
+            @Nullable String location,
+            @Nullable Object line,
+            @Nullable Object offset,
+            @Nullable String additionalContext) {
+        return location + " " + line + " " + offset + " " + additionalContext + " ";
+    }
+
+    private void addOccurrence(
+            @Nonnull String componentId,
+            @Nonnull Component component,
+            @Nonnull DetectionLocation detectionLocation) {
+        final String key =
+                getOccurrenceKey(
+                        detectionLocation.filePath(),
+                        detectionLocation.lineNumber(),
+                        detectionLocation.offSet(),
+                        additionalContextOf(detectionLocation));
+        if (occurrenceKeysOf(componentId).add(key)) {
+            component.getEvidence().getOccurrences().add(createOccurrenceForm(detectionLocation));
+        }
+    }
+
+    private void addOccurrence(
+            @Nonnull String componentId,
+            @Nonnull Component component,
+            @Nonnull Occurrence occurrence) {
+        final String key =
+                getOccurrenceKey(
+                        occurrence.getLocation(),
+                        occurrence.getLine(),
+                        occurrence.getOffset(),
+                        occurrence.getAdditionalContext());
+        if (occurrenceKeysOf(componentId).add(key)) {
+            component.getEvidence().getOccurrences().add(occurrence);
+        }
+    }
+
+    @Nonnull
+    private Set<String> occurrenceKeysOf(@Nonnull String componentId) {
+        return this.occurrenceKeys.computeIfAbsent(componentId, id -> new HashSet<>());
+    }
+
+    @Nullable
+    private static String additionalContextOf(@Nonnull DetectionLocation detectionLocation) {
+        return detectionLocation.keywords().isEmpty() ? null : detectionLocation.keywords().get(0);
+    }
+
     @Nonnull
     private Occurrence createOccurrenceForm(@Nonnull DetectionLocation detectionLocation) {
         final Occurrence occurrence = new Occurrence();
         occurrence.setLocation(detectionLocation.filePath());
         occurrence.setLine(detectionLocation.lineNumber());
         occurrence.setOffset(detectionLocation.offSet());
-        if (!detectionLocation.keywords().isEmpty()) {
-            occurrence.setAdditionalContext(detectionLocation.keywords().get(0));
-        }
+        occurrence.setAdditionalContext(additionalContextOf(detectionLocation));
         return occurrence;
     }
 }
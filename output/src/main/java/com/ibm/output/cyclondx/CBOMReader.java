@@ -0,0 +1,173 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.output.cyclondx;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.cyclonedx.model.Component;
+
+/**
+ * Streaming reader of CBOM json documents, for tools working on CBOMs too large to be loaded as a
+ * {@link org.cyclonedx.model.Bom}. Components are read one at a time and their occurrences are
+ * passed on one by one, so the size of a single component does not matter either.
+ */
+public final class CBOMReader {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String COMPONENTS = "components";
+    private static final String DEPENDENCIES = "dependencies";
+    private static final String EVIDENCE = "evidence";
+    private static final String OCCURRENCES = "occurrences";
+
+    /** Receives the content of a CBOM, in document order. */
+    public interface Handler {
+        /** A field of the document other than the components and the dependencies. */
+        default void documentField(@Nonnull String name, @Nonnull JsonNode value)
+                throws IOException {}
+
+        /**
+         * An occurrence of the component being read. The header holds the fields of the component
+         * read so far, including its name.
+         */
+        void occurrence(@Nonnull ObjectNode header, @Nonnull JsonNode occurrence)
+                throws IOException;
+
+        /** The component is read. The header holds all its fields except the occurrences. */
+        void component(@Nonnull ObjectNode header) throws IOException;
+
+        default void dependency(@Nonnull JsonNode dependency) throws IOException {}
+    }
+
+    private CBOMReader() {
+        // nothing
+    }
+
+    public static void read(@Nonnull File file, @Nonnull Handler handler) throws IOException {
+        try (JsonParser parser = MAPPER.getFactory().createParser(file)) {
+            read(parser, file.toString(), handler);
+        }
+    }
+
+    /** Reads a CBOM held in memory, without generating its json text. */
+    public static void read(@Nonnull CBOMOutputFile outputFile, @Nonnull Handler handler)
+            throws IOException {
+        try (JsonParser parser = MAPPER.treeAsTokens(outputFile.toJsonNode())) {
+            read(parser, "CBOM", handler);
+        }
+    }
+
+    private static void read(
+            @Nonnull JsonParser parser, @Nonnull String source, @Nonnull Handler handler)
+            throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Not a CBOM: " + source);
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            final JsonToken value = parser.nextToken();
+            if (COMPONENTS.equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    readComponent(parser, handler);
+                }
+            } else if (DEPENDENCIES.equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    handler.dependency(parser.readValueAsTree());
+                }
+            } else {
+                final JsonNode tree = parser.readValueAsTree();
+                handler.documentField(field, tree == null ? MAPPER.nullNode() : tree);
+            }
+        }
+    }
+
+    private static void readComponent(@Nonnull JsonParser parser, @Nonnull Handler handler)
+            throws IOException {
+        final ObjectNode header = MAPPER.createObjectNode();
+        boolean named = false;
+        @Nullable List<JsonNode> pending = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            if (parser.nextToken() == JsonToken.START_OBJECT && EVIDENCE.equals(field)) {
+                final ObjectNode evidence = header.putObject(EVIDENCE);
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String evidenceField = parser.currentName();
+                    if (parser.nextToken() == JsonToken.START_ARRAY
+                            && OCCURRENCES.equals(evidenceField)) {
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            final JsonNode occurrence = parser.readValueAsTree();
+                            if (named) {
+                                handler.occurrence(header, occurrence);
+                            } else {
+                                // the name is not known yet
+                                pending = pending == null ? new ArrayList<>() : pending;
+                                pending.add(occurrence);
+                            }
+                        }
+                    } else {
+                        evidence.set(evidenceField, parser.readValueAsTree());
+                    }
+                }
+            } else {
+                header.set(field, parser.readValueAsTree());
+            }
+            named |= "name".equals(field);
+        }
+        if (pending != null) {
+            for (JsonNode occurrence : pending) {
+                handler.occurrence(header, occurrence);
+            }
+        }
+        handler.component(header);
+    }
+
+    /** The identity {@link CBOMOutputFile} merges components by, if the component has one. */
+    @Nonnull
+    public static Optional<String> identityOf(@Nonnull JsonNode header) {
+        final Component component = new Component();
+        component.setName(text(header, "name"));
+        return CBOMOutputFile.getIdentifierFunction().apply(component);
+    }
+
+    /** The key {@link CBOMOutputFile} merges occurrences of a component by. */
+    @Nonnull
+    public static String occurrenceKey(@Nonnull JsonNode occurrence) {
+        return CBOMOutputFile.getOccurrenceKey(
+                text(occurrence, "location"),
+                text(occurrence, "line"),
+                text(occurrence, "offset"),
+                text(occurrence, "additionalContext"));
+    }
+
+    @Nullable
+    private static String text(@Nonnull JsonNode node, @Nonnull String field) {
+        final JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
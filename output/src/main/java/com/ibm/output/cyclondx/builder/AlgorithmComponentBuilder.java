@@ -60,10 +60,9 @@ import com.ibm.mapper.model.padding.OAEP;
 import com.ibm.mapper.model.padding.PKCS1;
 import com.ibm.mapper.model.padding.PKCS5;
 import com.ibm.mapper.model.padding.PKCS7;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
+import java.util.Map;
 import java.util.UUID;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -78,7 +77,46 @@ import org.cyclonedx.model.component.crypto.enums.Padding;
 import org.cyclonedx.model.component.crypto.enums.Primitive;
 import org.cyclonedx.model.component.evidence.Occurrence;
 
+/**
+ * Builds the CycloneDX component of an algorithm node. The builder is mutable: every method updates
+ * this instance and returns it, so a component costs a single builder allocation.
+ */
 public class AlgorithmComponentBuilder implements IAlgorithmComponentBuilder {
+    // keyed by node kind, INode#is compares kinds
+    @Nonnull
+    private static final Map<Class<? extends INode>, Primitive> PRIMITIVES =
+            Map.ofEntries(
+                    Map.entry(AuthenticatedEncryption.class, Primitive.AE),
+                    Map.entry(BlockCipher.class, Primitive.BLOCK_CIPHER),
+                    Map.entry(Mac.class, Primitive.MAC),
+                    Map.entry(MessageDigest.class, Primitive.HASH),
+                    Map.entry(KeyDerivationFunction.class, Primitive.KDF),
+                    Map.entry(PasswordBasedKeyDerivationFunction.class, Primitive.KDF),
+                    Map.entry(PasswordBasedEncryption.class, Primitive.KDF),
+                    Map.entry(PseudorandomNumberGenerator.class, Primitive.DRBG),
+                    Map.entry(Signature.class, Primitive.SIGNATURE),
+                    Map.entry(ProbabilisticSignatureScheme.class, Primitive.SIGNATURE),
+                    Map.entry(StreamCipher.class, Primitive.STREAM_CIPHER),
+                    Map.entry(PublicKeyEncryption.class, Primitive.PKE),
+                    Map.entry(KeyAgreement.class, Primitive.KEY_AGREE),
+                    Map.entry(KeyEncapsulationMechanism.class, Primitive.KEM),
+                    Map.entry(ExtendableOutputFunction.class, Primitive.XOF));
+
+    @Nonnull
+    private static final Map<Class<? extends INode>, CryptoFunction> CRYPTO_FUNCTIONS =
+            Map.ofEntries(
+                    Map.entry(Tag.class, CryptoFunction.TAG),
+                    Map.entry(Sign.class, CryptoFunction.SIGN),
+                    Map.entry(Digest.class, CryptoFunction.DIGEST),
+                    Map.entry(Verify.class, CryptoFunction.VERIFY),
+                    Map.entry(Decrypt.class, CryptoFunction.DECRYPT),
+                    Map.entry(Encrypt.class, CryptoFunction.ENCRYPT),
+                    Map.entry(Generate.class, CryptoFunction.GENERATE),
+                    Map.entry(Decapsulate.class, CryptoFunction.DECAPSULATE),
+                    Map.entry(Encapsulate.class, CryptoFunction.ENCAPSULATE),
+                    Map.entry(KeyDerivation.class, CryptoFunction.KEYDERIVE),
+                    Map.entry(KeyGeneration.class, CryptoFunction.KEYGEN));
+
     @Nonnull private final Component component;
     @Nonnull private final CryptoProperties cryptoProperties;
     @Nonnull private final AlgorithmProperties algorithmProperties;
@@ -95,26 +133,6 @@ public class AlgorithmComponentBuilder implements IAlgorithmComponentBuilder {
         this.algorithmProperties = new AlgorithmProperties();
     }
 
-    @SuppressWarnings("java:S107")
-    public AlgorithmComponentBuilder(
-            @Nonnull Component component,
-            @Nonnull CryptoProperties cryptoProperties,
-            @Nonnull AlgorithmProperties algorithmProperties,
-            @Nullable INode algorithm,
-            @Nullable INode parameterSetIdentifier,
-            @Nullable INode mode,
-            @Nullable INode padding,
-            @Nullable INode curve) {
-        this.component = component;
-        this.cryptoProperties = cryptoProperties;
-        this.algorithmProperties = algorithmProperties;
-        this.algorithm = algorithm;
-        this.parameterSetIdentifier = parameterSetIdentifier;
-        this.mode = mode;
-        this.padding = padding;
-        this.curve = curve;
-    }
-
     @Nonnull
     public static IAlgorithmComponentBuilder create() {
         return new AlgorithmComponentBuilder();
@@ -123,43 +141,20 @@ public class AlgorithmComponentBuilder implements IAlgorithmComponentBuilder {
     @Override
     public @Nonnull IAlgorithmComponentBuilder algorithm(@Nullable INode algorithm) {
         this.algorithm = algorithm;
-        return new AlgorithmComponentBuilder(
-                component,
-                cryptoProperties,
-                algorithmProperties,
-                algorithm,
-                parameterSetIdentifier,
-                mode,
-                padding,
-                curve);
+        return this;
     }
 
     @Override
     public @Nonnull IAlgorithmComponentBuilder parameterSetIdentifier(
             @Nullable INode parameterSetIdentifier) {
-        return new AlgorithmComponentBuilder(
-                component,
-                cryptoProperties,
-                algorithmProperties,
-                algorithm,
-                parameterSetIdentifier,
-                mode,
-                padding,
-                curve);
+        this.parameterSetIdentifier = parameterSetIdentifier;
+        return this;
     }
 
     @Override
     public @Nonnull IAlgorithmComponentBuilder mode(@Nullable INode mode) {
         if (mode == null) {
-            return new AlgorithmComponentBuilder(
-                    component,
-                    cryptoProperties,
-                    algorithmProperties,
-                    algorithm,
-                    parameterSetIdentifier,
-                    this.mode,
-                    padding,
-                    curve);
+            return this;
         }
         this.mode = mode;
         Mode cxMode;
@@ -181,85 +176,23 @@ public class AlgorithmComponentBuilder implements IAlgorithmComponentBuilder {
             cxMode = Mode.OTHER;
         }
         this.algorithmProperties.setMode(cxMode);
-        return new AlgorithmComponentBuilder(
-                component,
-                cryptoProperties,
-                algorithmProperties,
-                algorithm,
-                parameterSetIdentifier,
-                mode,
-                padding,
-                curve);
+        return this;
     }
 
     @Override
     public @Nonnull IAlgorithmComponentBuilder primitive(@Nullable INode primitive) {
         if (primitive == null) {
-            return new AlgorithmComponentBuilder(
-                    component,
-                    cryptoProperties,
-                    algorithmProperties,
-                    algorithm,
-                    parameterSetIdentifier,
-                    mode,
-                    padding,
-                    curve);
+            return this;
         }
-        Primitive primitives;
-        if (primitive.is(AuthenticatedEncryption.class)) {
-            primitives = Primitive.AE;
-        } else if (primitive.is(BlockCipher.class)) {
-            primitives = Primitive.BLOCK_CIPHER;
-        } else if (primitive.is(Mac.class)) {
-            primitives = Primitive.MAC;
-        } else if (primitive.is(MessageDigest.class)) {
-            primitives = Primitive.HASH;
-        } else if (primitive.is(KeyDerivationFunction.class)
-                || primitive.is(PasswordBasedKeyDerivationFunction.class)
-                || primitive.is(PasswordBasedEncryption.class)) {
-            primitives = Primitive.KDF;
-        } else if (primitive.is(PseudorandomNumberGenerator.class)) {
-            primitives = Primitive.DRBG;
-        } else if (primitive.is(Signature.class)
-                || primitive.is(ProbabilisticSignatureScheme.class)) {
-            primitives = Primitive.SIGNATURE;
-        } else if (primitive.is(StreamCipher.class)) {
-            primitives = Primitive.STREAM_CIPHER;
-        } else if (primitive.is(PublicKeyEncryption.class)) {
-            primitives = Primitive.PKE;
-        } else if (primitive.is(KeyAgreement.class)) {
-            primitives = Primitive.KEY_AGREE;
-        } else if (primitive.is(KeyEncapsulationMechanism.class)) {
-            primitives = Primitive.KEM;
-        } else if (primitive.is(ExtendableOutputFunction.class)) {
-            primitives = Primitive.XOF;
-        } else {
-            primitives = Primitive.OTHER;
-        }
-        this.algorithmProperties.setPrimitive(primitives);
-        return new AlgorithmComponentBuilder(
-                component,
-                cryptoProperties,
-                algorithmProperties,
-                algorithm,
-                parameterSetIdentifier,
-                mode,
-                padding,
-                curve);
+        this.algorithmProperties.setPrimitive(
+                PRIMITIVES.getOrDefault(primitive.getKind(), Primitive.OTHER));
+        return this;
     }
 
     @Override
     public @Nonnull IAlgorithmComponentBuilder padding(@Nullable INode padding) {
         if (padding == null) {
-            return new AlgorithmComponentBuilder(
-                    component,
-                    cryptoProperties,
-                    algorithmProperties,
-                    algorithm,
-                    parameterSetIdentifier,
-                    mode,
-                    this.padding,
-                    curve);
+            return this;
         }
 
         this.padding = padding;
@@ -276,15 +209,7 @@ public class AlgorithmComponentBuilder implements IAlgorithmComponentBuilder {
             cxPadding = Padding.OTHER;
         }
         this.algorithmProperties.setPadding(cxPadding);
-        return new AlgorithmComponentBuilder(
-                component,
-                cryptoProperties,
-                algorithmProperties,
-                algorithm,
-                parameterSetIdentifier,
-                mode,
-                padding,
-                curve);
+        return this;
     }
 
     @Override
@@ -293,104 +218,36 @@ public class AlgorithmComponentBuilder implements IAlgorithmComponentBuilder {
         if (curve instanceof EllipticCurve ellipticCurve) {
             this.algorithmProperties.setCurve(ellipticCurve.asString());
         }
-        return new AlgorithmComponentBuilder(
-                component,
-                cryptoProperties,
-                algorithmProperties,
-                algorithm,
-                parameterSetIdentifier,
-                mode,
-                padding,
-                curve);
+        return this;
     }
 
     @Override
     public @Nonnull IAlgorithmComponentBuilder cryptoFunctions(@Nullable INode... cryptoFunctions) {
         if (cryptoFunctions == null || cryptoFunctions.length == 0) {
-            return new AlgorithmComponentBuilder(
-                    component,
-                    cryptoProperties,
-                    algorithmProperties,
-                    algorithm,
-                    parameterSetIdentifier,
-                    mode,
-                    padding,
-                    curve);
+            return this;
         }
 
-        List<CryptoFunction> functions =
-                Arrays.stream(cryptoFunctions)
-                        .filter(Objects::nonNull)
-                        .filter(Functionality.class::isInstance)
-                        .map(
-                                node -> {
-                                    if (node.is(Tag.class)) {
-                                        return CryptoFunction.TAG;
-                                    } else if (node.is(Sign.class)) {
-                                        return CryptoFunction.SIGN;
-                                    } else if (node.is(Digest.class)) {
-                                        return CryptoFunction.DIGEST;
-                                    } else if (node.is(Verify.class)) {
-                                        return CryptoFunction.VERIFY;
-                                    } else if (node.is(Decrypt.class)) {
-                                        return CryptoFunction.DECRYPT;
-                                    } else if (node.is(Encrypt.class)) {
-                                        return CryptoFunction.ENCRYPT;
-                                    } else if (node.is(Generate.class)) {
-                                        return CryptoFunction.GENERATE;
-                                    } else if (node.is(Decapsulate.class)) {
-                                        return CryptoFunction.DECAPSULATE;
-                                    } else if (node.is(Encapsulate.class)) {
-                                        return CryptoFunction.ENCAPSULATE;
-                                    } else if (node.is(KeyDerivation.class)) {
-                                        return CryptoFunction.KEYDERIVE;
-                                    } else if (node.is(KeyGeneration.class)) {
-                                        return CryptoFunction.KEYGEN;
-                                    } else {
-                                        return CryptoFunction.OTHER;
-                                    }
-                                })
-                        .toList();
-
+        final List<CryptoFunction> functions = new ArrayList<>(cryptoFunctions.length);
+        for (INode node : cryptoFunctions) {
+            if (node instanceof Functionality) {
+                functions.add(CRYPTO_FUNCTIONS.getOrDefault(node.getKind(), CryptoFunction.OTHER));
+            }
+        }
         this.algorithmProperties.setCryptoFunctions(functions);
-        return new AlgorithmComponentBuilder(
-                component,
-                cryptoProperties,
-                algorithmProperties,
-                algorithm,
-                parameterSetIdentifier,
-                mode,
-                padding,
-                curve);
+        return this;
     }
 
     @Override
     public @Nonnull IAlgorithmComponentBuilder occurrences(@Nullable Occurrence... occurrences) {
         if (occurrences == null) {
-            return new AlgorithmComponentBuilder(
-                    component,
-                    cryptoProperties,
-                    algorithmProperties,
-                    algorithm,
-                    parameterSetIdentifier,
-                    mode,
-                    padding,
-                    curve);
+            return this;
         }
 
         final Evidence evidence = new Evidence();
         evidence.setOccurrences(List.of(occurrences));
         this.component.setEvidence(evidence);
 
-        return new AlgorithmComponentBuilder(
-                component,
-                cryptoProperties,
-                algorithmProperties,
-                algorithm,
-                parameterSetIdentifier,
-                mode,
-                padding,
-                curve);
+        return this;
     }
 
     @Override
@@ -398,15 +255,7 @@ public class AlgorithmComponentBuilder implements IAlgorithmComponentBuilder {
         if (oid instanceof Oid oid1) {
             this.cryptoProperties.setOid(oid1.getValue());
         }
-        return new AlgorithmComponentBuilder(
-                component,
-                cryptoProperties,
-                algorithmProperties,
-                algorithm,
-                parameterSetIdentifier,
-                mode,
-                padding,
-                curve);
+        return this;
     }
 
     @Override
@@ -421,8 +270,7 @@ public class AlgorithmComponentBuilder implements IAlgorithmComponentBuilder {
         this.component.setCryptoProperties(this.cryptoProperties);
         this.component.setType(Component.Type.CRYPTOGRAPHIC_ASSET);
         this.component.setBomRef(UUID.randomUUID().toString());
-        this.component.setName(
-                Optional.ofNullable(algorithm).map(INode::asString).orElse("Unknown"));
+        this.component.setName(algorithm != null ? algorithm.asString() : "Unknown");
 
         return this.component;
     }
@@ -57,17 +57,6 @@ public class ProtocolComponentBuilder implements IProtocolComponentBuilder {
         this.algorithmComponentBuilder = algorithmComponentBuilder;
     }
 
-    private ProtocolComponentBuilder(
-            @Nonnull Component component,
-            @Nonnull CryptoProperties cryptoProperties,
-            @Nonnull ProtocolProperties protocolProperties,
-            @Nonnull BiFunction<String, Algorithm, String> algorithmComponentBuilder) {
-        this.component = component;
-        this.cryptoProperties = cryptoProperties;
-        this.protocolProperties = protocolProperties;
-        this.algorithmComponentBuilder = algorithmComponentBuilder;
-    }
-
     @Nonnull
     public static IProtocolComponentBuilder create(
             @Nonnull BiFunction<String, Algorithm, String> algorithmComponentBuilder) {
@@ -78,13 +67,11 @@ public class ProtocolComponentBuilder implements IProtocolComponentBuilder {
     @Override
     public IProtocolComponentBuilder name(@Nullable Protocol name) {
         if (name == null) {
-            return new ProtocolComponentBuilder(
-                    component, cryptoProperties, protocolProperties, algorithmComponentBuilder);
+            return this;
         }
 
         this.component.setName(name.asString());
-        return new ProtocolComponentBuilder(
-                component, cryptoProperties, protocolProperties, algorithmComponentBuilder);
+        return this;
     }
 
     @Nonnull
@@ -92,8 +79,7 @@ public class ProtocolComponentBuilder implements IProtocolComponentBuilder {
     public IProtocolComponentBuilder type(@Nullable Protocol type) {
         if (type == null) {
             protocolProperties.setType(ProtocolType.UNKNOWN);
-            return new ProtocolComponentBuilder(
-                    component, cryptoProperties, protocolProperties, algorithmComponentBuilder);
+            return this;
         }
 
         if (type instanceof TLS) {
@@ -106,28 +92,24 @@ public class ProtocolComponentBuilder implements IProtocolComponentBuilder {
             protocolProperties.setType(ProtocolType.OTHER);
         }
 
-        return new ProtocolComponentBuilder(
-                component, cryptoProperties, protocolProperties, algorithmComponentBuilder);
+        return this;
     }
 
     @Nonnull
     @Override
     public IProtocolComponentBuilder version(@Nullable INode version) {
         if (version == null) {
-            return new ProtocolComponentBuilder(
-                    component, cryptoProperties, protocolProperties, algorithmComponentBuilder);
+            return this;
         }
         protocolProperties.setVersion(version.asString());
-        return new ProtocolComponentBuilder(
-                component, cryptoProperties, protocolProperties, algorithmComponentBuilder);
+        return this;
     }
 
     @Nonnull
     @Override
     public IProtocolComponentBuilder cipherSuites(@Nullable INode node) {
         if (node == null) {
-            return new ProtocolComponentBuilder(
-                    component, cryptoProperties, protocolProperties, algorithmComponentBuilder);
+            return this;
         }
 
         if (node instanceof CipherSuiteCollection cipherSuiteCollection) {
@@ -170,22 +152,19 @@ public class ProtocolComponentBuilder implements IProtocolComponentBuilder {
             protocolProperties.setCipherSuites(suites);
         }
 
-        return new ProtocolComponentBuilder(
-                component, cryptoProperties, protocolProperties, algorithmComponentBuilder);
+        return this;
     }
 
     @Nonnull
     @Override
     public IProtocolComponentBuilder occurrences(@Nullable Occurrence... occurrences) {
         if (occurrences == null) {
-            return new ProtocolComponentBuilder(
-                    component, cryptoProperties, protocolProperties, algorithmComponentBuilder);
+            return this;
         }
         final Evidence evidence = new Evidence();
         evidence.setOccurrences(List.of(occurrences));
         this.component.setEvidence(evidence);
-        return new ProtocolComponentBuilder(
-                component, cryptoProperties, protocolProperties, algorithmComponentBuilder);
+        return this;
     }
 
     @Nonnull
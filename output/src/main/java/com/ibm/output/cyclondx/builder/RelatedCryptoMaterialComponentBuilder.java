@@ -49,7 +49,7 @@ public class RelatedCryptoMaterialComponentBuilder
     @Nonnull private final CryptoProperties cryptoProperties;
     @Nonnull private final RelatedCryptoMaterialProperties relatedCryptoMaterialProperties;
 
-    @Nonnull private UUID uuid = UUID.randomUUID();
+    @Nonnull private final UUID uuid = UUID.randomUUID();
 
     protected RelatedCryptoMaterialComponentBuilder() {
         this.component = new Component();
@@ -57,17 +57,6 @@ public class RelatedCryptoMaterialComponentBuilder
         this.relatedCryptoMaterialProperties = new RelatedCryptoMaterialProperties();
     }
 
-    public RelatedCryptoMaterialComponentBuilder(
-            @Nonnull Component component,
-            @Nonnull CryptoProperties cryptoProperties,
-            @Nonnull RelatedCryptoMaterialProperties relatedCryptoMaterialProperties,
-            @Nonnull UUID uuid) {
-        this.component = component;
-        this.cryptoProperties = cryptoProperties;
-        this.relatedCryptoMaterialProperties = relatedCryptoMaterialProperties;
-        this.uuid = uuid;
-    }
-
     @Nonnull
     public static IRelatedCryptoMaterialComponentBuilder create() {
         return new RelatedCryptoMaterialComponentBuilder();
@@ -77,8 +66,7 @@ public class RelatedCryptoMaterialComponentBuilder
     @Override
     public IRelatedCryptoMaterialComponentBuilder name(@Nullable INode name) {
         if (name == null) {
-            return new RelatedCryptoMaterialComponentBuilder(
-                    component, cryptoProperties, relatedCryptoMaterialProperties, uuid);
+            return this;
         }
 
         final StringBuilder stringBuilder = new StringBuilder();
@@ -104,16 +92,14 @@ public class RelatedCryptoMaterialComponentBuilder
         stringBuilder.append("@").append(this.uuid);
         this.component.setName(stringBuilder.toString());
 
-        return new RelatedCryptoMaterialComponentBuilder(
-                component, cryptoProperties, relatedCryptoMaterialProperties, uuid);
+        return this;
     }
 
     @Nonnull
     @Override
     public IRelatedCryptoMaterialComponentBuilder type(@Nullable INode type) {
         if (type == null) {
-            return new RelatedCryptoMaterialComponentBuilder(
-                    component, cryptoProperties, relatedCryptoMaterialProperties, uuid);
+            return this;
         }
 
         RelatedCryptoMaterialType types = null;
@@ -139,16 +125,14 @@ public class RelatedCryptoMaterialComponentBuilder
             this.relatedCryptoMaterialProperties.setType(types);
         }
 
-        return new RelatedCryptoMaterialComponentBuilder(
-                component, cryptoProperties, relatedCryptoMaterialProperties, uuid);
+        return this;
     }
 
     @Nonnull
     @Override
     public IRelatedCryptoMaterialComponentBuilder size(@Nullable INode size) {
         if (size == null) {
-            return new RelatedCryptoMaterialComponentBuilder(
-                    component, cryptoProperties, relatedCryptoMaterialProperties, uuid);
+            return this;
         }
 
         if (size instanceof SaltLength saltLength) {
@@ -165,22 +149,19 @@ public class RelatedCryptoMaterialComponentBuilder
             this.relatedCryptoMaterialProperties.setSize(tagLength.getValue());
         }
 
-        return new RelatedCryptoMaterialComponentBuilder(
-                component, cryptoProperties, relatedCryptoMaterialProperties, uuid);
+        return this;
     }
 
     @Override
     public @Nonnull IRelatedCryptoMaterialComponentBuilder occurrences(
             @Nullable Occurrence... occurrences) {
         if (occurrences == null) {
-            return new RelatedCryptoMaterialComponentBuilder(
-                    component, cryptoProperties, relatedCryptoMaterialProperties, uuid);
+            return this;
         }
         final Evidence evidence = new Evidence();
         evidence.setOccurrences(List.of(occurrences));
         this.component.setEvidence(evidence);
-        return new RelatedCryptoMaterialComponentBuilder(
-                component, cryptoProperties, relatedCryptoMaterialProperties, uuid);
+        return this;
     }
 
     @Override
@@ -0,0 +1,348 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.output.cyclondx.diff;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.ibm.output.cyclondx.CBOMOutputFile;
+import com.ibm.output.cyclondx.CBOMReader;
+import com.ibm.output.statistics.DeltaStatistics;
+import com.ibm.output.util.LongHashSet;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Computes the differences between a baseline CBOM and a current one, and writes them as a compact
+ * json delta:
+ *
+ * <ul>
+ *   <li>{@code addedOccurrences} and {@code removedOccurrences}: the occurrences, each with the
+ *       name of its component
+ *   <li>{@code addedComponents} and {@code removedComponents}: the component names
+ *   <li>{@code changedComponents}: the name and the changed fields of the components present in
+ *       both CBOMs, as json pointers with the baseline and the current value
+ *   <li>{@code summary}: the counts
+ * </ul>
+ *
+ * <p>Components are matched by the identity {@link CBOMOutputFile} merges them by, occurrences by
+ * the key it merges occurrences by. Bom-refs and crypto references are random per scan and not
+ * compared. Both CBOMs are streamed: the baseline twice and the current CBOM once, keeping the
+ * component headers and a 64-bit hash per occurrence in memory.
+ */
+public final class CBOMDiff {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** A CBOM to compare, which can be read several times. */
+    @FunctionalInterface
+    public interface Source {
+        void read(@Nonnull CBOMReader.Handler handler) throws IOException;
+
+        @Nonnull
+        static Source of(@Nonnull File file) {
+            return handler -> CBOMReader.read(file, handler);
+        }
+
+        @Nonnull
+        static Source of(@Nonnull CBOMOutputFile outputFile) {
+            return handler -> CBOMReader.read(outputFile, handler);
+        }
+    }
+
+    @Nonnull private final Map<String, ObjectNode> baselineComponents = new LinkedHashMap<>();
+    @Nonnull private final Set<String> currentComponents = new LinkedHashSet<>();
+    @Nonnull private final List<String> addedComponents = new ArrayList<>();
+    @Nonnull private final Map<String, List<ObjectNode>> changedComponents = new LinkedHashMap<>();
+    @Nonnull private final LongHashSet baselineOccurrences = new LongHashSet();
+    @Nonnull private final LongHashSet currentOccurrences = new LongHashSet();
+    @Nonnull private final Map<String, Long> seeds = new HashMap<>();
+    private long addedOccurrences;
+    private long removedOccurrences;
+
+    private CBOMDiff() {
+        // use diff
+    }
+
+    @Nonnull
+    public static DeltaStatistics diff(
+            @Nonnull File baseline, @Nonnull File current, @Nonnull File delta) throws IOException {
+        return diff(Source.of(baseline), Source.of(current), delta);
+    }
+
+    @Nonnull
+    public static DeltaStatistics diff(
+            @Nonnull CBOMOutputFile baseline, @Nonnull CBOMOutputFile current, @Nonnull File delta)
+            throws IOException {
+        return diff(Source.of(baseline), Source.of(current), delta);
+    }
+
+    /** Writes the delta from the baseline to the current CBOM to the delta file. */
+    @Nonnull
+    public static DeltaStatistics diff(
+            @Nonnull Source baseline, @Nonnull Source current, @Nonnull File delta)
+            throws IOException {
+        final CBOMDiff diff = new CBOMDiff();
+        baseline.read(diff.new BaselineIndexer());
+        try (JsonGenerator generator =
+                MAPPER.getFactory().createGenerator(delta, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("addedOccurrences");
+            current.read(diff.new CurrentComparator(generator));
+            generator.writeEndArray();
+            generator.writeArrayFieldStart("removedOccurrences");
+            baseline.read(diff.new RemovedOccurrencesWriter(generator));
+            generator.writeEndArray();
+            return diff.writeComponents(generator);
+        }
+    }
+
+    /** Handler identifying the component being read once, and not for each occurrence. */
+    private abstract static class ComponentHandler implements CBOMReader.Handler {
+        @Nullable private ObjectNode header;
+        @Nonnull private Optional<String> identity = Optional.empty();
+
+        @Nonnull
+        final Optional<String> identityOf(@Nonnull ObjectNode current) {
+            if (current != header) {
+                header = current;
+                identity = CBOMReader.identityOf(current);
+            }
+            return identity;
+        }
+    }
+
+    /** First pass over the baseline: indexes its components and occurrences. */
+    private final class BaselineIndexer extends ComponentHandler {
+        @Override
+        public void occurrence(@Nonnull ObjectNode header, @Nonnull JsonNode occurrence) {
+            identityOf(header)
+                    .ifPresent(
+                            id ->
+                                    baselineOccurrences.add(
+                                            LongHashSet.hash(
+                                                    seedOf(id),
+                                                    CBOMReader.occurrenceKey(occurrence))));
+        }
+
+        @Override
+        public void component(@Nonnull ObjectNode header) {
+            identityOf(header)
+                    .ifPresent(id -> baselineComponents.putIfAbsent(id, normalize(header)));
+        }
+    }
+
+    /** Pass over the current CBOM: compares it to the baseline and writes the new occurrences. */
+    private final class CurrentComparator extends ComponentHandler {
+        @Nonnull private final JsonGenerator generator;
+
+        private CurrentComparator(@Nonnull JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        public void occurrence(@Nonnull ObjectNode header, @Nonnull JsonNode occurrence)
+                throws IOException {
+            final Optional<String> identity = identityOf(header);
+            if (identity.isEmpty()) {
+                return;
+            }
+            final long hash =
+                    LongHashSet.hash(seedOf(identity.get()), CBOMReader.occurrenceKey(occurrence));
+            if (currentOccurrences.add(hash) && !baselineOccurrences.contains(hash)) {
+                writeOccurrence(generator, identity.get(), occurrence);
+                addedOccurrences++;
+            }
+        }
+
+        @Override
+        public void component(@Nonnull ObjectNode header) {
+            final Optional<String> identity = identityOf(header);
+            if (identity.isEmpty() || !currentComponents.add(identity.get())) {
+                return;
+            }
+            final ObjectNode baseline = baselineComponents.get(identity.get());
+            if (baseline == null) {
+                addedComponents.add(identity.get());
+                return;
+            }
+            final ObjectNode current = normalize(header);
+            if (!baseline.equals(current)) {
+                final List<ObjectNode> changes = new ArrayList<>();
+                compare("", baseline, current, changes);
+                changedComponents.put(identity.get(), changes);
+            }
+        }
+    }
+
+    /** Second pass over the baseline: writes the occurrences missing from the current CBOM. */
+    private final class RemovedOccurrencesWriter extends ComponentHandler {
+        @Nonnull private final JsonGenerator generator;
+        @Nonnull private final LongHashSet written = new LongHashSet();
+
+        private RemovedOccurrencesWriter(@Nonnull JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        public void occurrence(@Nonnull ObjectNode header, @Nonnull JsonNode occurrence)
+                throws IOException {
+            final Optional<String> identity = identityOf(header);
+            if (identity.isEmpty()) {
+                return;
+            }
+            final long hash =
+                    LongHashSet.hash(seedOf(identity.get()), CBOMReader.occurrenceKey(occurrence));
+            if (!currentOccurrences.contains(hash) && written.add(hash)) {
+                writeOccurrence(generator, identity.get(), occurrence);
+                removedOccurrences++;
+            }
+        }
+
+        @Override
+        public void component(@Nonnull ObjectNode header) {
+            // indexed by the first pass
+        }
+    }
+
+    @Nonnull
+    private DeltaStatistics writeComponents(@Nonnull JsonGenerator generator) throws IOException {
+        final List<String> removedComponents = new ArrayList<>();
+        for (String identity : baselineComponents.keySet()) {
+            if (!currentComponents.contains(identity)) {
+                removedComponents.add(identity);
+            }
+        }
+        writeNames(generator, "addedComponents", addedComponents);
+        writeNames(generator, "removedComponents", removedComponents);
+        generator.writeArrayFieldStart("changedComponents");
+        for (Map.Entry<String, List<ObjectNode>> changed : changedComponents.entrySet()) {
+            generator.writeStartObject();
+            generator.writeStringField("component", changed.getKey());
+            generator.writeArrayFieldStart("changes");
+            for (ObjectNode change : changed.getValue()) {
+                MAPPER.writeTree(generator, change);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+
+        final DeltaStatistics statistics =
+                new DeltaStatistics(
+                        addedComponents.size(),
+                        removedComponents.size(),
+                        changedComponents.size(),
+                        addedOccurrences,
+                        removedOccurrences);
+        generator.writeObjectFieldStart("summary");
+        generator.writeNumberField("addedComponents", statistics.getAddedComponents());
+        generator.writeNumberField("removedComponents", statistics.getRemovedComponents());
+        generator.writeNumberField("changedComponents", statistics.getChangedComponents());
+        generator.writeNumberField("addedOccurrences", statistics.getAddedOccurrences());
+        generator.writeNumberField("removedOccurrences", statistics.getRemovedOccurrences());
+        generator.writeEndObject();
+        generator.writeEndObject();
+        return statistics;
+    }
+
+    private long seedOf(@Nonnull String identity) {
+        return seeds.computeIfAbsent(identity, id -> LongHashSet.hash(LongHashSet.SEED, id));
+    }
+
+    /** The fields of a component that are compared: without bom-refs and evidence. */
+    @Nonnull
+    private static ObjectNode normalize(@Nonnull ObjectNode header) {
+        final ObjectNode normalized = header.deepCopy();
+        normalized.remove("bom-ref");
+        normalized.remove("evidence");
+        if (normalized.path("cryptoProperties").path("protocolProperties")
+                instanceof ObjectNode protocolProperties) {
+            protocolProperties.remove("cryptoRefArray");
+        }
+        return normalized;
+    }
+
+    private static void compare(
+            @Nonnull String path,
+            @Nullable JsonNode baseline,
+            @Nullable JsonNode current,
+            @Nonnull List<ObjectNode> changes) {
+        if (baseline instanceof ObjectNode b && current instanceof ObjectNode c) {
+            final Set<String> fields = new LinkedHashSet<>();
+            b.fieldNames().forEachRemaining(fields::add);
+            c.fieldNames().forEachRemaining(fields::add);
+            for (String field : fields) {
+                compare(path + "/" + escape(field), b.get(field), c.get(field), changes);
+            }
+        } else if (!Objects.equals(baseline, current)) {
+            final ObjectNode change = MAPPER.createObjectNode();
+            change.put("path", path);
+            change.set("baseline", baseline == null ? MAPPER.nullNode() : baseline);
+            change.set("current", current == null ? MAPPER.nullNode() : current);
+            changes.add(change);
+        }
+    }
+
+    /** Escapes a field name as a json pointer segment. */
+    @Nonnull
+    private static String escape(@Nonnull String field) {
+        return field.replace("~", "~0").replace("/", "~1");
+    }
+
+    private static void writeOccurrence(
+            @Nonnull JsonGenerator generator,
+            @Nonnull String component,
+            @Nonnull JsonNode occurrence)
+            throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("component", component);
+        final Iterator<Map.Entry<String, JsonNode>> fields = occurrence.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            generator.writeFieldName(field.getKey());
+            MAPPER.writeTree(generator, field.getValue());
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeNames(
+            @Nonnull JsonGenerator generator, @Nonnull String field, @Nonnull List<String> names)
+            throws IOException {
+        generator.writeArrayFieldStart(field);
+        for (String name : names) {
+            generator.writeString(name);
+        }
+        generator.writeEndArray();
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.output.cyclondx.merge;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.ibm.output.cyclondx.CBOMOutputFile;
+import com.ibm.output.cyclondx.CBOMReader;
+import com.ibm.output.util.LongHashSet;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Merges CBOM files, like the shards of a project or the CBOMs of several scanner runs, into one.
+ *
+ * <p>Components are identified the same way {@link CBOMOutputFile} does it, so a component found in
+ * several inputs appears once, with the distinct occurrences of all of them. Dependencies and the
+ * crypto references of protocols are rewritten to the bom-ref of the first input defining the
+ * component, and merged.
+ *
+ * <p>The inputs are streamed: the memory used grows with the number of distinct components and
+ * occurrences (a 64-bit hash each), not with the size of the inputs. Occurrences themselves are
+ * spilled to a temporary file until the result is written. The document fields of the result
+ * (metadata, spec version, ...) are the ones of the first input, with a new serial number.
+ */
+public final class CBOMMerger {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonFactory FACTORY = MAPPER.getFactory();
+
+    private static final String COMPONENTS = "components";
+    private static final String DEPENDENCIES = "dependencies";
+    private static final String EVIDENCE = "evidence";
+    private static final String OCCURRENCES = "occurrences";
+    private static final String BOM_REF = "bom-ref";
+
+    /** Summary of a merge. */
+    public record Result(int inputs, int components, long occurrences, long duplicateOccurrences) {}
+
+    private record RefKey(int input, @Nonnull String ref) {}
+
+    private record RawDependency(@Nonnull RefKey ref, @Nonnull List<String> dependsOn) {}
+
+    private static final class MergedComponent {
+        @Nonnull private final ObjectNode header;
+        @Nonnull private final OccurrenceStore.Occurrences occurrences;
+        @Nonnull private final Set<RefKey> cryptoRefs = new LinkedHashSet<>();
+        private final long seed;
+        @Nullable private String bomRef;
+
+        private MergedComponent(
+                @Nonnull ObjectNode header,
+                @Nonnull OccurrenceStore.Occurrences occurrences,
+                @Nonnull String identity) {
+            this.header = header;
+            this.occurrences = occurrences;
+            this.seed = LongHashSet.hash(LongHashSet.SEED, identity);
+        }
+    }
+
+    @Nonnull private final OccurrenceStore store;
+    @Nonnull private final Map<String, MergedComponent> components = new LinkedHashMap<>();
+    @Nonnull private final List<Map<String, String>> identityOfRef = new ArrayList<>();
+    @Nonnull private final List<RawDependency> dependencies = new ArrayList<>();
+    @Nonnull private final LongHashSet seenOccurrences = new LongHashSet();
+    @Nonnull private final Map<String, JsonNode> documentFields = new LinkedHashMap<>();
+    private long duplicateOccurrences;
+    private int unnamed;
+
+    private CBOMMerger(@Nonnull OccurrenceStore store) {
+        this.store = store;
+    }
+
+    @Nonnull
+    public static Result merge(@Nonnull List<File> inputs, @Nonnull File output)
+            throws IOException {
+        return merge(inputs, output, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Merges the inputs into the output file.
+     *
+     * @param temporaryDirectory directory of the temporary occurrence file
+     */
+    @Nonnull
+    public static Result merge(
+            @Nonnull List<File> inputs, @Nonnull File output, @Nonnull Path temporaryDirectory)
+            throws IOException {
+        try (OccurrenceStore store = new OccurrenceStore(temporaryDirectory)) {
+            final CBOMMerger merger = new CBOMMerger(store);
+            for (File input : inputs) {
+                merger.read(input);
+            }
+            merger.write(output);
+            return new Result(
+                    inputs.size(),
+                    merger.components.size(),
+                    merger.seenOccurrences.size(),
+                    merger.duplicateOccurrences);
+        }
+    }
+
+    private void read(@Nonnull File file) throws IOException {
+        final int input = identityOfRef.size();
+        identityOfRef.add(new HashMap<>());
+        CBOMReader.read(
+                file,
+                new CBOMReader.Handler() {
+                    @Nullable private ObjectNode header;
+                    @Nullable private String identity;
+
+                    @Override
+                    public void documentField(@Nonnull String name, @Nonnull JsonNode value) {
+                        if (input == 0) {
+                            documentFields.put(name, value);
+                        }
+                    }
+
+                    @Override
+                    public void occurrence(@Nonnull ObjectNode header, @Nonnull JsonNode occurrence)
+                            throws IOException {
+                        addOccurrence(componentFor(header), occurrence);
+                    }
+
+                    @Override
+                    public void component(@Nonnull ObjectNode header) {
+                        final MergedComponent target = componentFor(header);
+                        final String ref = header.path(BOM_REF).asText(null);
+                        if (target.header == header) {
+                            target.bomRef = ref;
+                        }
+                        if (ref != null) {
+                            identityOfRef.get(input).put(ref, identity);
+                        }
+                        final JsonNode protocol =
+                                header.path("cryptoProperties").path("protocolProperties");
+                        if (protocol instanceof ObjectNode protocolProperties
+                                && protocolProperties.remove("cryptoRefArray")
+                                        instanceof ArrayNode refs) {
+                            for (JsonNode r : refs) {
+                                target.cryptoRefs.add(new RefKey(input, r.asText()));
+                            }
+                        }
+                    }
+
+                    @Override
+                    public void dependency(@Nonnull JsonNode dependency) {
+                        readDependency(dependency, input);
+                    }
+
+                    /** The merged component of the component being read. */
+                    @Nonnull
+                    private MergedComponent componentFor(@Nonnull ObjectNode current) {
+                        if (current != header) {
+                            header = current;
+                            identity = identityOf(current);
+                        }
+                        return components.computeIfAbsent(
+                                identity,
+                                id -> new MergedComponent(current, store.newOccurrences(), id));
+                    }
+                });
+    }
+
+    @Nonnull
+    private String identityOf(@Nonnull ObjectNode header) {
+        return CBOMReader.identityOf(header).orElseGet(() -> "\0" + unnamed++);
+    }
+
+    private void addOccurrence(@Nonnull MergedComponent target, @Nonnull JsonNode occurrence)
+            throws IOException {
+        if (seenOccurrences.add(
+                LongHashSet.hash(target.seed, CBOMReader.occurrenceKey(occurrence)))) {
+            target.occurrences.add(MAPPER.writeValueAsBytes(occurrence));
+        } else {
+            duplicateOccurrences++;
+        }
+    }
+
+    private void readDependency(@Nonnull JsonNode dependency, int input) {
+        final String ref = dependency.path("ref").asText(null);
+        if (ref == null) {
+            return;
+        }
+        final List<String> dependsOn = new ArrayList<>();
+        dependency.path("dependsOn").forEach(d -> dependsOn.add(d.asText()));
+        dependencies.add(new RawDependency(new RefKey(input, ref), dependsOn));
+    }
+
+    private void write(@Nonnull File output) throws IOException {
+        try (JsonGenerator generator = FACTORY.createGenerator(output, JsonEncoding.UTF8)) {
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartObject();
+            for (Map.Entry<String, JsonNode> field : documentFields.entrySet()) {
+                generator.writeFieldName(field.getKey());
+                if ("serialNumber".equals(field.getKey())) {
+                    generator.writeString("urn:uuid:" + UUID.randomUUID());
+                } else {
+                    MAPPER.writeTree(generator, field.getValue());
+                }
+            }
+            generator.writeArrayFieldStart(COMPONENTS);
+            for (MergedComponent component : components.values()) {
+                writeComponent(generator, component);
+            }
+            generator.writeEndArray();
+            generator.writeArrayFieldStart(DEPENDENCIES);
+            for (Map.Entry<String, Set<String>> dependency : mergedDependencies().entrySet()) {
+                generator.writeStartObject();
+                generator.writeStringField("ref", dependency.getKey());
+                generator.writeArrayFieldStart("dependsOn");
+                for (String dependsOn : dependency.getValue()) {
+                    generator.writeString(dependsOn);
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    private void writeComponent(
+            @Nonnull JsonGenerator generator, @Nonnull MergedComponent component)
+            throws IOException {
+        if (!component.cryptoRefs.isEmpty()) {
+            final ArrayNode refs = MAPPER.createArrayNode();
+            component.cryptoRefs.stream().map(this::resolve).distinct().forEach(refs::add);
+            final ObjectNode cryptoProperties =
+                    component.header.get("cryptoProperties") instanceof ObjectNode o
+                            ? o
+                            : component.header.putObject("cryptoProperties");
+            final ObjectNode protocolProperties =
+                    cryptoProperties.get("protocolProperties") instanceof ObjectNode o
+                            ? o
+                            : cryptoProperties.putObject("protocolProperties");
+            protocolProperties.set("cryptoRefArray", refs);
+        }
+        if (component.occurrences.count() > 0 && !component.header.has(EVIDENCE)) {
+            component.header.putObject(EVIDENCE);
+        }
+
+        generator.writeStartObject();
+        final var fields = component.header.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            generator.writeFieldName(field.getKey());
+            if (EVIDENCE.equals(field.getKey()) && field.getValue() instanceof ObjectNode e) {
+                generator.writeStartObject();
+                final var evidenceFields = e.fields();
+                while (evidenceFields.hasNext()) {
+                    final Map.Entry<String, JsonNode> evidenceField = evidenceFields.next();
+                    generator.writeFieldName(evidenceField.getKey());
+                    MAPPER.writeTree(generator, evidenceField.getValue());
+                }
+                if (component.occurrences.count() > 0) {
+                    generator.writeArrayFieldStart(OCCURRENCES);
+                    component.occurrences.forEach(
+                            o -> generator.writeRawValue(new String(o, StandardCharsets.UTF_8)));
+                    generator.writeEndArray();
+                }
+                generator.writeEndObject();
+            } else {
+                MAPPER.writeTree(generator, field.getValue());
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    @Nonnull
+    private Map<String, Set<String>> mergedDependencies() {
+        final Map<String, Set<String>> merged = new LinkedHashMap<>();
+        for (RawDependency dependency : dependencies) {
+            final Set<String> dependsOn =
+                    merged.computeIfAbsent(resolve(dependency.ref()), r -> new LinkedHashSet<>());
+            for (String ref : dependency.dependsOn()) {
+                dependsOn.add(resolve(new RefKey(dependency.ref().input(), ref)));
+            }
+        }
+        return merged;
+    }
+
+    /** The bom-ref of the merged component a reference of an input points to. */
+    @Nonnull
+    private String resolve(@Nonnull RefKey ref) {
+        return Optional.ofNullable(identityOfRef.get(ref.input()).get(ref.ref()))
+                .map(components::get)
+                .map(c -> c.bomRef)
+                .orElse(ref.ref());
+    }
+}
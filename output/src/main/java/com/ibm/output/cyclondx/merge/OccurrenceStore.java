@@ -0,0 +1,129 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.output.cyclondx.merge;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+
+/**
+ * Append only store of serialized occurrences, grouped per component. Occurrences are buffered per
+ * component and spilled to a temporary file in blocks, so the memory used is bounded by the number
+ * of components times the block size, whatever the number of occurrences.
+ */
+final class OccurrenceStore implements Closeable {
+    static final int BLOCK_SIZE = 16 * 1024;
+
+    /** Occurrences of one component. */
+    final class Occurrences {
+        @Nonnull private final List<long[]> blocks = new ArrayList<>();
+        @Nonnull private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+        private int count;
+
+        void add(@Nonnull byte[] occurrence) throws IOException {
+            pending.write(occurrence.length >>> 24);
+            pending.write(occurrence.length >>> 16);
+            pending.write(occurrence.length >>> 8);
+            pending.write(occurrence.length);
+            pending.write(occurrence);
+            count++;
+            if (pending.size() >= BLOCK_SIZE) {
+                blocks.add(spill(pending.toByteArray()));
+                pending = new ByteArrayOutputStream();
+            }
+        }
+
+        int count() {
+            return count;
+        }
+
+        /** Calls the consumer with each occurrence, in the order they were added. */
+        void forEach(@Nonnull OccurrenceConsumer consumer) throws IOException {
+            for (long[] block : blocks) {
+                final ByteBuffer buffer = ByteBuffer.allocate((int) block[1]);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, block[0] + buffer.position()) < 0) {
+                        throw new IOException("Truncated occurrence store");
+                    }
+                }
+                read(buffer.flip(), consumer);
+            }
+            read(ByteBuffer.wrap(pending.toByteArray()), consumer);
+        }
+    }
+
+    /** Receives a serialized occurrence. */
+    @FunctionalInterface
+    interface OccurrenceConsumer {
+        void accept(@Nonnull byte[] occurrence) throws IOException;
+    }
+
+    @Nonnull private final Path file;
+    @Nonnull private final FileChannel channel;
+    private long end;
+
+    OccurrenceStore(@Nonnull Path directory) throws IOException {
+        this.file = Files.createTempFile(directory, "occurrences", ".tmp");
+        this.channel =
+                FileChannel.open(
+                        file,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.DELETE_ON_CLOSE);
+    }
+
+    @Nonnull
+    Occurrences newOccurrences() {
+        return new Occurrences();
+    }
+
+    @Nonnull
+    private long[] spill(@Nonnull byte[] block) throws IOException {
+        final long offset = end;
+        final ByteBuffer buffer = ByteBuffer.wrap(block);
+        while (buffer.hasRemaining()) {
+            end += channel.write(buffer, end);
+        }
+        return new long[] {offset, block.length};
+    }
+
+    private static void read(@Nonnull ByteBuffer buffer, @Nonnull OccurrenceConsumer consumer)
+            throws IOException {
+        while (buffer.hasRemaining()) {
+            final byte[] occurrence = new byte[buffer.getInt()];
+            buffer.get(occurrence);
+            consumer.accept(occurrence);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        Files.deleteIfExists(file);
+    }
+}
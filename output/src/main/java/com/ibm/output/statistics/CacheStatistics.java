@@ -0,0 +1,65 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.output.statistics;
+
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+
+public final class CacheStatistics implements IStatistics {
+    private final boolean enabled;
+    private final long hits;
+    private final long misses;
+    private final long uncacheable;
+
+    public CacheStatistics(boolean enabled, long hits, long misses, long uncacheable) {
+        this.enabled = enabled;
+        this.hits = hits;
+        this.misses = misses;
+        this.uncacheable = uncacheable;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getUncacheable() {
+        return uncacheable;
+    }
+
+    @Override
+    public void print(@Nonnull Consumer<String> out) {
+        if (!enabled) {
+            return;
+        }
+        final long lookups = hits + misses;
+        out.accept("========== Findings Cache ===========");
+        out.accept(String.format("%-33s: %s", "Cached files", hits));
+        out.accept(String.format("%-33s: %s", "Analysed files", misses));
+        out.accept(String.format("%-33s: %s", "Hook dependent files", uncacheable));
+        out.accept(
+                String.format(
+                        "%-33s: %.1f%%", "Hit ratio", lookups == 0 ? 0.0 : 100.0 * hits / lookups));
+        out.accept("=====================================");
+    }
+}
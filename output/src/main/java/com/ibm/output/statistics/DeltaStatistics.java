@@ -0,0 +1,83 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.output.statistics;
+
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+
+public final class DeltaStatistics implements IStatistics {
+    private final int addedComponents;
+    private final int removedComponents;
+    private final int changedComponents;
+    private final long addedOccurrences;
+    private final long removedOccurrences;
+
+    public DeltaStatistics(
+            int addedComponents,
+            int removedComponents,
+            int changedComponents,
+            long addedOccurrences,
+            long removedOccurrences) {
+        this.addedComponents = addedComponents;
+        this.removedComponents = removedComponents;
+        this.changedComponents = changedComponents;
+        this.addedOccurrences = addedOccurrences;
+        this.removedOccurrences = removedOccurrences;
+    }
+
+    public int getAddedComponents() {
+        return addedComponents;
+    }
+
+    public int getRemovedComponents() {
+        return removedComponents;
+    }
+
+    public int getChangedComponents() {
+        return changedComponents;
+    }
+
+    public long getAddedOccurrences() {
+        return addedOccurrences;
+    }
+
+    public long getRemovedOccurrences() {
+        return removedOccurrences;
+    }
+
+    public boolean isEmpty() {
+        return addedComponents == 0
+                && removedComponents == 0
+                && changedComponents == 0
+                && addedOccurrences == 0
+                && removedOccurrences == 0;
+    }
+
+    @Override
+    public void print(@Nonnull Consumer<String> out) {
+        out.accept("============ CBOM Delta =============");
+        out.accept(String.format("%-33s: %s", "Added components", addedComponents));
+        out.accept(String.format("%-33s: %s", "Removed components", removedComponents));
+        out.accept(String.format("%-33s: %s", "Changed components", changedComponents));
+        out.accept(String.format("%-33s: %s", "Added occurrences", addedOccurrences));
+        out.accept(String.format("%-33s: %s", "Removed occurrences", removedOccurrences));
+        out.accept("=====================================");
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.output.util;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Open addressing set of 64-bit hashes. Keeps the per entry cost at 8 to 16 bytes, where a boxed
+ * set would need about 60, which is what makes it possible to track every occurrence of large
+ * CBOMs.
+ */
+public final class LongHashSet {
+    /** Seed of {@link #hash(long, CharSequence)} when there is no enclosing value. */
+    public static final long SEED = 0xcbf29ce484222325L;
+
+    private static final long EMPTY = 0L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private long[] table = new long[1 << 10];
+    private int size;
+    private boolean containsEmpty;
+
+    /** Returns {@code true} if the value was not in the set yet. */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            final boolean added = !containsEmpty;
+            containsEmpty = true;
+            return added;
+        }
+        if ((size + 1) * 2 > table.length) {
+            grow();
+        }
+        if (insert(table, value)) {
+            size++;
+            return true;
+        }
+        return false;
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return containsEmpty;
+        }
+        final int mask = table.length - 1;
+        int slot = (int) (mix(value) & mask);
+        while (table[slot] != EMPTY) {
+            if (table[slot] == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size + (containsEmpty ? 1 : 0);
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the value, continued from the seed. Hashing a value with the hash of
+     * its owner as seed keeps equal values of different owners apart.
+     */
+    public static long hash(long seed, @Nonnull CharSequence value) {
+        long h = seed;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= FNV_PRIME;
+        }
+        return h;
+    }
+
+    private void grow() {
+        final long[] grown = new long[table.length * 2];
+        for (long value : table) {
+            if (value != EMPTY) {
+                insert(grown, value);
+            }
+        }
+        table = grown;
+    }
+
+    private static boolean insert(long[] into, long value) {
+        final int mask = into.length - 1;
+        int slot = (int) (mix(value) & mask);
+        while (into[slot] != EMPTY) {
+            if (into[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        into[slot] = value;
+        return true;
+    }
+
+    private static long mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+}
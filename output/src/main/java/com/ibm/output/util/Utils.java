@@ -20,9 +20,7 @@
 package com.ibm.output.util;
 
 import com.ibm.mapper.model.INode;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -37,14 +35,35 @@ public final class Utils {
         if (nodes == null) {
             return null;
         }
-        return Arrays.stream(nodes).filter(Objects::nonNull).findFirst().orElse(null);
+        for (INode node : nodes) {
+            if (node != null) {
+                return node;
+            }
+        }
+        return null;
     }
 
     @Nullable public static INode[] allExisting(@Nullable INode... nodes) {
         if (nodes == null) {
             return null;
         }
-        return Arrays.stream(nodes).filter(Objects::nonNull).toArray(INode[]::new);
+        int count = 0;
+        for (INode node : nodes) {
+            if (node != null) {
+                count++;
+            }
+        }
+        if (count == nodes.length) {
+            return nodes;
+        }
+        final INode[] existing = new INode[count];
+        int i = 0;
+        for (INode node : nodes) {
+            if (node != null) {
+                existing[i++] = node;
+            }
+        }
+        return existing;
     }
 
     public static void pushNodesDownToFirstMatch(
@@ -0,0 +1,153 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.output;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.mapper.model.INode;
+import com.ibm.mapper.model.algorithms.AES;
+import com.ibm.mapper.utils.DetectionLocation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.event.Level;
+import org.sonar.api.testfixtures.log.LogTesterJUnit5;
+
+class DetectionLogChannelTest {
+
+    @RegisterExtension final LogTesterJUnit5 logTester = new LogTesterJUnit5().setLevel(Level.INFO);
+
+    @Nonnull private final CountDownLatch writerReleased = new CountDownLatch(1);
+    @Nonnull private final AtomicReference<Thread> writer = new AtomicReference<>();
+
+    /** Starts the writers of the channel held until {@link #writerReleased} is counted down. */
+    @Nonnull
+    private ThreadFactory heldWriters() {
+        return drain -> {
+            final Thread thread =
+                    DetectionLogChannel.newWriter(
+                            () -> {
+                                try {
+                                    writerReleased.await();
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                    return;
+                                }
+                                drain.run();
+                            });
+            writer.set(thread);
+            return thread;
+        };
+    }
+
+    @Nonnull
+    private static List<INode> nodes(int number) {
+        final List<INode> nodes = new ArrayList<>();
+        for (int i = 0; i < number; i++) {
+            nodes.add(
+                    new AES(
+                            new DetectionLocation(
+                                    "Test.java",
+                                    i,
+                                    0,
+                                    List.of("Cipher.getInstance"),
+                                    () -> "Jca")));
+        }
+        return nodes;
+    }
+
+    @Test
+    void dropsDetectionsWhenTheQueueIsFull() {
+        final DetectionLogChannel channel = new DetectionLogChannel(2, heldWriters());
+        channel.setMode(DetectionLogMode.VERBOSE);
+
+        channel.publish(nodes(5));
+        writerReleased.countDown();
+        channel.flush();
+
+        assertThat(logTester.logs(Level.INFO))
+                .containsExactly(
+                        "Detected (BlockCipher) AES"
+                                + System.lineSeparator()
+                                + "Detected (BlockCipher) AES",
+                        "3 detections were not logged (detection log queue full)");
+    }
+
+    @Test
+    void summarisesIdenticalDetectionsOnFlush() {
+        final DetectionLogChannel channel = new DetectionLogChannel(16, heldWriters());
+        channel.setMode(DetectionLogMode.SUMMARY);
+        writerReleased.countDown();
+
+        channel.publish(nodes(3));
+        assertThat(logTester.logs(Level.INFO)).isEmpty();
+        channel.flush();
+
+        assertThat(logTester.logs(Level.INFO)).containsExactly("Detected (BlockCipher) AES x 3");
+    }
+
+    @Test
+    void stopFlushesAndShutsTheDaemonWriterDown() throws InterruptedException {
+        final DetectionLogChannel channel = new DetectionLogChannel(16, heldWriters());
+        channel.setMode(DetectionLogMode.SUMMARY);
+        channel.publish(nodes(2));
+        final Thread firstWriter = writer.get();
+        assertThat(firstWriter.isDaemon()).isTrue();
+        writerReleased.countDown();
+
+        channel.stop();
+
+        assertThat(logTester.logs(Level.INFO)).containsExactly("Detected (BlockCipher) AES x 2");
+        firstWriter.join(1_000);
+        assertThat(firstWriter.isAlive()).isFalse();
+
+        // a later publication starts a new writer
+        channel.publish(nodes(1));
+        assertThat(writer.get()).isNotSameAs(firstWriter);
+        channel.stop();
+        assertThat(logTester.logs(Level.INFO)).hasSize(2);
+    }
+
+    @Test
+    void logsNothingWhenOff() {
+        final DetectionLogChannel channel = new DetectionLogChannel(16, heldWriters());
+        channel.setMode(DetectionLogMode.OFF);
+
+        channel.publish(nodes(3));
+        channel.stop();
+
+        assertThat(writer.get()).isNull();
+        assertThat(logTester.logs(Level.INFO)).isEmpty();
+    }
+
+    @Test
+    void logsEveryDetectionByDefault() {
+        assertThat(DetectionLogMode.fromValue(null)).isEqualTo(DetectionLogMode.VERBOSE);
+        assertThat(DetectionLogMode.fromValue("unknown")).isEqualTo(DetectionLogMode.VERBOSE);
+        assertThat(DetectionLogMode.fromValue(" Summary ")).isEqualTo(DetectionLogMode.SUMMARY);
+        assertThat(new DetectionLogChannel(16, heldWriters()).getMode())
+                .isEqualTo(DetectionLogMode.VERBOSE);
+    }
+}
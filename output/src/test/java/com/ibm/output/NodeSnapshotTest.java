@@ -0,0 +1,85 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.output;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ibm.engine.rule.IBundle;
+import com.ibm.mapper.model.BlockCipher;
+import com.ibm.mapper.model.INode;
+import com.ibm.mapper.model.MessageDigest;
+import com.ibm.mapper.model.algorithms.AES;
+import com.ibm.mapper.model.algorithms.SHA2;
+import com.ibm.mapper.utils.DetectionLocation;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class NodeSnapshotTest {
+    private static final IBundle BUNDLE = () -> "Jca";
+
+    @Test
+    void countsAreMaintainedPerKind() {
+        final NodeBuffer buffer = new NodeBuffer();
+        buffer.addAll(List.of(new AES(location()), new AES(location())));
+        buffer.addAll(List.of(new SHA2(256, location())));
+
+        assertThat(buffer.size()).isEqualTo(3);
+        assertThat(buffer.countsPerKind())
+                .isEqualTo(Map.of(BlockCipher.class, 2L, MessageDigest.class, 1L));
+    }
+
+    @Test
+    void snapshotConcatenatesBuffersWithoutCopying() {
+        final NodeBuffer java = new NodeBuffer();
+        final NodeBuffer python = new NodeBuffer();
+        final NodeBuffer go = new NodeBuffer();
+        final INode first = new AES(location());
+        final INode second = new SHA2(256, location());
+        java.addAll(List.of(first));
+        go.addAll(List.of(second));
+
+        final NodeSnapshot snapshot = NodeSnapshot.of(java, python, go);
+        // nodes added after the snapshot was taken are not part of it
+        java.addAll(List.of(new AES(location())));
+
+        assertThat(snapshot.size()).isEqualTo(2);
+        assertThat(snapshot.nodes()).containsExactly(first, second);
+        assertThat(snapshot.countsPerKind())
+                .isEqualTo(Map.of(BlockCipher.class, 1L, MessageDigest.class, 1L));
+        assertThatThrownBy(() -> snapshot.nodes().add(first))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> snapshot.nodes().get(2))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void emptySnapshot() {
+        final NodeSnapshot snapshot = NodeSnapshot.of(new NodeBuffer(), new NodeBuffer());
+        assertThat(snapshot.isEmpty()).isTrue();
+        assertThat(snapshot.nodes()).isEmpty();
+        assertThat(snapshot.countsPerKind()).isEmpty();
+    }
+
+    private static DetectionLocation location() {
+        return new DetectionLocation("A.java", 1, 2, List.of("Cipher.getInstance"), BUNDLE);
+    }
+}
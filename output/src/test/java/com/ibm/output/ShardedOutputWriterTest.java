@@ -0,0 +1,132 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.output;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ibm.engine.rule.IBundle;
+import com.ibm.mapper.model.INode;
+import com.ibm.mapper.model.algorithms.AES;
+import com.ibm.mapper.model.algorithms.SHA2;
+import com.ibm.mapper.utils.DetectionLocation;
+import com.ibm.output.cyclondx.CBOMOutputFileFactory;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ShardedOutputWriterTest {
+    private static final IBundle BUNDLE = () -> "Jca";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @TempDir Path project;
+    @TempDir Path output;
+
+    @BeforeEach
+    void createModules() throws IOException {
+        Files.createDirectories(project.resolve("core/src/main/java"));
+        Files.writeString(project.resolve("core/pom.xml"), "<project/>");
+        Files.createDirectories(project.resolve("services/api/src"));
+        Files.writeString(project.resolve("services/api/build.gradle"), "");
+        Files.createDirectories(project.resolve("tools"));
+    }
+
+    @Test
+    void shardingFallsBackToASingleFile() {
+        assertThat(OutputSharding.fromValue(null)).isEqualTo(OutputSharding.OFF);
+        assertThat(OutputSharding.fromValue(" Module ")).isEqualTo(OutputSharding.MODULE);
+        assertThat(OutputSharding.fromValue("modules")).isEqualTo(OutputSharding.OFF);
+    }
+
+    @Test
+    void nodesAreShardedByModule() throws IOException {
+        final List<ShardedOutputWriter.Shard> shards =
+                new ShardedOutputWriter(
+                                project, OutputSharding.MODULE, new CBOMOutputFileFactory(), 2)
+                        .write(nodes(), output.toFile(), "cbom.json");
+
+        assertThat(shards)
+                .containsExactly(
+                        new ShardedOutputWriter.Shard(".", "cbom.json", 2),
+                        new ShardedOutputWriter.Shard("core", "core/cbom.json", 2),
+                        new ShardedOutputWriter.Shard("services/api", "services/api/cbom.json", 1));
+        assertThat(componentNames(output.resolve("core/cbom.json")))
+                .containsExactlyInAnyOrder("AES", "SHA256");
+        assertThat(componentNames(output.resolve("services/api/cbom.json"))).containsExactly("AES");
+        // files outside of any module and outside of the project are in the root shard
+        assertThat(componentNames(output.resolve("cbom.json"))).containsExactly("AES");
+
+        final JsonNode index = MAPPER.readTree(output.resolve("index.json").toFile());
+        assertThat(index.get("sharding").asText()).isEqualTo("module");
+        assertThat(index.get("shards")).hasSize(3);
+        assertThat(index.get("shards").get(2).get("file").asText())
+                .isEqualTo("services/api/cbom.json");
+    }
+
+    @Test
+    void nodesAreShardedByTopLevelDirectory() throws IOException {
+        final List<ShardedOutputWriter.Shard> shards =
+                new ShardedOutputWriter(
+                                project, OutputSharding.DIRECTORY, new CBOMOutputFileFactory())
+                        .write(nodes(), output.toFile(), "cbom.json");
+
+        assertThat(shards)
+                .extracting(ShardedOutputWriter.Shard::name)
+                .containsExactly(".", "core", "services", "tools");
+        assertThat(Files.isRegularFile(output.resolve("tools/cbom.json"))).isTrue();
+    }
+
+    @Test
+    void nothingDetected() throws IOException {
+        final List<ShardedOutputWriter.Shard> shards =
+                new ShardedOutputWriter(project, OutputSharding.MODULE, new CBOMOutputFileFactory())
+                        .write(List.of(), output.toFile(), "cbom.json");
+
+        assertThat(shards).isEmpty();
+        assertThat(MAPPER.readTree(output.resolve("index.json").toFile()).get("shards")).isEmpty();
+    }
+
+    @Nonnull
+    private List<INode> nodes() {
+        return List.of(
+                new AES(location("core/src/main/java/A.java")),
+                new SHA2(256, location("core/src/main/java/B.java")),
+                new AES(location("services/api/src/C.java")),
+                new AES(location("tools/D.java")),
+                new AES(location("/elsewhere/E.java")));
+    }
+
+    @Nonnull
+    private DetectionLocation location(@Nonnull String file) {
+        final String path = file.startsWith("/") ? file : project.resolve(file).toString();
+        return new DetectionLocation(path, 1, 2, List.of("Cipher.getInstance"), BUNDLE);
+    }
+
+    @Nonnull
+    private static List<String> componentNames(@Nonnull Path cbom) throws IOException {
+        return MAPPER.readTree(cbom.toFile()).get("components").findValuesAsText("name");
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.output.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.engine.rule.IBundle;
+import com.ibm.mapper.model.INode;
+import com.ibm.mapper.model.KeyLength;
+import com.ibm.mapper.model.algorithms.AES;
+import com.ibm.mapper.model.functionality.Encrypt;
+import com.ibm.mapper.model.mode.CBC;
+import com.ibm.mapper.utils.DetectionLocation;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FindingsCacheTest {
+    private static final String FINGERPRINT = "rules";
+
+    @TempDir Path directory;
+
+    private final FindingsCache cache = FindingsCache.getInstance();
+
+    @BeforeEach
+    void enable() {
+        cache.enable(directory, "test");
+    }
+
+    @AfterEach
+    void disable() {
+        cache.close();
+        cache.disable();
+    }
+
+    @Test
+    void storedFindingsAreServedForUnchangedFiles() {
+        final FindingsCache.Key key = key("A.java", "class A {}");
+        final List<INode> nodes = List.of(aes("A.java"));
+
+        assertThat(cache.lookup(key)).isEmpty();
+        cache.store(key, entry(nodes));
+
+        final Optional<List<INode>> cached = cache.lookup(key).map(FindingsCache.Entry::nodes);
+        assertThat(cached).isPresent();
+        assertThat(cached.get())
+                .usingRecursiveComparison()
+                .ignoringFieldsMatchingRegexes(".*bundle")
+                .isEqualTo(nodes);
+        assertThat(cached.get().get(0).asString()).isEqualTo(nodes.get(0).asString());
+        assertThat(cache.getStatistics().getHits()).isEqualTo(1);
+        assertThat(cache.getStatistics().getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void storedIssuesAreServedWithTheFindings() {
+        final FindingsCache.Key key = key("A.java", "class A {}");
+        final List<CachedIssue> issues =
+                List.of(
+                        new CachedIssue(new CachedIssue.Range(1, 2, 1, 9), "(BlockCipher) AES128"),
+                        new CachedIssue(new CachedIssue.Range(3, 4, 5, 6), "(Mode) CBC"));
+        cache.store(key, new FindingsCache.Entry(List.of(aes("A.java")), issues));
+
+        assertThat(cache.lookup(key))
+                .hasValueSatisfying(
+                        cached -> assertThat(cached.issues()).containsExactlyElementsOf(issues));
+    }
+
+    @Test
+    void changedContentIsAMiss() {
+        cache.store(key("A.java", "class A {}"), entry(List.of(aes("A.java"))));
+        assertThat(cache.lookup(key("A.java", "class A { int a; }"))).isEmpty();
+    }
+
+    @Test
+    void unusedEntriesAreRemovedAtTheEndOfTheScan() throws IOException {
+        cache.store(key("A.java", "class A {}"), entry(List.of(aes("A.java"))));
+        cache.store(key("B.java", "class B {}"), entry(List.of(aes("B.java"))));
+        cache.close();
+
+        // second scan: B.java was deleted
+        assertThat(cache.lookup(key("A.java", "class A {}"))).isPresent();
+        cache.close();
+
+        try (Stream<Path> entries = Files.list(directory.resolve("java"))) {
+            assertThat(entries).hasSize(1);
+        }
+    }
+
+    @Test
+    void changedHookRegisteringFilesDropTheCache() throws IOException {
+        cache.store(key("A.java", "class A {}"), entry(List.of(aes("A.java"))));
+        cache.recordUncacheable(key("B.java", "class B {}"), true);
+        cache.close();
+
+        // second scan: B.java changed and still registers hooks
+        assertThat(cache.lookup(key("A.java", "class A {}"))).isPresent();
+        cache.recordUncacheable(key("B.java", "class B { int b; }"), true);
+        cache.close();
+
+        try (Stream<Path> entries = Files.list(directory.resolve("java"))) {
+            assertThat(entries).isEmpty();
+        }
+    }
+
+    private static FindingsCache.Key key(String filePath, String content) {
+        return new FindingsCache.Key(
+                "java", FINGERPRINT, filePath, FindingsCache.contentHash(content));
+    }
+
+    private static FindingsCache.Entry entry(List<INode> nodes) {
+        return new FindingsCache.Entry(nodes, List.of());
+    }
+
+    private static INode aes(String filePath) {
+        final IBundle bundle = () -> "Jca";
+        final DetectionLocation detectionLocation =
+                new DetectionLocation(filePath, 1, 2, List.of("Cipher.getInstance"), bundle);
+        final AES aes = new AES(128, new CBC(detectionLocation), detectionLocation);
+        aes.put(new Encrypt(detectionLocation));
+        aes.put(new KeyLength(128, detectionLocation));
+        return aes;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.output.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.mapper.model.BlockSize;
+import com.ibm.mapper.model.INode;
+import com.ibm.mapper.model.KeyLength;
+import com.ibm.mapper.model.algorithms.AES;
+import com.ibm.mapper.model.algorithms.RSA;
+import com.ibm.mapper.model.algorithms.SHA2;
+import com.ibm.mapper.model.functionality.Decrypt;
+import com.ibm.mapper.model.functionality.Digest;
+import com.ibm.mapper.model.functionality.Encrypt;
+import com.ibm.mapper.model.mode.GCM;
+import com.ibm.mapper.model.padding.OAEP;
+import com.ibm.mapper.serializer.NodeCodec;
+import com.ibm.mapper.utils.DetectionLocation;
+import com.ibm.output.cyclondx.CBOMOutputFile;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.cyclonedx.Version;
+import org.cyclonedx.exception.GeneratorException;
+import org.cyclonedx.generators.BomGeneratorFactory;
+import org.junit.jupiter.api.Test;
+
+/* Compares the size of the binary node encoding with the CBOM json of the same findings. */
+class NodeEncodingTest {
+    private static final int FILES = 50;
+    private static final int FINDINGS_PER_FILE = 40;
+
+    @Test
+    void binaryEncodingIsAnOrderOfMagnitudeSmallerThanJson()
+            throws IOException, GeneratorException {
+        final List<INode> nodes = findings();
+        assertThat(NodeCodec.encode(nodes).length * 10).isLessThan(json(nodes));
+    }
+
+    @Test
+    void binaryEncodingOfEachFileIsAnOrderOfMagnitudeSmallerThanJson()
+            throws IOException, GeneratorException {
+        final List<INode> nodes = findings();
+        int json = 0;
+        int binary = 0;
+        for (int file = 0; file < FILES; file++) {
+            final List<INode> fileNodes =
+                    nodes.subList(file * FINDINGS_PER_FILE, (file + 1) * FINDINGS_PER_FILE);
+            json += json(fileNodes);
+            binary += NodeCodec.encode(fileNodes).length;
+        }
+        assertThat(binary * 10).isLessThan(json);
+    }
+
+    private static int json(@Nonnull List<INode> nodes) throws GeneratorException {
+        final CBOMOutputFile outputFile = new CBOMOutputFile();
+        outputFile.add(nodes);
+        return BomGeneratorFactory.createJson(Version.VERSION_16, outputFile.getBom())
+                .toJsonString()
+                .getBytes(StandardCharsets.UTF_8)
+                .length;
+    }
+
+    @Nonnull
+    private static List<INode> findings() {
+        final List<INode> nodes = new ArrayList<>();
+        for (int file = 0; file < FILES; file++) {
+            final String filePath = "src/main/java/com/example/CryptoService" + file + ".java";
+            for (int line = 1; line <= FINDINGS_PER_FILE / 4; line++) {
+                final DetectionLocation location =
+                        new DetectionLocation(
+                                filePath,
+                                line * 10,
+                                16,
+                                List.of("Cipher.getInstance"),
+                                () -> "Jca");
+                final AES aes = new AES(256, new GCM(location), location);
+                aes.put(new BlockSize(128, location));
+                aes.put(new Encrypt(location));
+                nodes.add(aes);
+                final RSA rsa = new RSA(2048, location);
+                rsa.put(new OAEP(location));
+                rsa.put(new Decrypt(location));
+                nodes.add(rsa);
+                final SHA2 sha = new SHA2(256, location);
+                sha.put(new Digest(location));
+                nodes.add(sha);
+                nodes.add(new KeyLength(256, location));
+            }
+        }
+        return nodes;
+    }
+}
@@ -21,8 +21,10 @@ package com.ibm.output.cyclonedx;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.ibm.mapper.model.INode;
 import com.ibm.mapper.model.algorithms.RSA;
 import com.ibm.mapper.utils.DetectionLocation;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import org.cyclonedx.model.Component;
@@ -75,4 +77,32 @@ class MergeDetectionLocationTest extends TestBase {
                             .isEqualTo("test.java");
                 });
     }
+
+    @Test
+    void repeatedContextsKeepFirstSeenOrder() {
+        this.assertsNodes(
+                () -> {
+                    final List<INode> nodes = new ArrayList<>();
+                    for (int i = 0; i < 2_000; i++) {
+                        nodes.add(
+                                new RSA(
+                                        new DetectionLocation(
+                                                "test.java",
+                                                i % 1_000,
+                                                2,
+                                                Collections.emptyList(),
+                                                () -> "SSL")));
+                    }
+                    return nodes;
+                },
+                bom -> {
+                    assertThat(bom.getComponents()).hasSize(1);
+                    final List<Occurrence> occurrences =
+                            bom.getComponents().get(0).getEvidence().getOccurrences();
+                    assertThat(occurrences).hasSize(1_000);
+                    for (int i = 0; i < occurrences.size(); i++) {
+                        assertThat(occurrences.get(i).getLine()).isEqualTo(i);
+                    }
+                });
+    }
 }
@@ -0,0 +1,109 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.output.cyclonedx.builder;
+
+import com.ibm.mapper.model.INode;
+import com.ibm.mapper.model.KeyLength;
+import com.ibm.mapper.model.Mode;
+import com.ibm.mapper.model.algorithms.AES;
+import com.ibm.mapper.model.functionality.Encrypt;
+import com.ibm.mapper.model.mode.CBC;
+import com.ibm.mapper.utils.DetectionLocation;
+import com.ibm.output.cyclondx.builder.AlgorithmComponentBuilder;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import org.cyclonedx.model.Component;
+
+/**
+ * Manual benchmark of the algorithm component builder, not run by the build: builds AES/CBC
+ * components through the chain {@code CBOMOutputFile} uses, and prints the time and the memory
+ * allocated per component. The allocated memory is read from the HotSpot thread counters, and is
+ * not printed on JVMs without them.
+ *
+ * <pre>
+ * java -cp &lt;output test classpath&gt; com.ibm.output.cyclonedx.builder.AlgorithmComponentBuilderBenchmark [count]
+ * </pre>
+ */
+public final class AlgorithmComponentBuilderBenchmark {
+    private static final DetectionLocation LOCATION =
+            new DetectionLocation("test.java", 1, 1, List.of(), () -> "Jca");
+    private static final int WARM_UP_ROUNDS = 5;
+
+    private AlgorithmComponentBuilderBenchmark() {
+        // main only
+    }
+
+    public static void main(String[] args) {
+        final int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        final AES aes = new AES(128, new CBC(LOCATION), LOCATION);
+        final INode encrypt = new Encrypt(LOCATION);
+
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            run(aes, encrypt, count);
+        }
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        final long allocatedBefore = allocatedBytes(threads);
+        final long start = System.nanoTime();
+        final int built = run(aes, encrypt, count);
+        final long elapsed = System.nanoTime() - start;
+        final long allocatedAfter = allocatedBytes(threads);
+
+        System.out.printf(
+                "%d components, %.1f ns per component%n", built, (double) elapsed / count);
+        if (allocatedBefore >= 0 && allocatedAfter >= 0) {
+            System.out.printf(
+                    "%d bytes allocated per component%n",
+                    (allocatedAfter - allocatedBefore) / count);
+        }
+    }
+
+    private static int run(INode algorithm, INode encrypt, int count) {
+        int built = 0;
+        for (int i = 0; i < count; i++) {
+            if (build(algorithm, encrypt) != null) {
+                built++;
+            }
+        }
+        return built;
+    }
+
+    private static Component build(INode algorithm, INode... functions) {
+        return AlgorithmComponentBuilder.create()
+                .algorithm(algorithm)
+                .mode(algorithm.getChildren().get(Mode.class))
+                .curve(null)
+                .parameterSetIdentifier(algorithm.getChildren().get(KeyLength.class))
+                .padding(null)
+                .cryptoFunctions(functions)
+                .primitive(algorithm)
+                .occurrences()
+                .oid(null)
+                .build();
+    }
+
+    private static long allocatedBytes(ThreadMXBean threads) {
+        if (threads instanceof com.sun.management.ThreadMXBean hotSpotThreads
+                && hotSpotThreads.isThreadAllocatedMemorySupported()) {
+            return hotSpotThreads.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+}
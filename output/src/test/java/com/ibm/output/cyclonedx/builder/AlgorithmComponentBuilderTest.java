@@ -0,0 +1,108 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.output.cyclonedx.builder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ibm.mapper.model.AuthenticatedEncryption;
+import com.ibm.mapper.model.INode;
+import com.ibm.mapper.model.KeyLength;
+import com.ibm.mapper.model.algorithms.AES;
+import com.ibm.mapper.model.algorithms.SHA2;
+import com.ibm.mapper.model.functionality.Decrypt;
+import com.ibm.mapper.model.functionality.Encrypt;
+import com.ibm.mapper.model.mode.CBC;
+import com.ibm.mapper.utils.DetectionLocation;
+import com.ibm.output.cyclondx.builder.AlgorithmComponentBuilder;
+import com.ibm.output.cyclondx.builder.IAlgorithmComponentBuilder;
+import java.util.List;
+import org.cyclonedx.model.Component;
+import org.cyclonedx.model.component.crypto.AlgorithmProperties;
+import org.cyclonedx.model.component.crypto.enums.CryptoFunction;
+import org.cyclonedx.model.component.crypto.enums.Mode;
+import org.cyclonedx.model.component.crypto.enums.Primitive;
+import org.junit.jupiter.api.Test;
+
+class AlgorithmComponentBuilderTest {
+    private static final DetectionLocation LOCATION =
+            new DetectionLocation("test.java", 1, 1, List.of(), () -> "Jca");
+
+    @Test
+    void builderIsUpdatedInPlace() {
+        // every call of the chain updates the builder, instead of allocating a copy of it
+        final AES aes = new AES(128, new CBC(LOCATION), LOCATION);
+        final IAlgorithmComponentBuilder builder = AlgorithmComponentBuilder.create();
+        assertThat(builder.algorithm(aes)).isSameAs(builder);
+        assertThat(builder.mode(aes.getChildren().get(com.ibm.mapper.model.Mode.class)))
+                .isSameAs(builder);
+        assertThat(builder.curve(null)).isSameAs(builder);
+        assertThat(builder.parameterSetIdentifier(aes.getChildren().get(KeyLength.class)))
+                .isSameAs(builder);
+        assertThat(builder.padding(null)).isSameAs(builder);
+        assertThat(builder.cryptoFunctions(new Encrypt(LOCATION))).isSameAs(builder);
+        assertThat(builder.primitive(aes)).isSameAs(builder);
+        assertThat(builder.occurrences()).isSameAs(builder);
+        assertThat(builder.oid(null)).isSameAs(builder);
+
+        final Component component = builder.build();
+        assertThat(component.getCryptoProperties().getAlgorithmProperties().getMode())
+                .isEqualTo(Mode.CBC);
+        assertThat(AlgorithmComponentBuilder.create().algorithm(aes).build())
+                .isNotSameAs(component);
+    }
+
+    @Test
+    void propertiesAreMappedFromNodeKinds() {
+        final AES aes = new AES(128, new CBC(LOCATION), LOCATION);
+        final Component component = build(aes, new Encrypt(LOCATION), new Decrypt(LOCATION));
+
+        final AlgorithmProperties properties =
+                component.getCryptoProperties().getAlgorithmProperties();
+        assertThat(component.getName()).isEqualTo(aes.asString());
+        assertThat(properties.getPrimitive()).isEqualTo(Primitive.BLOCK_CIPHER);
+        assertThat(properties.getMode()).isEqualTo(Mode.CBC);
+        assertThat(properties.getParameterSetIdentifier()).isEqualTo("128");
+        assertThat(properties.getCryptoFunctions())
+                .containsExactly(CryptoFunction.ENCRYPT, CryptoFunction.DECRYPT);
+
+        assertThat(primitiveOf(new SHA2(256, LOCATION))).isEqualTo(Primitive.HASH);
+        assertThat(primitiveOf(new AES(AuthenticatedEncryption.class, new AES(LOCATION))))
+                .isEqualTo(Primitive.AE);
+        assertThat(primitiveOf(new KeyLength(128, LOCATION))).isEqualTo(Primitive.OTHER);
+    }
+
+    private static Component build(INode algorithm, INode... functions) {
+        return AlgorithmComponentBuilder.create()
+                .algorithm(algorithm)
+                .mode(algorithm.getChildren().get(com.ibm.mapper.model.Mode.class))
+                .curve(null)
+                .parameterSetIdentifier(algorithm.getChildren().get(KeyLength.class))
+                .padding(null)
+                .cryptoFunctions(functions)
+                .primitive(algorithm)
+                .occurrences()
+                .oid(null)
+                .build();
+    }
+
+    private static Primitive primitiveOf(INode node) {
+        return build(node).getCryptoProperties().getAlgorithmProperties().getPrimitive();
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.output.cyclonedx.diff;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ibm.engine.rule.IBundle;
+import com.ibm.mapper.model.INode;
+import com.ibm.mapper.model.algorithms.AES;
+import com.ibm.mapper.model.algorithms.SHA2;
+import com.ibm.mapper.utils.DetectionLocation;
+import com.ibm.output.cyclondx.CBOMOutputFile;
+import com.ibm.output.cyclondx.diff.CBOMDiff;
+import com.ibm.output.statistics.DeltaStatistics;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CBOMDiffTest {
+    private static final IBundle BUNDLE = () -> "Jca";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @TempDir Path directory;
+
+    @Test
+    void componentsAndOccurrencesAreCompared() throws IOException {
+        final CBOMOutputFile baseline =
+                cbom(new AES(128, location("A.java", 1)), new SHA2(256, location("A.java", 3)));
+        final CBOMOutputFile current =
+                cbom(
+                        new AES(128, location("A.java", 1)),
+                        new AES(128, location("B.java", 9)),
+                        new SHA2(384, location("A.java", 3)));
+        final File delta = directory.resolve("delta.json").toFile();
+
+        final DeltaStatistics statistics = CBOMDiff.diff(baseline, current, delta);
+
+        assertThat(statistics.getAddedComponents()).isEqualTo(1);
+        assertThat(statistics.getRemovedComponents()).isEqualTo(1);
+        assertThat(statistics.getChangedComponents()).isZero();
+        // the occurrence in B.java and the one of SHA384
+        assertThat(statistics.getAddedOccurrences()).isEqualTo(2);
+        assertThat(statistics.getRemovedOccurrences()).isEqualTo(1);
+
+        final JsonNode json = MAPPER.readTree(delta);
+        assertThat(json.get("addedComponents").get(0).asText()).isEqualTo("SHA384");
+        assertThat(json.get("removedComponents").get(0).asText()).isEqualTo("SHA256");
+        assertThat(json.get("addedOccurrences").findValuesAsText("location"))
+                .containsExactlyInAnyOrder("B.java", "A.java");
+        final JsonNode removed = json.get("removedOccurrences").get(0);
+        assertThat(removed.get("component").asText()).isEqualTo("SHA256");
+        assertThat(removed.get("line").asInt()).isEqualTo(3);
+        assertThat(json.get("summary").get("addedOccurrences").asInt()).isEqualTo(2);
+    }
+
+    @Test
+    void changedFieldsAreReported() throws IOException {
+        final File baseline =
+                write(
+                        "baseline.json",
+                        """
+                        {"components":[{"bom-ref":"1","name":"AES128","cryptoProperties":
+                          {"assetType":"algorithm","algorithmProperties":{"mode":"cbc"}},
+                          "evidence":{"occurrences":[{"location":"A.java","line":1}]}}]}
+                        """);
+        final File current =
+                write(
+                        "current.json",
+                        """
+                        {"components":[{"bom-ref":"2","name":"AES128","cryptoProperties":
+                          {"assetType":"algorithm","algorithmProperties":{"mode":"gcm"}},
+                          "evidence":{"occurrences":[{"location":"A.java","line":1}]}}]}
+                        """);
+        final File delta = directory.resolve("delta.json").toFile();
+
+        final DeltaStatistics statistics = CBOMDiff.diff(baseline, current, delta);
+
+        assertThat(statistics.getChangedComponents()).isEqualTo(1);
+        assertThat(statistics.getAddedOccurrences()).isZero();
+        assertThat(statistics.getRemovedOccurrences()).isZero();
+        final JsonNode changed = MAPPER.readTree(delta).get("changedComponents").get(0);
+        assertThat(changed.get("component").asText()).isEqualTo("AES128");
+        assertThat(changed.get("changes")).hasSize(1);
+        final JsonNode change = changed.get("changes").get(0);
+        assertThat(change.get("path").asText())
+                .isEqualTo("/cryptoProperties/algorithmProperties/mode");
+        assertThat(change.get("baseline").asText()).isEqualTo("cbc");
+        assertThat(change.get("current").asText()).isEqualTo("gcm");
+    }
+
+    @Test
+    void identicalScansHaveNoDelta() throws IOException {
+        final File baseline = directory.resolve("baseline.json").toFile();
+        final File current = directory.resolve("current.json").toFile();
+        // bom-refs and serial numbers differ between the two
+        cbom(new AES(128, location("A.java", 1))).saveTo(baseline);
+        cbom(new AES(128, location("A.java", 1))).saveTo(current);
+
+        final DeltaStatistics statistics =
+                CBOMDiff.diff(baseline, current, directory.resolve("delta.json").toFile());
+
+        assertThat(statistics.isEmpty()).isTrue();
+    }
+
+    @Nonnull
+    private static CBOMOutputFile cbom(@Nonnull INode... nodes) {
+        final CBOMOutputFile outputFile = new CBOMOutputFile();
+        outputFile.add(List.of(nodes));
+        return outputFile;
+    }
+
+    @Nonnull
+    private File write(@Nonnull String name, @Nonnull String content) throws IOException {
+        return Files.writeString(directory.resolve(name), content).toFile();
+    }
+
+    @Nonnull
+    private static DetectionLocation location(@Nonnull String file, int line) {
+        return new DetectionLocation(file, line, 2, List.of("Cipher.getInstance"), BUNDLE);
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.output.cyclonedx.merge;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ibm.engine.rule.IBundle;
+import com.ibm.mapper.model.CipherSuite;
+import com.ibm.mapper.model.INode;
+import com.ibm.mapper.model.KeyAgreement;
+import com.ibm.mapper.model.Version;
+import com.ibm.mapper.model.algorithms.AES;
+import com.ibm.mapper.model.algorithms.DH;
+import com.ibm.mapper.model.algorithms.SHA2;
+import com.ibm.mapper.model.collections.AssetCollection;
+import com.ibm.mapper.model.collections.CipherSuiteCollection;
+import com.ibm.mapper.model.mode.CBC;
+import com.ibm.mapper.model.protocol.TLS;
+import com.ibm.mapper.utils.DetectionLocation;
+import com.ibm.output.cyclondx.CBOMOutputFile;
+import com.ibm.output.cyclondx.merge.CBOMMerger;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import org.cyclonedx.model.Bom;
+import org.cyclonedx.model.Component;
+import org.cyclonedx.model.Dependency;
+import org.cyclonedx.parsers.JsonParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CBOMMergerTest {
+    private static final IBundle BUNDLE = () -> "Jca";
+
+    @TempDir Path directory;
+
+    @Test
+    void mergedShardsMatchASingleCBOM() throws Exception {
+        final List<INode> first = List.of(tls("A.java"), new SHA2(256, location("A.java", 3)));
+        final List<INode> second = List.of(tls("B.java"), new SHA2(256, location("A.java", 3)));
+        final File merged = directory.resolve("merged.json").toFile();
+
+        final CBOMMerger.Result result =
+                CBOMMerger.merge(List.of(save("first", first), save("second", second)), merged);
+
+        final CBOMOutputFile single = new CBOMOutputFile();
+        single.add(List.of(tls("A.java")));
+        single.add(List.of(new SHA2(256, location("A.java", 3))));
+        single.add(List.of(tls("B.java")));
+        single.add(List.of(new SHA2(256, location("A.java", 3))));
+        final Bom expected = single.getBom();
+        final Bom actual = new JsonParser().parse(merged);
+
+        assertThat(result.inputs()).isEqualTo(2);
+        assertThat(result.components()).isEqualTo(expected.getComponents().size());
+        assertThat(result.duplicateOccurrences()).isEqualTo(1);
+        assertThat(occurrencesPerComponent(actual)).isEqualTo(occurrencesPerComponent(expected));
+
+        // every reference points to a component of the merged CBOM
+        final Set<String> bomRefs =
+                actual.getComponents().stream()
+                        .map(Component::getBomRef)
+                        .collect(Collectors.toSet());
+        assertThat(actual.getDependencies()).isNotEmpty();
+        for (Dependency dependency : actual.getDependencies()) {
+            assertThat(bomRefs).contains(dependency.getRef());
+            assertThat(dependency.getDependencies())
+                    .extracting(Dependency::getRef)
+                    .allMatch(bomRefs::contains)
+                    .doesNotHaveDuplicates();
+        }
+        final Component tls = byName(actual).get("TLSv1.2");
+        assertThat(tls.getCryptoProperties().getProtocolProperties().getCryptoRefArray())
+                .isNotEmpty()
+                .allMatch(bomRefs::contains);
+        assertThat(actual.getSerialNumber()).startsWith("urn:uuid:");
+    }
+
+    @Test
+    void mergingIsIdempotent() throws Exception {
+        final File input = save("input", List.of(tls("A.java")));
+        final File merged = directory.resolve("merged.json").toFile();
+
+        CBOMMerger.merge(List.of(input, input), merged);
+
+        final Bom original = new JsonParser().parse(input);
+        final Bom actual = new JsonParser().parse(merged);
+        assertThat(occurrencesPerComponent(actual)).isEqualTo(occurrencesPerComponent(original));
+        assertThat(actual.getComponents())
+                .extracting(Component::getBomRef)
+                .containsExactlyInAnyOrderElementsOf(
+                        original.getComponents().stream().map(Component::getBomRef).toList());
+        assertThat(actual.getDependencies()).hasSameSizeAs(original.getDependencies());
+    }
+
+    @Test
+    void manyOccurrencesAreSpilled() throws Exception {
+        final CBOMOutputFile large = new CBOMOutputFile();
+        for (int line = 0; line < 5_000; line++) {
+            large.add(List.of(new AES(128, location("A.java", line))));
+        }
+        final File input = directory.resolve("large.json").toFile();
+        large.saveTo(input);
+        final File merged = directory.resolve("merged.json").toFile();
+
+        final CBOMMerger.Result result = CBOMMerger.merge(List.of(input, input), merged);
+
+        assertThat(result.occurrences()).isEqualTo(5_000);
+        assertThat(result.duplicateOccurrences()).isEqualTo(5_000);
+        assertThat(occurrencesPerComponent(new JsonParser().parse(merged)))
+                .isEqualTo(Map.of("AES128", 5_000));
+    }
+
+    @Test
+    void invalidInputIsRejected() throws IOException {
+        final Path input = Files.writeString(directory.resolve("invalid.json"), "[]");
+        final File merged = directory.resolve("merged.json").toFile();
+
+        assertThatThrownBy(() -> CBOMMerger.merge(List.of(input.toFile()), merged))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Nonnull
+    private File save(@Nonnull String name, @Nonnull List<INode> nodes) {
+        final CBOMOutputFile outputFile = new CBOMOutputFile();
+        outputFile.add(nodes);
+        final File file = directory.resolve(name + ".json").toFile();
+        outputFile.saveTo(file);
+        return file;
+    }
+
+    @Nonnull
+    private static INode tls(@Nonnull String file) {
+        final CipherSuite cipherSuite =
+                new CipherSuite("TLS_DHE_RSA_WITH_AES_256_CBC_SHA256", location(file, 1));
+        final DH dh = new DH(KeyAgreement.class, location(file, 1));
+        final AES aes = new AES(256, new CBC(location(file, 1)), location(file, 1));
+        cipherSuite.put(new AssetCollection(List.of(dh, aes)));
+        final TLS tls = new TLS(new Version("1.2", location(file, 1)));
+        tls.put(new CipherSuiteCollection(List.of(cipherSuite)));
+        return tls;
+    }
+
+    @Nonnull
+    private static DetectionLocation location(@Nonnull String file, int line) {
+        return new DetectionLocation(file, line, 2, List.of("SSLContext.getInstance"), BUNDLE);
+    }
+
+    @Nonnull
+    private static Map<String, Component> byName(@Nonnull Bom bom) {
+        return bom.getComponents().stream()
+                .collect(Collectors.toMap(Component::getName, Function.identity()));
+    }
+
+    @Nonnull
+    private static Map<String, Integer> occurrencesPerComponent(@Nonnull Bom bom) {
+        return bom.getComponents().stream()
+                .collect(
+                        Collectors.toMap(
+                                Component::getName, c -> c.getEvidence().getOccurrences().size()));
+    }
+}
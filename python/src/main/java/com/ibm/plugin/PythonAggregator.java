@@ -23,8 +23,7 @@ import com.ibm.engine.language.ILanguageSupport;
 import com.ibm.engine.language.LanguageSupporter;
 import com.ibm.mapper.model.INode;
 import com.ibm.output.IAggregator;
-import java.util.ArrayList;
-import java.util.Collections;
+import com.ibm.output.NodeBuffer;
 import java.util.List;
 import javax.annotation.Nonnull;
 import org.sonar.plugins.python.api.PythonCheck;
@@ -36,7 +35,7 @@ public final class PythonAggregator implements IAggregator {
 
     private static ILanguageSupport<PythonCheck, Tree, Symbol, PythonVisitorContext>
             pythonLanguageSupport = LanguageSupporter.pythonLanguageSupporter();
-    private static List<INode> detectedNodes = new ArrayList<>();
+    private static NodeBuffer detectedNodes = new NodeBuffer();
 
     private PythonAggregator() {
         // nothing
@@ -50,7 +49,13 @@ public final class PythonAggregator implements IAggregator {
 
     @Nonnull
     public static List<INode> getDetectedNodes() {
-        return Collections.unmodifiableList(detectedNodes);
+        return detectedNodes.nodes();
+    }
+
+    /** Buffer of the detected nodes, with the number of nodes of each kind. */
+    @Nonnull
+    public static NodeBuffer getNodeBuffer() {
+        return detectedNodes;
     }
 
     public static void addNodes(@Nonnull List<INode> newNodes) {
@@ -60,6 +65,6 @@ public final class PythonAggregator implements IAggregator {
 
     public static void reset() {
         pythonLanguageSupport = LanguageSupporter.pythonLanguageSupporter();
-        detectedNodes = new ArrayList<>();
+        detectedNodes = new NodeBuffer();
     }
 }
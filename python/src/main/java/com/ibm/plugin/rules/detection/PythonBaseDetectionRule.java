@@ -22,23 +22,30 @@ package com.ibm.plugin.rules.detection;
 import com.ibm.common.IObserver;
 import com.ibm.engine.detection.Finding;
 import com.ibm.engine.executive.DetectionExecutive;
+import com.ibm.engine.language.python.PythonResolutionCache;
 import com.ibm.engine.language.python.PythonScanContext;
 import com.ibm.engine.rule.IDetectionRule;
 import com.ibm.mapper.model.INode;
 import com.ibm.mapper.reorganizer.IReorganizerRule;
+import com.ibm.output.cache.CachedIssue;
+import com.ibm.output.cache.FileFindings;
 import com.ibm.plugin.PythonAggregator;
 import com.ibm.plugin.translation.PythonTranslationProcess;
 import com.ibm.plugin.translation.reorganizer.PythonReorganizerRules;
 import com.ibm.rules.IReportableDetectionRule;
 import com.ibm.rules.issue.Issue;
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.sonar.plugins.python.api.PythonCheck;
 import org.sonar.plugins.python.api.PythonVisitorCheck;
 import org.sonar.plugins.python.api.PythonVisitorContext;
 import org.sonar.plugins.python.api.symbols.Symbol;
 import org.sonar.plugins.python.api.tree.CallExpression;
+import org.sonar.plugins.python.api.tree.Token;
 import org.sonar.plugins.python.api.tree.Tree;
 
 public abstract class PythonBaseDetectionRule extends PythonVisitorCheck
@@ -48,6 +55,7 @@ public abstract class PythonBaseDetectionRule extends PythonVisitorCheck
     private final boolean isInventory;
     @Nonnull protected final PythonTranslationProcess pythonTranslationProcess;
     @Nonnull protected final List<IDetectionRule<Tree>> detectionRules;
+    @Nullable private FileFindings fileFindings;
 
     protected PythonBaseDetectionRule() {
         this.isInventory = false;
@@ -65,8 +73,80 @@ public abstract class PythonBaseDetectionRule extends PythonVisitorCheck
         this.pythonTranslationProcess = new PythonTranslationProcess(reorganizerRules);
     }
 
+    @Override
+    public void scanFile(@Nonnull PythonVisitorContext visitorContext) {
+        this.fileFindings =
+                isInventory
+                        ? FileFindings.begin(
+                                "python",
+                                detectionRules,
+                                visitorContext.pythonFile().uri().getPath(),
+                                visitorContext.pythonFile().content(),
+                                PythonAggregator.getLanguageSupport().getHandler())
+                        : null;
+        if (fileFindings != null && fileFindings.isHit()) {
+            PythonAggregator.addNodes(fileFindings.getCachedNodes());
+        }
+        try {
+            super.scanFile(visitorContext);
+            if (fileFindings != null && fileFindings.isHit()) {
+                reportCachedIssues(fileFindings, visitorContext);
+            }
+        } finally {
+            PythonResolutionCache.release();
+        }
+        if (fileFindings != null) {
+            fileFindings.end();
+            fileFindings = null;
+        }
+    }
+
+    /** Reports the cached issues of the file again, on the trees with their range. */
+    private void reportCachedIssues(
+            @Nonnull FileFindings cachedFindings, @Nonnull PythonVisitorContext visitorContext) {
+        final PythonScanContext scanContext = new PythonScanContext(visitorContext);
+        final Deque<Tree> trees = new ArrayDeque<>();
+        trees.push(visitorContext.rootTree());
+        while (!trees.isEmpty() && cachedFindings.hasCachedIssues()) {
+            final Tree tree = trees.pop();
+            final CachedIssue.Range range = rangeOf(tree);
+            if (range != null) {
+                for (String message : cachedFindings.takeCachedIssues(range)) {
+                    scanContext.reportIssue(this, tree, message);
+                }
+            }
+            for (Tree child : tree.children()) {
+                if (child != null) {
+                    trees.push(child);
+                }
+            }
+        }
+    }
+
+    @Nullable
+    private static CachedIssue.Range rangeOf(@Nonnull Tree tree) {
+        final Token firstToken = tree.firstToken();
+        final Token lastToken = tree.lastToken();
+        if (firstToken == null || lastToken == null) {
+            return null;
+        }
+        return new CachedIssue.Range(
+                firstToken.line(),
+                firstToken.column(),
+                lastToken.line(),
+                lastToken.column() + lastToken.valueLength());
+    }
+
     @Override
     public void visitCallExpression(@Nonnull CallExpression tree) {
+        if (fileFindings != null && fileFindings.isHit()) {
+            // the findings of the file are cached, the call is only recorded for the hooks
+            PythonAggregator.getLanguageSupport()
+                    .getHandler()
+                    .addCallToCallStack(tree, new PythonScanContext(this.getContext()));
+            super.visitCallExpression(tree);
+            return;
+        }
         detectionRules.forEach(
                 rule -> {
                     DetectionExecutive<PythonCheck, Tree, Symbol, PythonVisitorContext>
@@ -92,14 +172,22 @@ public abstract class PythonBaseDetectionRule extends PythonVisitorCheck
         List<INode> nodes = pythonTranslationProcess.initiate(finding.detectionStore());
         if (isInventory) {
             PythonAggregator.addNodes(nodes);
+            if (fileFindings != null) {
+                fileFindings.add(nodes);
+            }
         }
         // report
         this.report(finding.getMarkerTree(), nodes)
                 .forEach(
-                        issue ->
-                                finding.detectionStore()
-                                        .getScanContext()
-                                        .reportIssue(this, issue.tree(), issue.message()));
+                        issue -> {
+                            finding.detectionStore()
+                                    .getScanContext()
+                                    .reportIssue(this, issue.tree(), issue.message());
+                            final CachedIssue.Range range = rangeOf(issue.tree());
+                            if (fileFindings != null && range != null) {
+                                fileFindings.addIssue(range, issue.message());
+                            }
+                        });
     }
 
     @Override
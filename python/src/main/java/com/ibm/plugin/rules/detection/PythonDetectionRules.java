@@ -19,6 +19,7 @@
  */
 package com.ibm.plugin.rules.detection;
 
+import com.ibm.engine.rule.DetectionRuleGraph;
 import com.ibm.engine.rule.IDetectionRule;
 import com.ibm.plugin.rules.detection.aead.PycaAEAD;
 import com.ibm.plugin.rules.detection.aead.PycaAES;
@@ -45,6 +46,20 @@ public final class PythonDetectionRules {
 
     @Nonnull
     public static List<IDetectionRule<Tree>> rules() {
+        return graph().entryRules();
+    }
+
+    @Nonnull
+    public static DetectionRuleGraph<Tree> graph() {
+        return Holder.GRAPH;
+    }
+
+    private static final class Holder {
+        private static final DetectionRuleGraph<Tree> GRAPH = DetectionRuleGraph.of(build());
+    }
+
+    @Nonnull
+    private static List<IDetectionRule<Tree>> build() {
         return Stream.of(
                         // rules
                         PycaKeyAgreement.rules().stream(),
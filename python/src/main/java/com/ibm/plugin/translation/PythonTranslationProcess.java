@@ -25,7 +25,6 @@ import com.ibm.mapper.ITranslationProcess;
 import com.ibm.mapper.model.INode;
 import com.ibm.mapper.reorganizer.IReorganizerRule;
 import com.ibm.mapper.reorganizer.Reorganizer;
-import com.ibm.mapper.utils.Utils;
 import com.ibm.plugin.translation.translator.PythonTranslator;
 import java.util.Collections;
 import java.util.List;
@@ -51,16 +50,16 @@ public final class PythonTranslationProcess
         // 1. Translate
         final PythonTranslator pythonTranslator = new PythonTranslator();
         final List<INode> translatedValues = pythonTranslator.translate(rootDetectionStore);
-        Utils.printNodeTree(" translated ", translatedValues);
+        trace(" translated ", translatedValues);
 
         // 2. Reorganize
         final Reorganizer pythonReorganizer = new Reorganizer(reorganizerRules);
         final List<INode> reorganizedValues = pythonReorganizer.reorganize(translatedValues);
-        Utils.printNodeTree("reorganised ", reorganizedValues);
+        trace("reorganised ", reorganizedValues);
 
         // 3. Enrich
         final List<INode> enrichedValues = Enricher.enrich(reorganizedValues).stream().toList();
-        Utils.printNodeTree("  enriched  ", enrichedValues);
+        trace("  enriched  ", enrichedValues);
 
         return Collections.unmodifiableCollection(enrichedValues).stream().toList();
     }
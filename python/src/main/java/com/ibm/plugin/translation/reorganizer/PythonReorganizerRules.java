@@ -39,20 +39,24 @@ public final class PythonReorganizerRules {
         // private
     }
 
+    @Nonnull
+    private static final List<IReorganizerRule> RULES =
+            Stream.of(
+                            SignatureReorganizer.moveNodesFromUnderFunctionalityUnderNode(
+                                    Sign.class, PublicKeyEncryption.class),
+                            SignatureReorganizer.moveNodesFromUnderFunctionalityUnderNode(
+                                    Sign.class, Signature.class),
+                            SignatureReorganizer.MERGE_SIGNATURE_WITH_PKE_UNDER_PRIVATE_KEY,
+                            SignatureReorganizer.MOVE_PSS_FROM_UNDER_SIGN_FUNCTION_TO_UNDER_KEY,
+                            SignatureReorganizer.MAKE_RSA_TO_SIGNATURE,
+                            KeyDerivationReorganizer.moveModeFromParentToNode(BlockCipher.class),
+                            KeyDerivationReorganizer.moveModeFromParentToNode(MessageDigest.class),
+                            KeyAgreementReorganizer.MERGE_KEYAGREEMENT_WITH_PKE_UNDER_PRIVATE_KEY,
+                            PaddingReorganizer.MOVE_OAEP_UNDER_ALGORITHM)
+                    .toList();
+
     @Nonnull
     public static List<IReorganizerRule> rules() {
-        return Stream.of(
-                        SignatureReorganizer.moveNodesFromUnderFunctionalityUnderNode(
-                                Sign.class, PublicKeyEncryption.class),
-                        SignatureReorganizer.moveNodesFromUnderFunctionalityUnderNode(
-                                Sign.class, Signature.class),
-                        SignatureReorganizer.MERGE_SIGNATURE_WITH_PKE_UNDER_PRIVATE_KEY,
-                        SignatureReorganizer.MOVE_PSS_FROM_UNDER_SIGN_FUNCTION_TO_UNDER_KEY,
-                        SignatureReorganizer.MAKE_RSA_TO_SIGNATURE,
-                        KeyDerivationReorganizer.moveModeFromParentToNode(BlockCipher.class),
-                        KeyDerivationReorganizer.moveModeFromParentToNode(MessageDigest.class),
-                        KeyAgreementReorganizer.MERGE_KEYAGREEMENT_WITH_PKE_UNDER_PRIVATE_KEY,
-                        PaddingReorganizer.MOVE_OAEP_UNDER_ALGORITHM)
-                .toList();
+        return RULES;
     }
 }
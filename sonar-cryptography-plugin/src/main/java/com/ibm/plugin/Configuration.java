@@ -21,6 +21,7 @@ package com.ibm.plugin;
 
 import java.util.List;
 import javax.annotation.Nonnull;
+import org.sonar.api.PropertyType;
 import org.sonar.api.config.PropertyDefinition;
 import org.sonar.api.config.PropertyDefinition.ConfigScope;
 
@@ -36,6 +37,50 @@ public final class Configuration {
                         .name("CBOM filename")
                         .description("Filename for the generated CBOM")
                         .defaultValue(Constants.CBOM_OUTPUT_NAME_DEFAULT)
+                        .build(),
+                PropertyDefinition.builder(Constants.CBOM_SHARDING)
+                        .onConfigScopes(ConfigScope.PROJECT)
+                        .subCategory(Constants.SUB_CATEGORY_GENERAL)
+                        .name("CBOM sharding")
+                        .description(
+                                "Write one CBOM per build module ('module') or per top-level directory ('directory') into a directory named after the CBOM filename, together with an index of the shards, instead of a single CBOM ('off')")
+                        .type(PropertyType.SINGLE_SELECT_LIST)
+                        .options("off", "module", "directory")
+                        .defaultValue(Constants.CBOM_SHARDING_DEFAULT)
+                        .build(),
+                PropertyDefinition.builder(Constants.CBOM_BASELINE)
+                        .onConfigScopes(ConfigScope.PROJECT)
+                        .subCategory(Constants.SUB_CATEGORY_GENERAL)
+                        .name("CBOM baseline")
+                        .description(
+                                "Path of the CBOM of a previous analysis. The added, removed and changed components and occurrences are written to '<CBOM filename>-delta.json' (not supported with CBOM sharding)")
+                        .build(),
+                PropertyDefinition.builder(Constants.DETECTION_LOG_MODE)
+                        .onConfigScopes(ConfigScope.PROJECT)
+                        .subCategory(Constants.SUB_CATEGORY_GENERAL)
+                        .name("Detection log")
+                        .description(
+                                "Logging of detected assets: 'off', 'summary' (one line per distinct asset with its count) or 'verbose' (one line per detection, the default)")
+                        .type(PropertyType.SINGLE_SELECT_LIST)
+                        .options("off", "summary", "verbose")
+                        .defaultValue(Constants.DETECTION_LOG_MODE_DEFAULT)
+                        .build(),
+                PropertyDefinition.builder(Constants.FINDINGS_CACHE)
+                        .onConfigScopes(ConfigScope.PROJECT)
+                        .subCategory(Constants.SUB_CATEGORY_GENERAL)
+                        .name("Findings cache")
+                        .description(
+                                "Reuse the findings of unchanged files from the previous analysis")
+                        .type(PropertyType.BOOLEAN)
+                        .defaultValue(String.valueOf(Constants.FINDINGS_CACHE_DEFAULT))
+                        .build(),
+                PropertyDefinition.builder(Constants.FINDINGS_CACHE_DIRECTORY)
+                        .onConfigScopes(ConfigScope.PROJECT)
+                        .subCategory(Constants.SUB_CATEGORY_GENERAL)
+                        .name("Findings cache directory")
+                        .description(
+                                "Directory of the findings cache, relative to the scanner working directory")
+                        .defaultValue(Constants.FINDINGS_CACHE_DIRECTORY_DEFAULT)
                         .build());
     }
 }
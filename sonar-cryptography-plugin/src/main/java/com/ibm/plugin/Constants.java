@@ -25,6 +25,24 @@ public final class Constants {
 
     public static final String CBOM_OUTPUT_NAME_DEFAULT = "cbom";
 
+    public static final String CBOM_SHARDING = "sonar.cryptoScanner.cbom.sharding";
+
+    public static final String CBOM_SHARDING_DEFAULT = "off";
+
+    public static final String CBOM_BASELINE = "sonar.cryptoScanner.cbom.baseline";
+
+    public static final String DETECTION_LOG_MODE = "sonar.cryptoScanner.detectionLog";
+
+    public static final String DETECTION_LOG_MODE_DEFAULT = "verbose";
+
+    public static final String FINDINGS_CACHE = "sonar.cryptoScanner.cache";
+
+    public static final boolean FINDINGS_CACHE_DEFAULT = false;
+
+    public static final String FINDINGS_CACHE_DIRECTORY = "sonar.cryptoScanner.cache.directory";
+
+    public static final String FINDINGS_CACHE_DIRECTORY_DEFAULT = "cbom-cache";
+
     public static final String SUB_CATEGORY_GENERAL = "General";
 
     private Constants() {}
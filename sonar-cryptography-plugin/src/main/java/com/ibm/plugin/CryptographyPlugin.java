@@ -49,6 +49,8 @@ public class CryptographyPlugin implements Plugin {
                 GoScannerRuleDefinition.class, // Define Go rules
                 CryptoGoSensor.class, // Custom sensor (sonar-go has no CheckRegistrar API)
                 // general
+                DetectionLogConfigurator.class,
+                FindingsCacheConfigurator.class,
                 OutputFileJob.class);
     }
 }
@@ -0,0 +1,54 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.plugin;
+
+import com.ibm.output.DetectionLogChannel;
+import com.ibm.output.DetectionLogMode;
+import org.sonar.api.Startable;
+import org.sonar.api.scanner.ScannerSide;
+
+/**
+ * Applies the configured {@link DetectionLogMode} before the analysis starts. Startable extensions
+ * are instantiated eagerly by the scanner container, so the mode is set before any sensor adds
+ * nodes to the aggregators.
+ */
+@ScannerSide
+public class DetectionLogConfigurator implements Startable {
+    private final org.sonar.api.config.Configuration configuration;
+
+    public DetectionLogConfigurator(org.sonar.api.config.Configuration configuration) {
+        this.configuration = configuration;
+    }
+
+    @Override
+    public void start() {
+        DetectionLogChannel.getInstance()
+                .setMode(
+                        DetectionLogMode.fromValue(
+                                configuration
+                                        .get(Constants.DETECTION_LOG_MODE)
+                                        .orElse(Constants.DETECTION_LOG_MODE_DEFAULT)));
+    }
+
+    @Override
+    public void stop() {
+        DetectionLogChannel.getInstance().stop();
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Sonar Cryptography Plugin
+ * Copyright (C) 2024 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ibm.plugin;
+
+import com.ibm.output.cache.FindingsCache;
+import java.nio.file.Path;
+import java.util.Optional;
+import org.sonar.api.Startable;
+import org.sonar.api.batch.fs.FileSystem;
+import org.sonar.api.scanner.ScannerSide;
+
+/**
+ * Enables the {@link FindingsCache} before the analysis starts when it is configured, and cleans it
+ * up once the analysis (including the output post job) is done.
+ */
+@ScannerSide
+public class FindingsCacheConfigurator implements Startable {
+    private final org.sonar.api.config.Configuration configuration;
+    private final FileSystem fileSystem;
+
+    public FindingsCacheConfigurator(
+            org.sonar.api.config.Configuration configuration, FileSystem fileSystem) {
+        this.configuration = configuration;
+        this.fileSystem = fileSystem;
+    }
+
+    @Override
+    public void start() {
+        if (!configuration
+                .getBoolean(Constants.FINDINGS_CACHE)
+                .orElse(Constants.FINDINGS_CACHE_DEFAULT)) {
+            FindingsCache.getInstance().disable();
+            return;
+        }
+        final Path directory =
+                fileSystem
+                        .workDir()
+                        .toPath()
+                        .resolve(
+                                configuration
+                                        .get(Constants.FINDINGS_CACHE_DIRECTORY)
+                                        .orElse(Constants.FINDINGS_CACHE_DIRECTORY_DEFAULT));
+        final String version =
+                Optional.ofNullable(getClass().getPackage().getImplementationVersion())
+                        .orElse("dev");
+        FindingsCache.getInstance().enable(directory, version);
+    }
+
+    @Override
+    public void stop() {
+        FindingsCache.getInstance().close();
+    }
+}
@@ -19,10 +19,20 @@
  */
 package com.ibm.plugin;
 
+import com.ibm.output.DetectionLogChannel;
+import com.ibm.output.OutputSharding;
+import com.ibm.output.ShardedOutputWriter;
+import com.ibm.output.cache.FindingsCache;
 import com.ibm.output.cyclondx.CBOMOutputFileFactory;
+import com.ibm.output.cyclondx.diff.CBOMDiff;
+import com.ibm.output.statistics.DeltaStatistics;
 import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import javax.annotation.Nonnull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.sonar.api.batch.fs.FileSystem;
 import org.sonar.api.batch.postjob.PostJob;
 import org.sonar.api.batch.postjob.PostJobContext;
 import org.sonar.api.batch.postjob.PostJobDescriptor;
@@ -30,6 +40,12 @@ import org.sonar.api.batch.postjob.PostJobDescriptor;
 public class OutputFileJob implements PostJob {
     private static final Logger LOGGER = LoggerFactory.getLogger(OutputFileJob.class);
 
+    private final FileSystem fileSystem;
+
+    public OutputFileJob(FileSystem fileSystem) {
+        this.fileSystem = fileSystem;
+    }
+
     @Override
     public void describe(PostJobDescriptor postJobDescriptor) {
         postJobDescriptor.name("Output generation");
@@ -42,11 +58,60 @@ public class OutputFileJob implements PostJob {
                         .config()
                         .get(Constants.CBOM_OUTPUT_NAME)
                         .orElse(Constants.CBOM_OUTPUT_NAME_DEFAULT);
+        final OutputSharding sharding =
+                OutputSharding.fromValue(
+                        postJobContext
+                                .config()
+                                .get(Constants.CBOM_SHARDING)
+                                .orElse(Constants.CBOM_SHARDING_DEFAULT));
         ScannerManager scannerManager = new ScannerManager(new CBOMOutputFileFactory());
-        final File cbom = new File(cbomFilename + ".json");
-        scannerManager.getOutputFile().saveTo(cbom);
-        LOGGER.info("CBOM was successfully generated '{}'.", cbom.getAbsolutePath());
+        if (sharding == OutputSharding.OFF) {
+            final File cbom = new File(cbomFilename + ".json");
+            scannerManager.getOutputFile().saveTo(cbom);
+            LOGGER.info("CBOM was successfully generated '{}'.", cbom.getAbsolutePath());
+            postJobContext
+                    .config()
+                    .get(Constants.CBOM_BASELINE)
+                    .ifPresent(baseline -> writeDelta(new File(baseline), cbom, cbomFilename));
+        } else {
+            if (postJobContext.config().hasKey(Constants.CBOM_BASELINE)) {
+                LOGGER.warn("The CBOM baseline is not compared to sharded CBOMs.");
+            }
+            final File directory = new File(cbomFilename);
+            try {
+                final List<ShardedOutputWriter.Shard> shards =
+                        scannerManager.saveShards(
+                                fileSystem.baseDir().toPath(),
+                                sharding,
+                                directory,
+                                new File(cbomFilename).getName() + ".json");
+                LOGGER.info(
+                        "CBOM was successfully generated as {} shards, see '{}'.",
+                        shards.size(),
+                        new File(directory, ShardedOutputWriter.INDEX_FILE_NAME).getAbsolutePath());
+            } catch (IOException e) {
+                LOGGER.error("Could not write CBOM shards: {}", e.getMessage());
+            }
+        }
+        DetectionLogChannel.getInstance().flush();
         scannerManager.getStatistics().print(LOGGER::info);
+        FindingsCache.getInstance().getStatistics().print(LOGGER::info);
         scannerManager.reset();
     }
+
+    private static void writeDelta(
+            @Nonnull File baseline, @Nonnull File cbom, @Nonnull String cbomFilename) {
+        if (!baseline.isFile()) {
+            LOGGER.warn("CBOM baseline '{}' not found.", baseline.getAbsolutePath());
+            return;
+        }
+        final File delta = new File(cbomFilename + "-delta.json");
+        try {
+            final DeltaStatistics statistics = CBOMDiff.diff(baseline, cbom, delta);
+            LOGGER.info("CBOM delta was successfully generated '{}'.", delta.getAbsolutePath());
+            statistics.print(LOGGER::info);
+        } catch (IOException e) {
+            LOGGER.error("Could not compare the CBOM with its baseline: {}", e.getMessage());
+        }
+    }
 }
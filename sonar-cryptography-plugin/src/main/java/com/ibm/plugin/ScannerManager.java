@@ -19,20 +19,24 @@
  */
 package com.ibm.plugin;
 
-import com.ibm.mapper.model.INode;
 import com.ibm.output.IOutputFile;
 import com.ibm.output.IOutputFileFactory;
+import com.ibm.output.NodeSnapshot;
+import com.ibm.output.OutputSharding;
+import com.ibm.output.ShardedOutputWriter;
 import com.ibm.output.statistics.IStatistics;
 import com.ibm.output.statistics.ScanStatistics;
-import java.util.ArrayList;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 public final class ScannerManager {
     private final IOutputFileFactory outputFileFactory;
+    @Nullable private NodeSnapshot snapshot;
 
     public ScannerManager(@Nullable IOutputFileFactory outputFileFactory) {
         this.outputFileFactory = outputFileFactory;
@@ -42,34 +46,55 @@ public final class ScannerManager {
     public IOutputFile getOutputFile() {
         return Optional.ofNullable(this.outputFileFactory)
                 .orElse(IOutputFileFactory.DEFAULT)
-                .createOutputFormat(getAggregatedNodes());
+                .createOutputFormat(getSnapshot().nodes());
     }
 
     @Nonnull
     public IStatistics getStatistics() {
-        return new ScanStatistics(
-                () -> getAggregatedNodes().size(), // numberOfDetectedAssetsSupplier
-                () ->
-                        getAggregatedNodes().stream() // numberOfAssetsPerTypeSupplier
-                                .collect(
-                                        Collectors.groupingBy(
-                                                INode::getKind, Collectors.counting())));
+        final NodeSnapshot nodes = getSnapshot();
+        return new ScanStatistics(nodes::size, nodes::countsPerKind);
+    }
+
+    /**
+     * Writes the output as one file per shard into the directory, see {@link ShardedOutputWriter}.
+     */
+    @Nonnull
+    public List<ShardedOutputWriter.Shard> saveShards(
+            @Nonnull Path baseDirectory,
+            @Nonnull OutputSharding sharding,
+            @Nonnull File directory,
+            @Nonnull String fileName)
+            throws IOException {
+        return new ShardedOutputWriter(
+                        baseDirectory,
+                        sharding,
+                        Optional.ofNullable(this.outputFileFactory)
+                                .orElse(IOutputFileFactory.DEFAULT))
+                .write(getSnapshot().nodes(), directory, fileName);
     }
 
     public boolean hasResults() {
-        return !this.getAggregatedNodes().isEmpty();
+        return !getSnapshot().isEmpty();
     }
 
+    /**
+     * The aggregated nodes of all languages, taken once when first needed after the analysis and
+     * shared by the output file and the statistics.
+     */
     @Nonnull
-    private List<INode> getAggregatedNodes() {
-        List<INode> nodes = new ArrayList<>();
-        nodes.addAll(JavaAggregator.getDetectedNodes());
-        nodes.addAll(PythonAggregator.getDetectedNodes());
-        nodes.addAll(GoAggregator.getDetectedNodes());
-        return nodes;
+    private NodeSnapshot getSnapshot() {
+        if (snapshot == null) {
+            snapshot =
+                    NodeSnapshot.of(
+                            JavaAggregator.getNodeBuffer(),
+                            PythonAggregator.getNodeBuffer(),
+                            GoAggregator.getNodeBuffer());
+        }
+        return snapshot;
     }
 
     public void reset() {
+        snapshot = null;
         JavaAggregator.reset();
         PythonAggregator.reset();
         GoAggregator.reset();